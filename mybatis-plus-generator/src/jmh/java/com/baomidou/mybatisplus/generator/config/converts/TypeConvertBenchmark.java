@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2011-2021, baomidou (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.baomidou.mybatisplus.generator.config.converts;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.generator.config.GlobalConfig;
+import com.baomidou.mybatisplus.generator.config.ITypeConvert;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.baomidou.mybatisplus.generator.config.converts.TypeConverts.contains;
+import static com.baomidou.mybatisplus.generator.config.converts.TypeConverts.containsAny;
+import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.*;
+
+/**
+ * 字段类型转换基准测试(Selector 链式判断、声明式规则与缓存转换器对比)
+ * <p>
+ * 执行: gradle :mybatis-plus-generator:jmh
+ *
+ * @since 3.5.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypeConvertBenchmark {
+
+    /**
+     * 常见表结构中的字段类型分布
+     */
+    private static final String[] FIELD_TYPES = {"bigint(20)", "varchar(64)", "varchar(255)", "int(11)", "tinyint(1)", "datetime",
+        "datetime(3)", "decimal(10,2)", "text", "date", "bigint(20) unsigned", "char(32)", "timestamp", "json", "double"};
+
+    private final GlobalConfig globalConfig = new GlobalConfig.Builder().build();
+
+    /**
+     * 原 MySqlTypeConvert 的 Selector 链式判断
+     */
+    private final ITypeConvert selectorTypeConvert = (config, fieldType) -> TypeConverts.use(fieldType)
+        .test(containsAny("char", "text", "json", "enum").then(STRING))
+        .test(contains("bigint").then(LONG))
+        .test(containsAny("tinyint(1)", "bit(1)").then(BOOLEAN))
+        .test(contains("bit").then(BYTE))
+        .test(contains("int").then(INTEGER))
+        .test(contains("decimal").then(BIG_DECIMAL))
+        .test(contains("clob").then(CLOB))
+        .test(contains("blob").then(BLOB))
+        .test(contains("binary").then(BYTE_ARRAY))
+        .test(contains("float").then(FLOAT))
+        .test(contains("double").then(DOUBLE))
+        .test(containsAny("date", "time", "year").then(t -> MySqlTypeConvert.toDateType(config, t)))
+        .or(STRING);
+
+    private final ITypeConvert rulesTypeConvert = MySqlTypeConvert.INSTANCE;
+
+    private final ITypeConvert cachedTypeConvert = TypeConverts.getCachedTypeConvert(DbType.MYSQL);
+
+    @Benchmark
+    public void selector(Blackhole blackhole) {
+        for (String fieldType : FIELD_TYPES) {
+            blackhole.consume(selectorTypeConvert.processTypeConvert(globalConfig, fieldType));
+        }
+    }
+
+    @Benchmark
+    public void rules(Blackhole blackhole) {
+        for (String fieldType : FIELD_TYPES) {
+            blackhole.consume(rulesTypeConvert.processTypeConvert(globalConfig, fieldType));
+        }
+    }
+
+    @Benchmark
+    public void cached(Blackhole blackhole) {
+        for (String fieldType : FIELD_TYPES) {
+            blackhole.consume(cachedTypeConvert.processTypeConvert(globalConfig, fieldType));
+        }
+    }
+}
@@ -15,16 +15,19 @@
  */
 package com.baomidou.mybatisplus.generator;
 
+import com.baomidou.mybatisplus.generator.cache.IncrementalState;
 import com.baomidou.mybatisplus.generator.config.*;
 import com.baomidou.mybatisplus.generator.config.builder.ConfigBuilder;
 import com.baomidou.mybatisplus.generator.config.po.TableInfo;
 import com.baomidou.mybatisplus.generator.engine.AbstractTemplateEngine;
 import com.baomidou.mybatisplus.generator.engine.VelocityTemplateEngine;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 生成文件
@@ -166,6 +169,19 @@ public class AutoGenerator {
      */
     public void execute(AbstractTemplateEngine templateEngine) {
         logger.debug("==========================准备生成文件...==========================");
+        generate(templateEngine).open();
+        logger.debug("==========================文件生成完成！！！==========================");
+    }
+
+    /**
+     * 生成文件并记录增量生成状态(不打开输出目录)
+     *
+     * @param templateEngine 模板引擎
+     * @return 模板引擎
+     * @since 3.5.0
+     */
+    @NotNull
+    AbstractTemplateEngine generate(@Nullable AbstractTemplateEngine templateEngine) {
         // 初始化配置
         if (null == config) {
             config = new ConfigBuilder(packageInfo, dataSource, strategy, template, globalConfig, injection);
@@ -176,8 +192,10 @@ public class AutoGenerator {
         }
         templateEngine.setConfigBuilder(config);
         // 模板引擎初始化执行文件输出
-        templateEngine.init(config).batchOutput().open();
-        logger.debug("==========================文件生成完成！！！==========================");
+        templateEngine.init(config).batchOutput();
+        // 文件生成成功后记录增量生成状态
+        Optional.ofNullable(config.getIncrementalState()).ifPresent(IncrementalState::save);
+        return templateEngine;
     }
 
     /**
@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2011-2021, baomidou (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.baomidou.mybatisplus.generator;
+
+import com.baomidou.mybatisplus.core.toolkit.StringPool;
+import com.baomidou.mybatisplus.generator.cache.IncrementalState;
+import com.baomidou.mybatisplus.generator.cache.MetaDataCache;
+import com.baomidou.mybatisplus.generator.cache.MetaDataSnapshot;
+import com.baomidou.mybatisplus.generator.config.DataSourceConfig;
+import com.baomidou.mybatisplus.generator.config.GlobalConfig;
+import com.baomidou.mybatisplus.generator.config.InjectionConfig;
+import com.baomidou.mybatisplus.generator.config.PackageConfig;
+import com.baomidou.mybatisplus.generator.config.StrategyConfig;
+import com.baomidou.mybatisplus.generator.config.TemplateConfig;
+import com.baomidou.mybatisplus.generator.config.builder.ConfigBuilder;
+import com.baomidou.mybatisplus.generator.engine.AbstractTemplateEngine;
+import com.baomidou.mybatisplus.generator.engine.OutputSink;
+import com.baomidou.mybatisplus.generator.engine.OutputSummary;
+import com.baomidou.mybatisplus.generator.engine.VelocityTemplateEngine;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 生成会话
+ * <p>在多次生成间保持数据库连接、表字段元数据与模板引擎，适用于 IDE 插件、测试等需要频繁修改配置后重新生成的场景。
+ * 每次生成可使用不同的策略、包与模板配置：</p>
+ * <ul>
+ *     <li>表过滤条件变化时只重新查询表信息，已查询的表字段直接使用缓存</li>
+ *     <li>包或模板配置变化时不查询数据库字段，已编译模板由模板引擎在进程内复用</li>
+ *     <li>数据库支持表结构指纹查询({@link com.baomidou.mybatisplus.generator.config.IDbQuery#fingerprintSql()})时，
+ *     只重新查询表结构有变化的表；不支持时缓存保留到调用 {@link #invalidate(String...)} 或 {@link #invalidate()}</li>
+ * </ul>
+ * <p>同一会话的生成按顺序执行。关闭保持连接({@link Builder#disableKeepConnection()})时每次生成使用独立连接，
+ * 多个线程可通过 {@link ConfigBuilder#setSession(GeneratorSession)} 同时生成并共享元数据缓存。</p>
+ *
+ * @since 3.5.0
+ */
+public class GeneratorSession implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GeneratorSession.class);
+
+    private final DataSourceConfig dataSourceConfig;
+
+    private final AbstractTemplateEngine templateEngine;
+
+    private final GlobalConfig globalConfig;
+
+    private final TemplateConfig templateConfig;
+
+    private final InjectionConfig injectionConfig;
+
+    /**
+     * 是否在多次生成间保持数据库连接
+     */
+    private final boolean keepConnection;
+
+    /**
+     * 生成锁，流式生成时表信息在其他线程读取，不能与元数据缓存共用同一个锁
+     */
+    private final Object generateLock = new Object();
+
+    private Connection connection;
+
+    /**
+     * 上次生成后的元数据快照
+     */
+    private MetaDataSnapshot snapshot;
+
+    /**
+     * 需重新查询字段的表 (小写表名)
+     */
+    private final Set<String> invalidTables = new HashSet<>();
+
+    private GeneratorSession(@NotNull Builder builder) {
+        this.dataSourceConfig = builder.dataSourceConfig;
+        this.templateEngine = builder.templateEngine;
+        this.globalConfig = builder.globalConfig;
+        this.templateConfig = builder.templateConfig;
+        this.injectionConfig = builder.injectionConfig;
+        this.keepConnection = builder.keepConnection;
+    }
+
+    /**
+     * 生成文件
+     *
+     * @param strategyConfig 策略配置
+     * @param packageConfig  包配置
+     * @return 文件生成统计(下次生成时重置)
+     */
+    @NotNull
+    public OutputSummary generate(@NotNull StrategyConfig strategyConfig, @NotNull PackageConfig packageConfig) {
+        return generate(strategyConfig, packageConfig, null, null);
+    }
+
+    /**
+     * 生成文件
+     *
+     * @param strategyConfig 策略配置
+     * @param packageConfig  包配置
+     * @param templateConfig 模板配置，为 null 时使用会话的模板配置
+     * @param outputSink     输出目标，为 null 时输出到文件系统
+     * @return 文件生成统计(下次生成时重置)
+     */
+    @NotNull
+    public OutputSummary generate(@NotNull StrategyConfig strategyConfig, @NotNull PackageConfig packageConfig,
+                                  @Nullable TemplateConfig templateConfig, @Nullable OutputSink outputSink) {
+        synchronized (generateLock) {
+            ConfigBuilder configBuilder = new ConfigBuilder(packageConfig, dataSourceConfig, strategyConfig,
+                templateConfig != null ? templateConfig : this.templateConfig, globalConfig, injectionConfig).setSession(this);
+            templateEngine.setConfigBuilder(configBuilder);
+            templateEngine.setOutputSink(outputSink);
+            try {
+                templateEngine.init(configBuilder).batchOutput();
+            } catch (RuntimeException e) {
+                // 连接可能已失效，下次生成时重新创建
+                closeConnection();
+                throw e;
+            }
+            Optional.ofNullable(configBuilder.getIncrementalState()).ifPresent(IncrementalState::save);
+            return templateEngine.getOutputSummary();
+        }
+    }
+
+    /**
+     * 获取会话连接，连接已关闭时重新创建
+     *
+     * @return 数据库连接(由会话关闭)
+     */
+    @NotNull
+    public synchronized Connection getConnection() {
+        try {
+            if (connection == null || connection.isClosed()) {
+                connection = dataSourceConfig.createConnection();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        return connection;
+    }
+
+    /**
+     * 是否在多次生成间保持数据库连接，不保持时每次生成使用独立连接
+     *
+     * @return 是否保持连接
+     */
+    public boolean isKeepConnection() {
+        return keepConnection;
+    }
+
+    /**
+     * 创建元数据缓存
+     *
+     * @param fingerprints 表结构指纹，数据库不支持时为 null
+     * @return 内存元数据缓存
+     */
+    @NotNull
+    public synchronized MetaDataCache createMetaDataCache(@Nullable Map<String, String> fingerprints) {
+        MetaDataSnapshot metaDataSnapshot = snapshot;
+        if (metaDataSnapshot != null && !invalidTables.isEmpty()) {
+            // 移除失效表的字段，表信息查询语句置空使表信息重新查询
+            Map<String, String> validFingerprints = new HashMap<>(metaDataSnapshot.getFingerprints());
+            validFingerprints.keySet().removeAll(invalidTables);
+            Map<String, List<MetaDataSnapshot.Column>> validColumns = new HashMap<>(metaDataSnapshot.getColumns());
+            validColumns.keySet().removeAll(invalidTables);
+            metaDataSnapshot = new MetaDataSnapshot(StringPool.EMPTY, validFingerprints, metaDataSnapshot.getTables(), validColumns);
+        }
+        if (fingerprints == null) {
+            // 无法获取表结构指纹时沿用上次的指纹
+            fingerprints = metaDataSnapshot != null ? new HashMap<>(metaDataSnapshot.getFingerprints()) : new HashMap<>();
+        }
+        return new MetaDataCache(fingerprints, metaDataSnapshot);
+    }
+
+    /**
+     * 更新元数据快照
+     *
+     * @param snapshot 本次生成保存的快照
+     * @param assumed  是否为沿用的表结构指纹(数据库不支持表结构指纹查询)
+     */
+    public synchronized void updateMetaData(@NotNull MetaDataSnapshot snapshot, boolean assumed) {
+        if (assumed) {
+            Map<String, String> fingerprints = new HashMap<>();
+            snapshot.getColumns().keySet().forEach(tableName -> fingerprints.put(tableName, StringPool.EMPTY));
+            this.snapshot = new MetaDataSnapshot(snapshot.getTablesSql(), fingerprints, snapshot.getTables(), snapshot.getColumns());
+        } else {
+            this.snapshot = snapshot;
+        }
+        invalidTables.clear();
+    }
+
+    /**
+     * 使指定表的缓存失效，下次生成时重新查询表信息与这些表的字段
+     *
+     * @param tableNames 表名
+     */
+    public synchronized void invalidate(@NotNull String... tableNames) {
+        for (String tableName : tableNames) {
+            invalidTables.add(tableName.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * 使所有缓存失效
+     */
+    public synchronized void invalidate() {
+        snapshot = null;
+        invalidTables.clear();
+    }
+
+    private synchronized void closeConnection() {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                LOGGER.warn("关闭数据库连接失败:{}", e.getMessage());
+            }
+            connection = null;
+        }
+    }
+
+    /**
+     * 关闭会话连接
+     */
+    @Override
+    public void close() {
+        synchronized (generateLock) {
+            closeConnection();
+        }
+    }
+
+    /**
+     * 生成会话构建
+     */
+    public static class Builder {
+
+        private final DataSourceConfig dataSourceConfig;
+
+        private AbstractTemplateEngine templateEngine;
+
+        private GlobalConfig globalConfig;
+
+        private TemplateConfig templateConfig;
+
+        private InjectionConfig injectionConfig;
+
+        private boolean keepConnection = true;
+
+        public Builder(@NotNull DataSourceConfig dataSourceConfig) {
+            this.dataSourceConfig = dataSourceConfig;
+        }
+
+        /**
+         * 设置模板引擎，默认使用 Velocity
+         *
+         * @param templateEngine 模板引擎
+         * @return this
+         */
+        public Builder templateEngine(@NotNull AbstractTemplateEngine templateEngine) {
+            this.templateEngine = templateEngine;
+            return this;
+        }
+
+        public Builder global(@NotNull GlobalConfig globalConfig) {
+            this.globalConfig = globalConfig;
+            return this;
+        }
+
+        public Builder template(@NotNull TemplateConfig templateConfig) {
+            this.templateConfig = templateConfig;
+            return this;
+        }
+
+        public Builder injection(@NotNull InjectionConfig injectionConfig) {
+            this.injectionConfig = injectionConfig;
+            return this;
+        }
+
+        /**
+         * 不在多次生成间保持数据库连接，每次生成使用独立连接，会话只缓存元数据
+         *
+         * @return this
+         */
+        public Builder disableKeepConnection() {
+            this.keepConnection = false;
+            return this;
+        }
+
+        public GeneratorSession build() {
+            if (templateEngine == null) {
+                templateEngine = new VelocityTemplateEngine();
+            }
+            return new GeneratorSession(this);
+        }
+    }
+}
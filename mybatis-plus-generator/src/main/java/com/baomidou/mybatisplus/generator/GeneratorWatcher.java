@@ -0,0 +1,361 @@
+/*
+ * Copyright (c) 2011-2021, baomidou (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.baomidou.mybatisplus.generator;
+
+import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import com.baomidou.mybatisplus.generator.config.DataSourceConfig;
+import com.baomidou.mybatisplus.generator.config.IDbQuery;
+import com.baomidou.mybatisplus.generator.config.builder.ConfigBuilder;
+import com.baomidou.mybatisplus.generator.config.querys.DecoratorDbQuery;
+import com.baomidou.mybatisplus.generator.engine.AbstractTemplateEngine;
+import com.baomidou.mybatisplus.generator.engine.VelocityTemplateEngine;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 监听模式
+ * <p>保持配置、模板引擎与数据库连接，定时执行表结构变化探测({@link com.baomidou.mybatisplus.generator.config.IDbQuery#changeProbeSql()})，
+ * 探测结果变化时才查询表结构指纹({@link com.baomidou.mybatisplus.generator.config.IDbQuery#fingerprintSql()})，指纹变化时重新生成。
+ * 不支持探测的数据库每次查询表结构指纹，不支持指纹查询的数据库以探测结果作为指纹。支持指纹查询时在内存中记录各表的表结构指纹
+ * (开启增量生成({@link com.baomidou.mybatisplus.generator.config.GlobalConfig.Builder#enableIncremental(String)})时使用状态文件)，
+ * 只生成新增或表结构变化的表，否则重新生成所有表。</p>
+ *
+ * @since 3.5.0
+ */
+public class GeneratorWatcher implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GeneratorWatcher.class);
+
+    private final AutoGenerator autoGenerator;
+
+    private final AbstractTemplateEngine templateEngine;
+
+    private final DataSourceConfig dataSourceConfig;
+
+    private final String fingerprintSql;
+
+    private final String changeProbeSql;
+
+    /**
+     * 查询间隔(毫秒)
+     */
+    private final long interval;
+
+    /**
+     * 出错时最大重试间隔(毫秒)
+     */
+    private final long maxBackoff;
+
+    /**
+     * 探测结果未变化时，每隔多少次查询仍查询一次表结构指纹(兜底探测不到的变更)
+     */
+    private final int fullCheckPolls;
+
+    /**
+     * 用于查询表结构指纹的连接
+     */
+    private Connection connection;
+
+    /**
+     * 上次生成时的表结构指纹
+     */
+    private byte[] fingerprint;
+
+    /**
+     * 上次查询的探测结果
+     */
+    private byte[] probe;
+
+    /**
+     * 上次查询表结构指纹后的查询次数
+     */
+    private int pollsSinceFullCheck;
+
+    /**
+     * 内存中的增量生成状态(小写表名->表结构指纹)
+     */
+    private final Map<String, String> incrementalState = new HashMap<>();
+
+    private volatile boolean running;
+
+    private Thread thread;
+
+    private GeneratorWatcher(@NotNull Builder builder) {
+        this.autoGenerator = builder.autoGenerator;
+        this.templateEngine = builder.templateEngine;
+        this.dataSourceConfig = builder.dataSourceConfig;
+        this.fingerprintSql = builder.fingerprintSql;
+        this.changeProbeSql = builder.changeProbeSql;
+        this.interval = builder.interval;
+        this.maxBackoff = builder.maxBackoff;
+        this.fullCheckPolls = builder.fullCheckPolls;
+    }
+
+    /**
+     * 探测表结构变化，首次调用或表结构指纹变化时生成文件
+     *
+     * @return 是否生成文件
+     * @throws SQLException 查询失败
+     */
+    public synchronized boolean poll() throws SQLException {
+        byte[] currentProbe = changeProbeSql != null ? query(changeProbeSql) : null;
+        byte[] current;
+        if (fingerprintSql == null) {
+            current = currentProbe;
+        } else if (fingerprint != null && currentProbe != null && Arrays.equals(probe, currentProbe)
+            && ++pollsSinceFullCheck < fullCheckPolls) {
+            return false;
+        } else {
+            pollsSinceFullCheck = 0;
+            current = query(fingerprintSql);
+        }
+        if (Arrays.equals(fingerprint, current)) {
+            probe = currentProbe;
+            return false;
+        }
+        if (fingerprint != null) {
+            LOGGER.info("表结构发生变化,重新生成文件");
+        }
+        long start = System.currentTimeMillis();
+        getConfig().refresh();
+        autoGenerator.generate(templateEngine);
+        // 生成期间的变更在下次查询时处理,生成失败时保留旧结果以便重试
+        fingerprint = current;
+        probe = currentProbe;
+        LOGGER.info("生成完成,耗时(ms):{}", System.currentTimeMillis() - start);
+        return true;
+    }
+
+    private ConfigBuilder getConfig() {
+        ConfigBuilder config = autoGenerator.getConfig();
+        if (config == null) {
+            config = new ConfigBuilder(autoGenerator.getPackageInfo(), dataSourceConfig, autoGenerator.getStrategy(),
+                autoGenerator.getTemplate(), autoGenerator.getGlobalConfig(), autoGenerator.getInjectionConfig());
+            autoGenerator.config(config);
+        }
+        if (fingerprintSql != null) {
+            // 按表记录指纹，只生成新增或表结构变化的表
+            config.setIncrementalState(incrementalState);
+        }
+        return config;
+    }
+
+    /**
+     * 在后台线程中开始监听
+     *
+     * @return this
+     */
+    public synchronized GeneratorWatcher start() {
+        if (!running) {
+            running = true;
+            thread = new Thread(this::watch, "mp-generator-watcher");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return this;
+    }
+
+    /**
+     * 在当前线程中监听，直到调用 {@link #close()} 或线程被中断
+     */
+    public void watch() {
+        running = true;
+        long delay = interval;
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                poll();
+                delay = interval;
+            } catch (SQLException | RuntimeException e) {
+                closeConnection();
+                delay = Math.min(delay * 2, maxBackoff);
+                LOGGER.warn("监听表结构变化失败,{}毫秒后重试:{}", delay, e.getMessage());
+            }
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        closeConnection();
+    }
+
+    private byte[] query(String sql) throws SQLException {
+        if (connection == null || connection.isClosed()) {
+            connection = dataSourceConfig.createConnection();
+        }
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+        try (PreparedStatement preparedStatement = DecoratorDbQuery.prepareSchemaStatement(connection, sql,
+            dataSourceConfig.getSchemaName(), dataSourceConfig.getDbType());
+             ResultSet resultSet = preparedStatement.executeQuery()) {
+            int columnCount = resultSet.getMetaData().getColumnCount();
+            while (resultSet.next()) {
+                for (int i = 1; i <= columnCount; i++) {
+                    messageDigest.update(String.valueOf(resultSet.getString(i)).getBytes(StandardCharsets.UTF_8));
+                    messageDigest.update((byte) 0);
+                }
+            }
+        }
+        return messageDigest.digest();
+    }
+
+    private synchronized void closeConnection() {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                LOGGER.warn("关闭数据库连接失败:{}", e.getMessage());
+            }
+            connection = null;
+        }
+    }
+
+    /**
+     * 停止监听并关闭连接
+     */
+    @Override
+    public void close() {
+        running = false;
+        Thread watchThread;
+        synchronized (this) {
+            watchThread = thread;
+            thread = null;
+        }
+        if (watchThread != null && watchThread != Thread.currentThread()) {
+            watchThread.interrupt();
+            try {
+                watchThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        closeConnection();
+    }
+
+    /**
+     * 监听模式构建
+     */
+    public static class Builder {
+
+        private final AutoGenerator autoGenerator;
+
+        private final DataSourceConfig dataSourceConfig;
+
+        private final String fingerprintSql;
+
+        private final String changeProbeSql;
+
+        private AbstractTemplateEngine templateEngine;
+
+        private long interval = 1000;
+
+        private long maxBackoff = 30000;
+
+        private int fullCheckPolls = 60;
+
+        public Builder(@NotNull AutoGenerator autoGenerator) {
+            this.autoGenerator = autoGenerator;
+            this.dataSourceConfig = Optional.ofNullable(autoGenerator.getConfig()).map(ConfigBuilder::getDataSourceConfig)
+                .orElseGet(autoGenerator::getDataSource);
+            IDbQuery dbQuery = dataSourceConfig.getDbQuery();
+            this.fingerprintSql = StringUtils.isNotBlank(dbQuery.fingerprintSql()) ? dbQuery.fingerprintSql() : null;
+            this.changeProbeSql = StringUtils.isNotBlank(dbQuery.changeProbeSql()) ? dbQuery.changeProbeSql() : null;
+            if (fingerprintSql == null && changeProbeSql == null) {
+                throw new IllegalArgumentException("当前数据库[" + dataSourceConfig.getDbType() + "]不支持表结构变化探测,无法使用监听模式");
+            }
+        }
+
+        /**
+         * 设置模板引擎，默认使用 Velocity
+         *
+         * @param templateEngine 模板引擎
+         * @return this
+         */
+        public Builder templateEngine(@NotNull AbstractTemplateEngine templateEngine) {
+            this.templateEngine = templateEngine;
+            return this;
+        }
+
+        /**
+         * 设置查询表结构指纹的间隔
+         *
+         * @param interval 间隔(毫秒)
+         * @return this
+         */
+        public Builder interval(long interval) {
+            if (interval < 1) {
+                throw new IllegalArgumentException("查询间隔不能小于1毫秒");
+            }
+            this.interval = interval;
+            return this;
+        }
+
+        /**
+         * 设置出错时的最大重试间隔，出错后重试间隔从查询间隔开始逐次翻倍
+         *
+         * @param maxBackoff 最大重试间隔(毫秒)
+         * @return this
+         */
+        public Builder maxBackoff(long maxBackoff) {
+            if (maxBackoff < 1) {
+                throw new IllegalArgumentException("最大重试间隔不能小于1毫秒");
+            }
+            this.maxBackoff = maxBackoff;
+            return this;
+        }
+
+        /**
+         * 设置探测结果未变化时查询表结构指纹的周期，用于兜底探测不到的表结构变更(如部分数据库仅修改注释)
+         *
+         * @param fullCheckPolls 查询次数
+         * @return this
+         */
+        public Builder fullCheckPolls(int fullCheckPolls) {
+            if (fullCheckPolls < 1) {
+                throw new IllegalArgumentException("查询次数不能小于1");
+            }
+            this.fullCheckPolls = fullCheckPolls;
+            return this;
+        }
+
+        public GeneratorWatcher build() {
+            if (templateEngine == null) {
+                templateEngine = new VelocityTemplateEngine();
+            }
+            if (maxBackoff < interval) {
+                maxBackoff = interval;
+            }
+            return new GeneratorWatcher(this);
+        }
+    }
+}
@@ -15,32 +15,52 @@
  */
 package com.baomidou.mybatisplus.generator;
 
-import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.core.toolkit.StringPool;
 import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import com.baomidou.mybatisplus.generator.cache.IncrementalState;
+import com.baomidou.mybatisplus.generator.cache.MetaDataCache;
+import com.baomidou.mybatisplus.generator.cache.MetaDataSnapshot;
 import com.baomidou.mybatisplus.generator.config.DataSourceConfig;
 import com.baomidou.mybatisplus.generator.config.GlobalConfig;
 import com.baomidou.mybatisplus.generator.config.StrategyConfig;
+import com.baomidou.mybatisplus.generator.config.TableFilter;
 import com.baomidou.mybatisplus.generator.config.builder.ConfigBuilder;
 import com.baomidou.mybatisplus.generator.config.builder.Entity;
 import com.baomidou.mybatisplus.generator.config.po.TableField;
 import com.baomidou.mybatisplus.generator.config.po.TableInfo;
 import com.baomidou.mybatisplus.generator.config.querys.DecoratorDbQuery;
-import com.baomidou.mybatisplus.generator.config.querys.H2Query;
 import com.baomidou.mybatisplus.generator.config.rules.IColumnType;
+import com.baomidou.mybatisplus.generator.jdbc.ConnectionPool;
 import com.baomidou.mybatisplus.generator.jdbc.DatabaseMetaDataWrapper;
+import org.apache.ibatis.type.JdbcType;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * @author nieqiurong 2021/1/6.
@@ -48,6 +68,8 @@ import java.util.stream.Collectors;
  */
 public abstract class IDatabaseQuery {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(IDatabaseQuery.class);
+
     protected final ConfigBuilder configBuilder;
 
     protected final DataSourceConfig dataSourceConfig;
@@ -75,6 +97,46 @@ public abstract class IDatabaseQuery {
     @NotNull
     public abstract List<TableInfo> queryTables();
 
+    /**
+     * 获取表信息，每张表处理完成后交给 consumer 处理(流式处理)
+     *
+     * @param consumer 表信息处理
+     * @since 3.5.0
+     */
+    public void queryTables(@NotNull Consumer<TableInfo> consumer) {
+        queryTables().forEach(consumer);
+    }
+
+    /**
+     * 转换表字段并添加到表信息中
+     *
+     * @param tableInfo 表信息
+     * @param column    字段信息
+     * @since 3.5.0
+     */
+    protected void convertTableField(@NotNull TableInfo tableInfo, @NotNull MetaDataSnapshot.Column column) {
+        Entity entity = configBuilder.getStrategyConfig().entity();
+        TableField field = new TableField(this.configBuilder, column.getName());
+        // 处理ID
+        if (column.isPrimaryKey()) {
+            field.primaryKey(column.isKeyIdentity());
+            tableInfo.setHavePrimaryKey(true);
+            if (field.isKeyIdentityFlag() && entity.getIdType() != null) {
+                LOGGER.warn("当前表[{}]的主键为自增主键，会导致全局主键的ID类型设置失效!", tableInfo.getName());
+            }
+        }
+        field.setColumnName(column.getName())
+            .setType(column.getType())
+            .setComment(column.getComment())
+            .setCustomMap(column.getCustomMap());
+        // 元数据信息需在类型转换前设置
+        field.setMetaInfo(new TableField.MetaInfo(column.getColumnsInfo()));
+        String propertyName = entity.getNameConvert().propertyNameConvert(field);
+        IColumnType columnType = dataSourceConfig.getTypeConvert().processTypeConvert(configBuilder.getGlobalConfig(), field);
+        field.setPropertyName(propertyName, columnType);
+        tableInfo.addField(field);
+    }
+
     /**
      * 后面切换到元数据获取表与字段会移除这里
      *
@@ -85,74 +147,133 @@ public abstract class IDatabaseQuery {
 
         private static final Logger LOGGER = LoggerFactory.getLogger(DefaultDatabaseQuery.class);
 
+        /**
+         * 批量查询表字段的阈值，需处理表数量 * 该值 >= 库中表数量时使用批量查询
+         */
+        private static final int BULK_QUERY_RATIO = 10;
+
         private final StrategyConfig strategyConfig;
 
         private final GlobalConfig globalConfig;
 
         private final DecoratorDbQuery dbQuery;
 
+        private MetaDataCache metaDataCache;
+
+        /**
+         * 批量查询的主键字段 (小写表名->主键字段)，数据库不支持批量查询主键时为 null
+         */
+        private Map<String, Set<String>> primaryKeyColumns;
+
+        /**
+         * 流式处理时的表信息处理
+         */
+        private Consumer<TableInfo> tableConsumer;
+
         public DefaultDatabaseQuery(@NotNull ConfigBuilder configBuilder) {
             super(configBuilder);
             this.strategyConfig = configBuilder.getStrategyConfig();
-            this.dbQuery = new DecoratorDbQuery(dataSourceConfig, strategyConfig);
+            GeneratorSession session = configBuilder.getSession();
+            this.dbQuery = new DecoratorDbQuery(dataSourceConfig, strategyConfig,
+                session != null && session.isKeepConnection() ? session.getConnection() : null);
             this.globalConfig = configBuilder.getGlobalConfig();
         }
 
         @NotNull
         @Override
         public List<TableInfo> queryTables() {
-            boolean isInclude = strategyConfig.getInclude().size() > 0;
-            boolean isExclude = strategyConfig.getExclude().size() > 0;
-            //所有的表信息
-            List<TableInfo> tableList = new ArrayList<>();
+            return queryTables(null, true);
+        }
 
-            //需要反向生成或排除的表信息
-            List<TableInfo> includeTableList = new ArrayList<>();
-            List<TableInfo> excludeTableList = new ArrayList<>();
+        @Override
+        public void queryTables(@NotNull Consumer<TableInfo> consumer) {
+            queryTables(consumer, false);
+        }
+
+        /**
+         * 获取表信息
+         *
+         * @param consumer 表信息处理(每张表处理完成后调用)
+         * @param retain   是否保留并返回所有表信息，流式处理时不保留已处理的表
+         * @return 表信息
+         */
+        private List<TableInfo> queryTables(@Nullable Consumer<TableInfo> consumer, boolean retain) {
+            this.tableConsumer = consumer;
+            TableFilter tableFilter = strategyConfig.getTableFilter();
+            //需要反向生成的表信息
+            List<TableInfo> tableList = new ArrayList<>();
+            // 配置中数据库不存在的表 (小写表名->配置表名)
+            Map<String, String> notExistTables = new HashMap<>(tableFilter.getTableNames());
             try {
-                dbQuery.query(dbQuery.tablesSql(), result -> {
-                    String tableName = result.getStringResult(dbQuery.tableName());
-                    if (StringUtils.isNotBlank(tableName)) {
-                        TableInfo tableInfo = new TableInfo(this.configBuilder, tableName);
-                        String tableComment = result.getTableComment();
-                        // 跳过视图
-                        if (!(strategyConfig.isSkipView() && "VIEW".equals(tableComment))) {
-                            tableInfo.setComment(tableComment);
-                            if (isInclude && strategyConfig.matchIncludeTable(tableName)) {
-                                includeTableList.add(tableInfo);
-                            } else if (isExclude && strategyConfig.matchExcludeTable(tableName)) {
-                                excludeTableList.add(tableInfo);
-                            }
-                            tableList.add(tableInfo);
-                        }
+                String tablesSql = dbQuery.tablesSql();
+                IncrementalState incrementalState = configBuilder.getIncrementalState();
+                GeneratorSession session = configBuilder.getSession();
+                Map<String, String> fingerprints;
+                if (session != null) {
+                    // 会话在内存中缓存元数据，数据库不支持表结构指纹查询时缓存保留到会话失效
+                    fingerprints = StringUtils.isNotBlank(dbQuery.fingerprintSql()) ? queryFingerprints() : null;
+                    this.metaDataCache = session.createMetaDataCache(fingerprints);
+                } else {
+                    fingerprints = incrementalState != null || StringUtils.isNotBlank(dataSourceConfig.getMetaDataCacheDir())
+                        ? queryFingerprints() : null;
+                    this.metaDataCache = createMetaDataCache(fingerprints);
+                }
+                List<MetaDataSnapshot.Table> tables = metaDataCache != null ? metaDataCache.getTables(tablesSql) : null;
+                if (tables == null) {
+                    tables = queryTableRows(tablesSql);
+                } else {
+                    LOGGER.debug("表结构未变化,使用元数据缓存");
+                }
+                for (MetaDataSnapshot.Table table : tables) {
+                    String tableName = table.getName();
+                    String tableComment = table.getComment();
+                    // 跳过视图
+                    if (strategyConfig.isSkipView() && "VIEW".equals(tableComment)) {
+                        continue;
                     }
-                });
-                if (isExclude || isInclude) {
-                    Map<String, String> notExistTables = new HashSet<>(isExclude ? strategyConfig.getExclude() : strategyConfig.getInclude())
-                        .stream()
-                        .filter(s -> !ConfigBuilder.matcherRegTable(s))
-                        .collect(Collectors.toMap(String::toLowerCase, s -> s, (o, n) -> n));
-                    // 将已经存在的表移除，获取配置中数据库不存在的表
-                    for (TableInfo tabInfo : tableList) {
-                        if (notExistTables.isEmpty()) {
-                            break;
-                        }
+                    if (!notExistTables.isEmpty()) {
                         //解决可能大小写不敏感的情况导致无法移除掉
-                        notExistTables.remove(tabInfo.getName().toLowerCase());
+                        notExistTables.remove(tableName.toLowerCase(Locale.ROOT));
                     }
-                    if (notExistTables.size() > 0) {
-                        LOGGER.warn("表[{}]在数据库中不存在！！！", String.join(StringPool.COMMA, notExistTables.values()));
+                    if (tableFilter.accept(tableName)) {
+                        TableInfo tableInfo = new TableInfo(this.configBuilder, tableName);
+                        tableInfo.setComment(tableComment);
+                        tableList.add(tableInfo);
                     }
-                    // 需要反向生成的表信息
-                    if (isExclude) {
-                        tableList.removeAll(excludeTableList);
+                }
+                if (notExistTables.size() > 0) {
+                    LOGGER.warn("表[{}]在数据库中不存在！！！", String.join(StringPool.COMMA, notExistTables.values()));
+                }
+                if (incrementalState != null) {
+                    tableList = filterChangedTables(tableList, fingerprints, incrementalState);
+                }
+                // 性能优化，只处理需执行表字段 github issues/219
+                List<TableInfo> queryTableList = new ArrayList<>();
+                for (int i = 0; i < tableList.size(); i++) {
+                    TableInfo tableInfo = tableList.get(i);
+                    List<MetaDataSnapshot.Column> columns = metaDataCache != null ? metaDataCache.getColumns(tableInfo.getName()) : null;
+                    if (columns != null) {
+                        columns.forEach(column -> convertTableField(tableInfo, column));
+                        finishTable(tableInfo);
                     } else {
-                        tableList.clear();
-                        tableList.addAll(includeTableList);
+                        queryTableList.add(tableInfo);
+                    }
+                    if (!retain) {
+                        tableList.set(i, null);
+                    }
+                }
+                if (!retain) {
+                    tableList = new ArrayList<>();
+                }
+                if (!queryTableList.isEmpty()) {
+                    convertTableFields(queryTableList, tables.size());
+                }
+                if (metaDataCache != null) {
+                    MetaDataSnapshot snapshot = metaDataCache.save(tablesSql, tables);
+                    if (session != null) {
+                        session.updateMetaData(snapshot, fingerprints == null);
                     }
                 }
-                // 性能优化，只处理需执行表字段 github issues/219
-                tableList.forEach(this::convertTableFields);
                 return tableList;
             } catch (SQLException e) {
                 throw new RuntimeException(e);
@@ -162,56 +283,505 @@ public abstract class IDatabaseQuery {
             }
         }
 
-        private void convertTableFields(@NotNull TableInfo tableInfo) {
-            DbType dbType = this.dataSourceConfig.getDbType();
+        /**
+         * 查询表信息
+         *
+         * @param tablesSql 查询表信息的 SQL
+         * @return 表信息
+         */
+        private List<MetaDataSnapshot.Table> queryTableRows(@NotNull String tablesSql) throws SQLException {
+            List<MetaDataSnapshot.Table> tables = new ArrayList<>();
+            dbQuery.query(tablesSql, result -> {
+                String tableName = result.getStringResult(dbQuery.tableName());
+                if (StringUtils.isNotBlank(tableName)) {
+                    tables.add(new MetaDataSnapshot.Table(tableName, result.getTableComment()));
+                }
+            });
+            return tables;
+        }
+
+        /**
+         * 查询表结构指纹
+         *
+         * @return 表结构指纹 (小写表名->指纹)，数据库不支持时返回 null
+         */
+        @Nullable
+        private Map<String, String> queryFingerprints() {
+            String fingerprintSql = dbQuery.fingerprintSql();
+            if (StringUtils.isBlank(fingerprintSql)) {
+                LOGGER.warn("当前数据库[{}]不支持表结构指纹查询,元数据缓存与增量生成不生效", dataSourceConfig.getDbType());
+                return null;
+            }
+            Map<String, String> fingerprints = new HashMap<>();
+            try {
+                dbQuery.query(fingerprintSql, result -> {
+                    try {
+                        ResultSet resultSet = result.getResultSet();
+                        String tableName = resultSet.getString(1);
+                        if (StringUtils.isNotBlank(tableName)) {
+                            // 同名表(如H2多个schema)合并指纹
+                            fingerprints.merge(tableName.toLowerCase(Locale.ROOT), String.valueOf(resultSet.getString(2)), (o, n) -> o + StringPool.COMMA + n);
+                        }
+                    } catch (SQLException e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+            } catch (RuntimeException | SQLException e) {
+                LOGGER.warn("查询表结构指纹失败,元数据缓存与增量生成不生效:{}", e.getMessage());
+                return null;
+            }
+            return fingerprints;
+        }
+
+        /**
+         * 创建元数据缓存
+         *
+         * @param fingerprints 表结构指纹
+         * @return 未开启或无法获取表结构指纹时返回 null
+         */
+        @Nullable
+        private MetaDataCache createMetaDataCache(@Nullable Map<String, String> fingerprints) {
+            String cacheDir = dataSourceConfig.getMetaDataCacheDir();
+            if (StringUtils.isBlank(cacheDir) || fingerprints == null) {
+                return null;
+            }
+            Path cacheFile = MetaDataCache.getCacheFile(cacheDir, dataSourceConfig.getUrl(), dataSourceConfig.getSchemaName(),
+                dataSourceConfig.getUsername(), dataSourceConfig.getDbQuery().getClass().getName(), Arrays.toString(dbQuery.fieldCustom()));
+            return new MetaDataCache(cacheFile, fingerprints);
+        }
+
+        /**
+         * 增量生成，只保留新增或表结构有变化的表
+         *
+         * @param tableList        需处理的表
+         * @param fingerprints     表结构指纹
+         * @param incrementalState 增量生成状态
+         * @return 需要重新生成的表
+         */
+        private List<TableInfo> filterChangedTables(@NotNull List<TableInfo> tableList, @Nullable Map<String, String> fingerprints,
+                                                    @NotNull IncrementalState incrementalState) {
+            if (fingerprints == null) {
+                return tableList;
+            }
+            List<TableInfo> changedTableList = new ArrayList<>();
+            List<String> newTables = new ArrayList<>();
+            List<String> changedTables = new ArrayList<>();
+            for (TableInfo tableInfo : tableList) {
+                String tableName = tableInfo.getName();
+                String fingerprint = fingerprints.get(tableName.toLowerCase(Locale.ROOT));
+                if (incrementalState.isChanged(tableName, fingerprint)) {
+                    (incrementalState.isNew(tableName) ? newTables : changedTables).add(tableName);
+                    changedTableList.add(tableInfo);
+                    incrementalState.update(tableName, fingerprint);
+                }
+            }
+            Set<String> droppedTables = incrementalState.removeDropped(fingerprints);
+            LOGGER.info("增量生成: 新增表[{}], 变更表[{}], 删除表[{}], 未变化表{}张", String.join(StringPool.COMMA, newTables),
+                String.join(StringPool.COMMA, changedTables), String.join(StringPool.COMMA, droppedTables),
+                tableList.size() - changedTableList.size());
+            if (!changedTableList.isEmpty() && !globalConfig.isFileOverride()) {
+                LOGGER.warn("增量生成未开启文件覆盖(fileOverride),已存在的文件不会更新");
+            }
+            return changedTableList;
+        }
+
+        /**
+         * 查询并处理表字段
+         *
+         * @param tableList  需处理的表
+         * @param tableCount 查询到的表数量
+         */
+        private void convertTableFields(@NotNull List<TableInfo> tableList, int tableCount) {
+            this.primaryKeyColumns = queryPrimaryKeyColumns(tableList);
+            if (isBulkQuery(tableList.size(), tableCount) && bulkConvertTableFields(tableList)) {
+                return;
+            }
+            if (dataSourceConfig.getParallelism() > 1 && tableList.size() > 1) {
+                parallelConvertTableFields(tableList);
+            } else {
+                for (int i = 0; i < tableList.size(); i++) {
+                    TableInfo tableInfo = tableList.get(i);
+                    convertTableFields(tableInfo, dbQuery.getConnection());
+                    tableInfo.processTable();
+                    emitTable(tableList, i);
+                }
+            }
+        }
+
+        /**
+         * 一次查询所有需处理表的主键字段
+         *
+         * @param tableList 需处理的表
+         * @return 主键字段 (小写表名->主键字段)，数据库不支持批量查询主键时返回 null
+         */
+        @Nullable
+        private Map<String, Set<String>> queryPrimaryKeyColumns(@NotNull List<TableInfo> tableList) {
+            String primaryKeysSql = dbQuery.primaryKeysSql();
+            if (StringUtils.isBlank(primaryKeysSql)) {
+                return null;
+            }
+            Map<String, Set<String>> primaryKeyColumns = new HashMap<>();
+            tableList.forEach(tableInfo -> primaryKeyColumns.put(tableInfo.getName().toLowerCase(Locale.ROOT), new HashSet<>()));
+            try {
+                dbQuery.query(primaryKeysSql, result -> {
+                    try {
+                        ResultSet resultSet = result.getResultSet();
+                        String tableName = resultSet.getString(1);
+                        Set<String> columns = tableName != null ? primaryKeyColumns.get(tableName.toLowerCase(Locale.ROOT)) : null;
+                        if (columns != null) {
+                            columns.add(resultSet.getString(2));
+                        }
+                    } catch (SQLException e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+            return primaryKeyColumns;
+        }
+
+        /**
+         * 获取表的主键字段
+         *
+         * @param tableName 表名
+         * @return 主键字段，数据库不支持批量查询主键时返回 null
+         */
+        @Nullable
+        private Set<String> getPrimaryKeyColumns(@NotNull String tableName) {
+            return primaryKeyColumns != null ? primaryKeyColumns.getOrDefault(tableName.toLowerCase(Locale.ROOT), Collections.emptySet()) : null;
+        }
+
+        /**
+         * 表处理完成
+         *
+         * @param tableInfo 表信息
+         */
+        private void finishTable(@Nullable TableInfo tableInfo) {
+            if (tableInfo != null) {
+                tableInfo.processTable();
+                if (tableConsumer != null) {
+                    tableConsumer.accept(tableInfo);
+                }
+            }
+        }
+
+        /**
+         * 将已处理完成的表交给 consumer，并释放引用
+         *
+         * @param tableList 表信息
+         * @param index     下标
+         */
+        private void emitTable(@NotNull List<TableInfo> tableList, int index) {
+            if (tableConsumer != null) {
+                tableConsumer.accept(tableList.get(index));
+                tableList.set(index, null);
+            }
+        }
+
+        /**
+         * 是否使用批量查询表字段
+         *
+         * @param selectCount 需处理表数量
+         * @param tableCount  查询到的表数量
+         * @return 是否批量查询
+         */
+        boolean isBulkQuery(int selectCount, int tableCount) {
+            if (selectCount <= 1 || !dbQuery.isSupportBulkTableFields()) {
+                return false;
+            }
+            // 包含表已加入表信息查询条件时,无法得知库中表数量,这里按少量表处理
+            if (dbQuery.isIncludeFiltered()) {
+                return false;
+            }
+            return selectCount * BULK_QUERY_RATIO >= tableCount;
+        }
+
+        /**
+         * 一次查询处理所有表字段
+         *
+         * @param tableList 需处理的表
+         * @return 批量查询是否成功 (失败时需回退到逐表查询)
+         */
+        private boolean bulkConvertTableFields(@NotNull List<TableInfo> tableList) {
+            // 表名区分大小写(如 User 与 user 可同时存在)
+            Map<String, TableInfo> tableInfoMap = new LinkedHashMap<>();
+            tableList.forEach(tableInfo -> tableInfoMap.put(tableInfo.getName(), tableInfo));
+            if (tableConsumer != null) {
+                // 流式处理时只由 tableInfoMap 持有未处理的表
+                tableList.clear();
+            }
+            Map<String, Map<String, DatabaseMetaDataWrapper.ColumnsInfo>> columnsMetaInfoMap;
+            try {
+                columnsMetaInfoMap = new DatabaseMetaDataWrapper(dbQuery.getConnection())
+                    .getColumnsInfo(dbQuery.getConnection().getCatalog(), dataSourceConfig.getSchemaName());
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+            int[] count = {0};
+            String[] currentGroup = {null};
+            Set<String> groupTables = new LinkedHashSet<>();
+            try {
+                dbQuery.queryBulkTableFields(result -> {
+                    count[0]++;
+                    String tableName = result.getStringResult(dbQuery.fieldTableName());
+                    if (StringUtils.isBlank(tableName)) {
+                        return;
+                    }
+                    String group = tableName.toLowerCase(Locale.ROOT);
+                    if (!group.equals(currentGroup[0])) {
+                        // 结果按表名排序,忽略大小写的表名变化时上一组表已处理完成
+                        // (不区分大小写的排序规则下,仅大小写不同的表的字段会交替出现)
+                        groupTables.forEach(name -> finishTable(tableInfoMap.remove(name)));
+                        groupTables.clear();
+                        currentGroup[0] = group;
+                    }
+                    TableInfo tableInfo = tableInfoMap.get(tableName);
+                    if (tableInfo != null) {
+                        groupTables.add(tableName);
+                        convertTableField(tableInfo, result, columnsMetaInfoMap.getOrDefault(tableName, Collections.emptyMap()),
+                            getPrimaryKeyColumns(tableName));
+                    }
+                });
+            } catch (SQLException e) {
+                if (count[0] > 0) {
+                    throw new RuntimeException(e);
+                }
+                LOGGER.warn("批量查询表字段失败,使用逐表查询:{}", e.getMessage());
+                if (tableConsumer != null) {
+                    tableList.addAll(tableInfoMap.values());
+                }
+                return false;
+            }
+            groupTables.forEach(name -> finishTable(tableInfoMap.remove(name)));
+            // 没有字段信息的表
+            tableInfoMap.values().forEach(this::finishTable);
+            return true;
+        }
+
+        /**
+         * 使用多个连接并发处理表字段，每张表由单个线程处理，表顺序保持不变
+         *
+         * @param tableList 需处理的表
+         */
+        private void parallelConvertTableFields(@NotNull List<TableInfo> tableList) {
+            int parallelism = Math.min(dataSourceConfig.getParallelism(), tableList.size());
+            // 提前初始化,避免并发下重复创建
+            dataSourceConfig.getTypeConvert();
+            AtomicInteger threadCount = new AtomicInteger();
+            ExecutorService executorService = Executors.newFixedThreadPool(parallelism, r -> {
+                Thread thread = new Thread(r, "mp-generator-metadata-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            try (ConnectionPool connectionPool = new ConnectionPool(dataSourceConfig, dbQuery.getConnection(), parallelism)) {
+                // 限制提交数量,避免已处理的表堆积
+                int window = parallelism * 2;
+                Deque<Future<?>> futures = new ArrayDeque<>(window);
+                int submitted = 0;
+                for (int i = 0; i < tableList.size(); i++) {
+                    while (submitted < tableList.size() && submitted - i < window) {
+                        TableInfo tableInfo = tableList.get(submitted++);
+                        futures.add(executorService.submit(() -> {
+                            Connection connection = connectionPool.borrow();
+                            try {
+                                convertTableFields(tableInfo, connection);
+                            } finally {
+                                connectionPool.release(connection);
+                            }
+                            tableInfo.processTable();
+                            return null;
+                        }));
+                    }
+                    futures.poll().get();
+                    emitTable(tableList, i);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof RuntimeException ? (RuntimeException) cause : new RuntimeException(cause);
+            } finally {
+                executorService.shutdownNow();
+            }
+        }
+
+        private void convertTableFields(@NotNull TableInfo tableInfo, @NotNull Connection connection) {
             String tableName = tableInfo.getName();
             try {
                 final Map<String, DatabaseMetaDataWrapper.ColumnsInfo> columnsMetaInfoMap = new HashMap<>();
                 //TODO 增加元数据信息获取,后面查询表字段要改成这个.
                 Map<String, DatabaseMetaDataWrapper.ColumnsInfo> columnsInfo =
-                    new DatabaseMetaDataWrapper(dbQuery.getConnection()).getColumnsInfo(null, dataSourceConfig.getSchemaName(), tableName);
+                    new DatabaseMetaDataWrapper(connection).getColumnsInfo(null, dataSourceConfig.getSchemaName(), tableName);
                 if (columnsInfo != null && !columnsInfo.isEmpty()) {
                     columnsMetaInfoMap.putAll(columnsInfo);
                 }
-                String tableFieldsSql = dbQuery.tableFieldsSql(tableName);
-                Set<String> h2PkColumns = new HashSet<>();
-                if (DbType.H2 == dbType) {
-                    dbQuery.query(String.format(H2Query.PK_QUERY_SQL, tableName), result -> {
-                        String primaryKey = result.getStringResult(dbQuery.fieldKey());
-                        if (Boolean.parseBoolean(primaryKey)) {
-                            h2PkColumns.add(result.getStringResult(dbQuery.fieldName()));
-                        }
-                    });
-                }
-                Entity entity = strategyConfig.entity();
-                dbQuery.query(tableFieldsSql, result -> {
-                    String columnName = result.getStringResult(dbQuery.fieldName());
-                    TableField field = new TableField(this.configBuilder, columnName);
-                    // 避免多重主键设置，目前只取第一个找到ID，并放到list中的索引为0的位置
-                    boolean isId = DbType.H2 == dbType ? h2PkColumns.contains(columnName) : result.isPrimaryKey();
-                    // 处理ID
-                    if (isId) {
-                        field.primaryKey(dbQuery.isKeyIdentity(result.getResultSet()));
-                        tableInfo.setHavePrimaryKey(true);
-                        if (field.isKeyIdentityFlag() && entity.getIdType() != null) {
-                            LOGGER.warn("当前表[{}]的主键为自增主键，会导致全局主键的ID类型设置失效!", tableName);
-                        }
-                    }
-                    field.setColumnName(columnName)
-                        .setType(result.getStringResult(dbQuery.fieldType()))
-                        .setComment(result.getFiledComment())
-                        .setCustomMap(dbQuery.getCustomFields(result.getResultSet()));
-                    String propertyName = entity.getNameConvert().propertyNameConvert(field);
-                    IColumnType columnType = dataSourceConfig.getTypeConvert().processTypeConvert(globalConfig, field);
-                    field.setPropertyName(propertyName, columnType);
-                    field.setMetaInfo(new TableField.MetaInfo(columnsMetaInfoMap.get(columnName.toLowerCase())));
-                    tableInfo.addField(field);
-                });
+                Set<String> tablePrimaryKeyColumns = getPrimaryKeyColumns(tableName);
+                dbQuery.queryTableFields(connection, tableName, result -> convertTableField(tableInfo, result, columnsMetaInfoMap, tablePrimaryKeyColumns));
             } catch (SQLException e) {
                 throw new RuntimeException(e);
             }
-            tableInfo.processTable();
+        }
+
+        private void convertTableField(@NotNull TableInfo tableInfo, @NotNull DecoratorDbQuery.ResultSetWrapper result,
+                                       @NotNull Map<String, DatabaseMetaDataWrapper.ColumnsInfo> columnsMetaInfoMap,
+                                       @Nullable Set<String> primaryKeyColumns) {
+            String columnName = result.getStringResult(dbQuery.fieldName());
+            // 避免多重主键设置，目前只取第一个找到ID，并放到list中的索引为0的位置
+            boolean isId = primaryKeyColumns != null ? primaryKeyColumns.contains(columnName) : result.isPrimaryKey();
+            MetaDataSnapshot.Column column = new MetaDataSnapshot.Column(columnName,
+                result.getStringResult(dbQuery.fieldType()),
+                result.getFiledComment(),
+                isId,
+                isId && dbQuery.isKeyIdentity(result.getResultSet()),
+                dbQuery.getCustomFields(result),
+                columnsMetaInfoMap.get(columnName.toLowerCase(Locale.ROOT)));
+            if (metaDataCache != null) {
+                metaDataCache.putColumn(tableInfo.getName(), column);
+            }
+            convertTableField(tableInfo, column);
         }
     }
 
+    /**
+     * 只使用 {@link java.sql.DatabaseMetaData} 获取表与字段信息，不依赖数据库查询语句({@link com.baomidou.mybatisplus.generator.config.IDbQuery})
+     * <p>表信息、字段信息一次批量获取，主键逐表获取，适用于任意提供标准元数据的 JDBC 驱动。
+     * 不支持自定义字段、元数据缓存与增量生成，字段类型为 {@code TYPE_NAME(长度[,精度])}，
+     * 建议配合 {@link DataSourceConfig.Builder#enableJdbcTypeConvert()} 使用。</p>
+     *
+     * @since 3.5.0
+     */
+    public static class MetaDataDatabaseQuery extends IDatabaseQuery {
+
+        private static final Logger LOGGER = LoggerFactory.getLogger(MetaDataDatabaseQuery.class);
+
+        private final StrategyConfig strategyConfig;
+
+        public MetaDataDatabaseQuery(@NotNull ConfigBuilder configBuilder) {
+            super(configBuilder);
+            this.strategyConfig = configBuilder.getStrategyConfig();
+        }
+
+        @NotNull
+        @Override
+        public List<TableInfo> queryTables() {
+            return queryTables(null, true);
+        }
+
+        @Override
+        public void queryTables(@NotNull Consumer<TableInfo> consumer) {
+            queryTables(consumer, false);
+        }
+
+        /**
+         * 获取表信息
+         *
+         * @param consumer 表信息处理(每张表处理完成后调用)
+         * @param retain   是否保留并返回所有表信息，流式处理时不保留已处理的表
+         * @return 表信息
+         */
+        private List<TableInfo> queryTables(@Nullable Consumer<TableInfo> consumer, boolean retain) {
+            if (configBuilder.getIncrementalState() != null || StringUtils.isNotBlank(dataSourceConfig.getMetaDataCacheDir())) {
+                LOGGER.warn("元数据查询不支持元数据缓存与增量生成,将处理所有表");
+            }
+            TableFilter tableFilter = strategyConfig.getTableFilter();
+            List<TableInfo> tableList = new ArrayList<>();
+            Map<String, String> notExistTables = new HashMap<>(tableFilter.getTableNames());
+            GeneratorSession session = configBuilder.getSession();
+            Connection connection = null;
+            try {
+                connection = session != null && session.isKeepConnection() ? session.getConnection() : dataSourceConfig.createConnection();
+                DatabaseMetaDataWrapper databaseMetaDataWrapper = new DatabaseMetaDataWrapper(connection);
+                String catalog = connection.getCatalog();
+                String schema = dataSourceConfig.getSchemaName();
+                String[] types = strategyConfig.isSkipView() ? new String[]{"TABLE"} : new String[]{"TABLE", "VIEW"};
+                List<DatabaseMetaDataWrapper.TablesInfo> tables = databaseMetaDataWrapper.getTables(catalog, schema, "%", types);
+                for (DatabaseMetaDataWrapper.TablesInfo table : tables) {
+                    String tableName = table.getName();
+                    if (!notExistTables.isEmpty()) {
+                        notExistTables.remove(tableName.toLowerCase(Locale.ROOT));
+                    }
+                    if (tableFilter.accept(tableName)) {
+                        TableInfo tableInfo = new TableInfo(this.configBuilder, tableName);
+                        tableInfo.setComment(table.getRemarks());
+                        tableList.add(tableInfo);
+                    }
+                }
+                if (notExistTables.size() > 0) {
+                    LOGGER.warn("表[{}]在数据库中不存在！！！", String.join(StringPool.COMMA, notExistTables.values()));
+                }
+                if (tableList.isEmpty()) {
+                    return tableList;
+                }
+                // 需处理的表较少时逐表获取字段
+                Map<String, Map<String, DatabaseMetaDataWrapper.ColumnsInfo>> columnsInfoMap =
+                    tableList.size() * DefaultDatabaseQuery.BULK_QUERY_RATIO >= tables.size()
+                        ? databaseMetaDataWrapper.getColumnsInfo(catalog, schema) : null;
+                for (int i = 0; i < tableList.size(); i++) {
+                    TableInfo tableInfo = tableList.get(i);
+                    String tableName = tableInfo.getName();
+                    Map<String, DatabaseMetaDataWrapper.ColumnsInfo> columnsInfo = columnsInfoMap != null
+                        ? columnsInfoMap.getOrDefault(tableName, Collections.emptyMap())
+                        : databaseMetaDataWrapper.getColumnsInfo(catalog, schema, tableName);
+                    Set<String> primaryKeys = databaseMetaDataWrapper.getPrimaryKeys(catalog, schema, tableName);
+                    for (DatabaseMetaDataWrapper.ColumnsInfo columnInfo : columnsInfo.values()) {
+                        boolean isId = primaryKeys.contains(columnInfo.getName().toLowerCase(Locale.ROOT));
+                        convertTableField(tableInfo, new MetaDataSnapshot.Column(columnInfo.getName(), getColumnType(columnInfo),
+                            columnInfo.getRemarks(), isId, isId && columnInfo.isAutoIncrement(), Collections.emptyMap(), columnInfo));
+                    }
+                    tableInfo.processTable();
+                    if (consumer != null) {
+                        consumer.accept(tableInfo);
+                    }
+                    if (!retain) {
+                        tableList.set(i, null);
+                    }
+                }
+                return retain ? tableList : new ArrayList<>();
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            } finally {
+                // 会话连接由会话关闭
+                if (connection != null && (session == null || !session.isKeepConnection())) {
+                    try {
+                        connection.close();
+                    } catch (SQLException e) {
+                        LOGGER.warn("关闭数据库连接失败:{}", e.getMessage());
+                    }
+                }
+            }
+        }
+
+        /**
+         * 获取字段类型，数值与字符类型附带长度，与数据库查询语句获取的类型格式保持一致
+         *
+         * @param columnsInfo 字段元数据
+         * @return 字段类型
+         */
+        static String getColumnType(@NotNull DatabaseMetaDataWrapper.ColumnsInfo columnsInfo) {
+            String typeName = columnsInfo.getTypeName();
+            JdbcType jdbcType = columnsInfo.getJdbcType();
+            if (typeName == null || jdbcType == null || columnsInfo.getLength() <= 0 || typeName.indexOf('(') >= 0) {
+                return typeName;
+            }
+            switch (jdbcType) {
+                case NUMERIC:
+                case DECIMAL:
+                    return columnsInfo.getScale() > 0 ? typeName + "(" + columnsInfo.getLength() + "," + columnsInfo.getScale() + ")"
+                        : typeName + "(" + columnsInfo.getLength() + ")";
+                case BIT:
+                case TINYINT:
+                case CHAR:
+                case VARCHAR:
+                case NCHAR:
+                case NVARCHAR:
+                case BINARY:
+                case VARBINARY:
+                    return typeName + "(" + columnsInfo.getLength() + ")";
+                default:
+                    return typeName;
+            }
+        }
+    }
 }
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2011-2021, baomidou (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.baomidou.mybatisplus.generator.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 生成配置摘要
+ * <p>汇总包配置、策略配置、模板路径及模板内容等影响生成结果的配置，配置变化时增量生成需重新生成所有表。</p>
+ * <p>配置对象按字段反射展开(忽略 static、transient 字段)，集合按元素排序，lambda 等无法展开的对象只记录类名。</p>
+ *
+ * @since 3.5.0
+ */
+public class ConfigDigest {
+
+    private static final String CONFIG_PACKAGE = "com.baomidou.mybatisplus.generator.";
+
+    private static final String[] TEMPLATE_SUFFIXES = {"", ".vm", ".ftl", ".btl"};
+
+    private final MessageDigest messageDigest;
+
+    public ConfigDigest() {
+        try {
+            this.messageDigest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 添加配置对象
+     *
+     * @param config 配置
+     * @return this
+     */
+    @NotNull
+    public ConfigDigest addConfig(@Nullable Object config) {
+        StringBuilder sb = new StringBuilder();
+        describe(config, sb, new IdentityHashMap<>());
+        return update(sb.toString());
+    }
+
+    /**
+     * 添加模板(路径及内容)
+     *
+     * @param templatePath 模板路径(可不带引擎后缀)
+     * @return this
+     */
+    @NotNull
+    public ConfigDigest addTemplate(@Nullable String templatePath) {
+        update(String.valueOf(templatePath));
+        if (templatePath != null) {
+            for (String suffix : TEMPLATE_SUFFIXES) {
+                update(suffix);
+                byte[] content = readTemplate(templatePath + suffix);
+                if (content != null) {
+                    messageDigest.update(content);
+                }
+                messageDigest.update((byte) 0);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 获取摘要
+     *
+     * @return 十六进制摘要
+     */
+    @NotNull
+    public String digest() {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : messageDigest.digest()) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    private ConfigDigest update(String value) {
+        messageDigest.update(value.getBytes(StandardCharsets.UTF_8));
+        messageDigest.update((byte) 0);
+        return this;
+    }
+
+    @Nullable
+    private static byte[] readTemplate(String path) {
+        try {
+            Path file = Paths.get(path);
+            if (Files.isRegularFile(file)) {
+                return Files.readAllBytes(file);
+            }
+        } catch (RuntimeException | IOException ignored) {
+            // 非文件路径,按类路径资源读取
+        }
+        String resource = path.startsWith("/") ? path.substring(1) : path;
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = ConfigDigest.class.getClassLoader();
+        }
+        try (InputStream inputStream = classLoader.getResourceAsStream(resource)) {
+            if (inputStream == null) {
+                return null;
+            }
+            MessageDigest contentDigest = MessageDigest.getInstance("SHA-1");
+            byte[] buffer = new byte[8192];
+            int len;
+            while ((len = inputStream.read(buffer)) != -1) {
+                contentDigest.update(buffer, 0, len);
+            }
+            return contentDigest.digest();
+        } catch (IOException | NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    private static void describe(@Nullable Object value, StringBuilder sb, Map<Object, Integer> visited) {
+        if (value == null) {
+            sb.append("null");
+            return;
+        }
+        Class<?> clazz = value.getClass();
+        if (value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+            || value instanceof Character || value instanceof Enum) {
+            sb.append(value);
+        } else if (value instanceof Class) {
+            sb.append(((Class<?>) value).getName());
+        } else if (clazz.isArray()) {
+            List<String> elements = new ArrayList<>();
+            for (int i = 0; i < Array.getLength(value); i++) {
+                elements.add(describe(Array.get(value, i), new IdentityHashMap<>(visited)));
+            }
+            sb.append(elements);
+        } else if (value instanceof Collection) {
+            // 元素各自展开,避免无序集合的遍历顺序影响引用编号
+            List<String> elements = new ArrayList<>();
+            ((Collection<?>) value).forEach(element -> elements.add(describe(element, new IdentityHashMap<>(visited))));
+            if (value instanceof Set) {
+                Collections.sort(elements);
+            }
+            sb.append(elements);
+        } else if (value instanceof Map) {
+            List<String> entries = new ArrayList<>();
+            ((Map<?, ?>) value).forEach((k, v) -> entries.add(describe(k, new IdentityHashMap<>(visited)) + "=" + describe(v, new IdentityHashMap<>(visited))));
+            Collections.sort(entries);
+            sb.append(entries);
+        } else if (clazz.isSynthetic() || !clazz.getName().startsWith(CONFIG_PACKAGE)) {
+            // lambda 类名包含运行时序号,仅保留定义类
+            String name = clazz.getName();
+            int index = name.indexOf("$$Lambda");
+            sb.append(index < 0 ? name : name.substring(0, index));
+        } else {
+            Integer ref = visited.get(value);
+            if (ref != null) {
+                sb.append('@').append(ref);
+                return;
+            }
+            visited.put(value, visited.size());
+            sb.append(clazz.getName()).append('{');
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()) {
+                        fields.add(field);
+                    }
+                }
+            }
+            fields.sort(Comparator.comparing((Field field) -> field.getDeclaringClass().getName()).thenComparing(Field::getName));
+            for (Field field : fields) {
+                sb.append(field.getName()).append('=');
+                try {
+                    field.setAccessible(true);
+                    describe(field.get(value), sb, visited);
+                } catch (RuntimeException | IllegalAccessException e) {
+                    sb.append('?');
+                }
+                sb.append(';');
+            }
+            sb.append('}');
+        }
+    }
+
+    private static String describe(@Nullable Object value, Map<Object, Integer> visited) {
+        StringBuilder sb = new StringBuilder();
+        describe(value, sb, visited);
+        return sb.toString();
+    }
+}
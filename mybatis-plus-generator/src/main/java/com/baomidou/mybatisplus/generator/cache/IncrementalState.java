@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2011-2021, baomidou (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.baomidou.mybatisplus.generator.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 增量生成状态
+ * <p>记录上次成功生成时各表的表结构指纹(小写表名->指纹)，只有新增或指纹变化的表需要重新生成。</p>
+ * <p>同时记录生成配置摘要({@link ConfigDigest})，模板、包名、命名策略等配置变化时所有表都需要重新生成。</p>
+ *
+ * @since 3.5.0
+ */
+public class IncrementalState {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IncrementalState.class);
+
+    /**
+     * 生成配置摘要的键(表名不会以 @ 开头)
+     */
+    private static final String CONFIG_DIGEST_KEY = "@config";
+
+    /**
+     * 状态文件(为空时状态保存在内存中)
+     */
+    private final Path file;
+
+    /**
+     * 内存中的状态
+     */
+    private final Map<String, String> memoryState;
+
+    /**
+     * 本次生成配置摘要
+     */
+    private final String configDigest;
+
+    /**
+     * 生成配置是否变化
+     */
+    private final boolean configChanged;
+
+    /**
+     * 上次生成的状态
+     */
+    private final Map<String, String> previous;
+
+    /**
+     * 本次生成完成后的状态
+     */
+    private final Map<String, String> next;
+
+    public IncrementalState(@NotNull String file) {
+        this(file, null);
+    }
+
+    /**
+     * @param file         状态文件
+     * @param configDigest 生成配置摘要,与上次不一致时所有表都需要重新生成
+     */
+    public IncrementalState(@NotNull String file, @Nullable String configDigest) {
+        this(Paths.get(file), null, configDigest);
+    }
+
+    /**
+     * 使用内存中的状态(如监听模式多次生成之间)
+     *
+     * @param memoryState  内存中的状态,调用 {@link #save()} 时更新
+     * @param configDigest 生成配置摘要,与上次不一致时所有表都需要重新生成
+     */
+    public IncrementalState(@NotNull Map<String, String> memoryState, @Nullable String configDigest) {
+        this(null, memoryState, configDigest);
+    }
+
+    private IncrementalState(@Nullable Path file, @Nullable Map<String, String> memoryState, @Nullable String configDigest) {
+        this.file = file;
+        this.memoryState = memoryState;
+        Map<String, String> state = file != null ? load(file) : new HashMap<>(memoryState);
+        String previousDigest = state.remove(CONFIG_DIGEST_KEY);
+        this.configDigest = configDigest;
+        this.configChanged = configDigest != null && !state.isEmpty() && !configDigest.equals(previousDigest);
+        if (configChanged) {
+            LOGGER.info("生成配置已变化,重新生成所有表");
+        }
+        this.previous = state;
+        // 配置变化时旧指纹全部作废,只保留本次重新生成的表
+        this.next = configChanged ? new HashMap<>() : new HashMap<>(state);
+    }
+
+    private static Map<String, String> load(Path file) {
+        Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            properties.load(inputStream);
+        } catch (NoSuchFileException e) {
+            return new HashMap<>();
+        } catch (IOException e) {
+            LOGGER.warn("读取增量生成状态[{}]失败,将重新生成所有表:{}", file, e.getMessage());
+            return new HashMap<>();
+        }
+        Map<String, String> state = new HashMap<>();
+        properties.stringPropertyNames().forEach(name -> state.put(name, properties.getProperty(name)));
+        return state;
+    }
+
+    /**
+     * 是否新增表
+     *
+     * @param tableName 表名
+     * @return 是否新增
+     */
+    public boolean isNew(@NotNull String tableName) {
+        return !previous.containsKey(tableName.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * 生成配置是否变化
+     *
+     * @return 是否变化
+     */
+    public boolean isConfigChanged() {
+        return configChanged;
+    }
+
+    /**
+     * 表是否需要重新生成(新增表、表结构指纹变化或生成配置变化)
+     *
+     * @param tableName   表名
+     * @param fingerprint 当前表结构指纹
+     * @return 是否需要重新生成
+     */
+    public boolean isChanged(@NotNull String tableName, String fingerprint) {
+        return configChanged || fingerprint == null || !fingerprint.equals(previous.get(tableName.toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * 更新表状态，生成成功并调用 {@link #save()} 后生效
+     *
+     * @param tableName   表名
+     * @param fingerprint 当前表结构指纹
+     */
+    public void update(@NotNull String tableName, String fingerprint) {
+        if (fingerprint != null) {
+            next.put(tableName.toLowerCase(Locale.ROOT), fingerprint);
+        }
+    }
+
+    /**
+     * 获取已删除的表并从状态中移除
+     *
+     * @param fingerprints 当前数据库表结构指纹
+     * @return 已删除的表(小写表名)
+     */
+    @NotNull
+    public Set<String> removeDropped(@NotNull Map<String, String> fingerprints) {
+        Set<String> dropped = new TreeSet<>(previous.keySet());
+        dropped.removeAll(fingerprints.keySet());
+        dropped.forEach(next::remove);
+        return dropped;
+    }
+
+    /**
+     * 保存状态
+     */
+    public void save() {
+        if (memoryState != null) {
+            memoryState.clear();
+            memoryState.putAll(next);
+            if (configDigest != null) {
+                memoryState.put(CONFIG_DIGEST_KEY, configDigest);
+            }
+            return;
+        }
+        Properties properties = new Properties();
+        next.forEach(properties::setProperty);
+        if (configDigest != null) {
+            properties.setProperty(CONFIG_DIGEST_KEY, configDigest);
+        }
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tempFile = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                properties.store(outputStream, "mybatis-plus generator incremental state");
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.warn("保存增量生成状态[{}]失败:{}", file, e.getMessage());
+        }
+    }
+}
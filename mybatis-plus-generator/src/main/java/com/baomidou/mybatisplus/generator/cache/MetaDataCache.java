@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2011-2021, baomidou (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.baomidou.mybatisplus.generator.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 数据库元数据磁盘缓存
+ * <p>每个数据源与schema对应一个缓存文件，通过表结构指纹判断缓存是否有效，
+ * 指纹未变化的表直接使用缓存中的字段信息，不再查询数据库。
+ * 已读取或保存的快照在进程内按文件保留，缓存文件未修改时不再重复读取。</p>
+ *
+ * @since 3.5.0
+ */
+public class MetaDataCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetaDataCache.class);
+
+    /**
+     * 缓存文件后缀
+     */
+    public static final String FILE_SUFFIX = ".mpmeta";
+
+    /**
+     * 进程内快照 (缓存文件->快照)
+     */
+    private static final Map<Path, LoadedSnapshot> SNAPSHOTS = new ConcurrentHashMap<>();
+
+    /**
+     * 缓存文件，只在内存中缓存时为 null
+     */
+    private final Path file;
+
+    /**
+     * 当前数据库表结构指纹 (小写表名->指纹)
+     */
+    private final Map<String, String> fingerprints;
+
+    /**
+     * 上次保存的快照
+     */
+    private final MetaDataSnapshot snapshot;
+
+    /**
+     * 本次从数据库查询的字段信息 (小写表名->字段信息)
+     */
+    private final Map<String, List<MetaDataSnapshot.Column>> queryColumns = new ConcurrentHashMap<>();
+
+    /**
+     * @param file         缓存文件
+     * @param fingerprints 当前数据库表结构指纹
+     */
+    public MetaDataCache(@NotNull Path file, @NotNull Map<String, String> fingerprints) {
+        this.file = file;
+        this.fingerprints = fingerprints;
+        this.snapshot = load(file);
+    }
+
+    /**
+     * 只在内存中缓存，不读写缓存文件
+     *
+     * @param fingerprints 当前数据库表结构指纹
+     * @param snapshot     上次保存的快照
+     */
+    public MetaDataCache(@NotNull Map<String, String> fingerprints, @Nullable MetaDataSnapshot snapshot) {
+        this.file = null;
+        this.fingerprints = fingerprints;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * 获取缓存文件
+     *
+     * @param dir  缓存目录
+     * @param keys 区分缓存的信息(如url,schema,用户名)
+     * @return 缓存文件
+     */
+    @NotNull
+    public static Path getCacheFile(@NotNull String dir, @NotNull String... keys) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-1");
+            for (String key : keys) {
+                if (key != null) {
+                    messageDigest.update(key.getBytes(StandardCharsets.UTF_8));
+                }
+                messageDigest.update((byte) 0);
+            }
+            StringBuilder name = new StringBuilder();
+            for (byte b : messageDigest.digest()) {
+                name.append(String.format("%02x", b));
+            }
+            return Paths.get(dir, name.append(FILE_SUFFIX).toString());
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Nullable
+    private static MetaDataSnapshot load(@NotNull Path file) {
+        Path key = file.toAbsolutePath().normalize();
+        try {
+            long lastModified = Files.getLastModifiedTime(file).toMillis();
+            LoadedSnapshot loadedSnapshot = SNAPSHOTS.get(key);
+            if (loadedSnapshot != null && loadedSnapshot.lastModified == lastModified) {
+                return loadedSnapshot.snapshot;
+            }
+            MetaDataSnapshot snapshot;
+            try (InputStream inputStream = Files.newInputStream(file)) {
+                snapshot = MetaDataSnapshot.read(inputStream);
+            }
+            SNAPSHOTS.put(key, new LoadedSnapshot(lastModified, snapshot));
+            return snapshot;
+        } catch (NoSuchFileException e) {
+            SNAPSHOTS.remove(key);
+            return null;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("读取元数据缓存[{}]失败,将重新查询数据库:{}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 获取缓存的表信息，只有查询语句相同且所有表结构指纹均未变化时才有效
+     *
+     * @param tablesSql 查询表信息的 SQL
+     * @return 表信息，缓存无效时返回 null
+     */
+    @Nullable
+    public List<MetaDataSnapshot.Table> getTables(@NotNull String tablesSql) {
+        if (snapshot != null && tablesSql.equals(snapshot.getTablesSql()) && fingerprints.equals(snapshot.getFingerprints())) {
+            return snapshot.getTables();
+        }
+        return null;
+    }
+
+    /**
+     * 获取缓存的表字段信息
+     *
+     * @param tableName 表名
+     * @return 字段信息，表结构有变化或未缓存时返回 null
+     */
+    @Nullable
+    public List<MetaDataSnapshot.Column> getColumns(@NotNull String tableName) {
+        String key = tableName.toLowerCase(Locale.ROOT);
+        return isValid(key) ? snapshot.getColumns().get(key) : null;
+    }
+
+    private boolean isValid(String key) {
+        if (snapshot == null) {
+            return false;
+        }
+        String fingerprint = fingerprints.get(key);
+        return fingerprint != null && fingerprint.equals(snapshot.getFingerprints().get(key));
+    }
+
+    /**
+     * 记录从数据库查询的字段信息(同一张表需在同一线程中按顺序添加)
+     *
+     * @param tableName 表名
+     * @param column    字段信息
+     */
+    public void putColumn(@NotNull String tableName, @NotNull MetaDataSnapshot.Column column) {
+        queryColumns.computeIfAbsent(tableName.toLowerCase(Locale.ROOT), k -> new ArrayList<>()).add(column);
+    }
+
+    /**
+     * 保存缓存，保留指纹未变化的表字段信息并合并本次查询结果
+     * <p>未查询数据库且查询语句与指纹均未变化(完全命中缓存)时不写文件，直接返回已加载的快照。</p>
+     *
+     * @param tablesSql 查询表信息的 SQL
+     * @param tables    表信息
+     * @return 保存的快照
+     */
+    @NotNull
+    public MetaDataSnapshot save(@NotNull String tablesSql, @NotNull List<MetaDataSnapshot.Table> tables) {
+        if (snapshot != null && queryColumns.isEmpty() && tablesSql.equals(snapshot.getTablesSql())
+            && fingerprints.equals(snapshot.getFingerprints())) {
+            return snapshot;
+        }
+        Map<String, List<MetaDataSnapshot.Column>> columns = new HashMap<>();
+        if (snapshot != null) {
+            snapshot.getColumns().forEach((key, value) -> {
+                if (isValid(key)) {
+                    columns.put(key, value);
+                }
+            });
+        }
+        columns.putAll(queryColumns);
+        MetaDataSnapshot metaDataSnapshot = new MetaDataSnapshot(tablesSql, fingerprints, tables, columns);
+        if (file == null) {
+            return metaDataSnapshot;
+        }
+        Path tempFile = null;
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            tempFile = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                metaDataSnapshot.write(outputStream);
+            }
+            try {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            SNAPSHOTS.put(file.toAbsolutePath().normalize(), new LoadedSnapshot(Files.getLastModifiedTime(file).toMillis(), metaDataSnapshot));
+        } catch (IOException e) {
+            LOGGER.warn("保存元数据缓存[{}]失败:{}", file, e.getMessage());
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ignored) {
+                    // ignore
+                }
+            }
+        }
+        return metaDataSnapshot;
+    }
+
+    private static class LoadedSnapshot {
+
+        private final long lastModified;
+
+        private final MetaDataSnapshot snapshot;
+
+        private LoadedSnapshot(long lastModified, MetaDataSnapshot snapshot) {
+            this.lastModified = lastModified;
+            this.snapshot = snapshot;
+        }
+    }
+}
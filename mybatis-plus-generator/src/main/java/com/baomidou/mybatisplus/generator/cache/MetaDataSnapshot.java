@@ -0,0 +1,396 @@
+/*
+ * Copyright (c) 2011-2021, baomidou (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.baomidou.mybatisplus.generator.cache;
+
+import com.baomidou.mybatisplus.generator.jdbc.DatabaseMetaDataWrapper;
+import org.apache.ibatis.type.JdbcType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 数据库元数据快照
+ * <p>保存从数据库读取的原始表与字段信息(未经过命名与类型转换)，以及生成快照时的表结构指纹。</p>
+ *
+ * @since 3.5.0
+ */
+public class MetaDataSnapshot {
+
+    /**
+     * 文件头 MPMD
+     */
+    private static final int MAGIC = 0x4D504D44;
+
+    /**
+     * 文件格式版本，格式变化时递增，旧版本缓存文件将被丢弃
+     */
+    private static final int VERSION = 2;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_INTEGER = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_BOOLEAN = 4;
+    private static final byte TYPE_DOUBLE = 5;
+    private static final byte TYPE_DECIMAL = 6;
+
+    /**
+     * 查询表信息的 SQL
+     */
+    private final String tablesSql;
+
+    /**
+     * 表结构指纹 (小写表名->指纹)
+     */
+    private final Map<String, String> fingerprints;
+
+    /**
+     * 表信息(按查询顺序)
+     */
+    private final List<Table> tables;
+
+    /**
+     * 表字段信息 (小写表名->字段信息)
+     */
+    private final Map<String, List<Column>> columns;
+
+    public MetaDataSnapshot(@NotNull String tablesSql, @NotNull Map<String, String> fingerprints,
+                            @NotNull List<Table> tables, @NotNull Map<String, List<Column>> columns) {
+        this.tablesSql = tablesSql;
+        this.fingerprints = fingerprints;
+        this.tables = tables;
+        this.columns = columns;
+    }
+
+    @NotNull
+    public String getTablesSql() {
+        return tablesSql;
+    }
+
+    @NotNull
+    public Map<String, String> getFingerprints() {
+        return fingerprints;
+    }
+
+    @NotNull
+    public List<Table> getTables() {
+        return tables;
+    }
+
+    @NotNull
+    public Map<String, List<Column>> getColumns() {
+        return columns;
+    }
+
+    /**
+     * 写入快照
+     *
+     * @param outputStream 输出流
+     * @throws IOException IOException
+     */
+    public void write(@NotNull OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        writeString(out, tablesSql);
+        out.writeInt(fingerprints.size());
+        for (Map.Entry<String, String> entry : fingerprints.entrySet()) {
+            writeString(out, entry.getKey());
+            writeString(out, entry.getValue());
+        }
+        out.writeInt(tables.size());
+        for (Table table : tables) {
+            writeString(out, table.getName());
+            writeString(out, table.getComment());
+        }
+        out.writeInt(columns.size());
+        for (Map.Entry<String, List<Column>> entry : columns.entrySet()) {
+            writeString(out, entry.getKey());
+            out.writeInt(entry.getValue().size());
+            for (Column column : entry.getValue()) {
+                writeColumn(out, column);
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * 读取快照
+     *
+     * @param inputStream 输入流
+     * @return 快照信息
+     * @throws IOException 文件格式或版本不匹配
+     */
+    @NotNull
+    public static MetaDataSnapshot read(@NotNull InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("不是有效的元数据缓存文件");
+        }
+        if (in.readInt() != VERSION) {
+            throw new IOException("元数据缓存文件版本不匹配");
+        }
+        String tablesSql = readString(in);
+        int size = in.readInt();
+        Map<String, String> fingerprints = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            fingerprints.put(readString(in), readString(in));
+        }
+        size = in.readInt();
+        List<Table> tables = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tables.add(new Table(readString(in), readString(in)));
+        }
+        size = in.readInt();
+        Map<String, List<Column>> columns = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            String tableName = readString(in);
+            int columnSize = in.readInt();
+            List<Column> columnList = new ArrayList<>(columnSize);
+            for (int j = 0; j < columnSize; j++) {
+                columnList.add(readColumn(in));
+            }
+            columns.put(tableName, columnList);
+        }
+        return new MetaDataSnapshot(tablesSql, fingerprints, tables, columns);
+    }
+
+    private static void writeColumn(DataOutputStream out, Column column) throws IOException {
+        writeString(out, column.getName());
+        writeString(out, column.getType());
+        writeString(out, column.getComment());
+        out.writeBoolean(column.isPrimaryKey());
+        out.writeBoolean(column.isKeyIdentity());
+        Map<String, Object> customMap = column.getCustomMap();
+        out.writeInt(customMap.size());
+        for (Map.Entry<String, Object> entry : customMap.entrySet()) {
+            writeString(out, entry.getKey());
+            writeValue(out, entry.getValue());
+        }
+        DatabaseMetaDataWrapper.ColumnsInfo columnsInfo = column.getColumnsInfo();
+        out.writeBoolean(columnsInfo != null);
+        if (columnsInfo != null) {
+            writeString(out, columnsInfo.getName());
+            out.writeInt(columnsInfo.getLength());
+            out.writeBoolean(columnsInfo.isNullable());
+            writeString(out, columnsInfo.getRemarks());
+            writeString(out, columnsInfo.getDefaultValue());
+            out.writeInt(columnsInfo.getScale());
+            writeString(out, columnsInfo.getJdbcType() == null ? null : columnsInfo.getJdbcType().name());
+            writeString(out, columnsInfo.getTypeName());
+            out.writeBoolean(columnsInfo.isAutoIncrement());
+        }
+    }
+
+    private static Column readColumn(DataInputStream in) throws IOException {
+        String name = readString(in);
+        String type = readString(in);
+        String comment = readString(in);
+        boolean primaryKey = in.readBoolean();
+        boolean keyIdentity = in.readBoolean();
+        int size = in.readInt();
+        Map<String, Object> customMap = size == 0 ? Collections.emptyMap() : new LinkedHashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            customMap.put(readString(in), readValue(in));
+        }
+        DatabaseMetaDataWrapper.ColumnsInfo columnsInfo = null;
+        if (in.readBoolean()) {
+            columnsInfo = new DatabaseMetaDataWrapper.ColumnsInfo()
+                .setName(readString(in))
+                .setLength(in.readInt())
+                .setNullable(in.readBoolean())
+                .setRemarks(readString(in))
+                .setDefaultValue(readString(in))
+                .setScale(in.readInt());
+            String jdbcType = readString(in);
+            columnsInfo.setJdbcType(jdbcType == null ? null : JdbcType.valueOf(jdbcType))
+                .setTypeName(readString(in))
+                .setAutoIncrement(in.readBoolean());
+        }
+        return new Column(name, type, comment, primaryKey, keyIdentity, customMap, columnsInfo);
+    }
+
+    /**
+     * 自定义字段值只保留常见类型，其他类型按字符串保存
+     */
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TYPE_NULL);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeByte(TYPE_INTEGER);
+            out.writeInt(((Number) value).intValue());
+        } else if (value instanceof Long) {
+            out.writeByte(TYPE_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(TYPE_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte(TYPE_DOUBLE);
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof BigDecimal) {
+            out.writeByte(TYPE_DECIMAL);
+            writeString(out, value.toString());
+        } else {
+            out.writeByte(TYPE_STRING);
+            writeString(out, value.toString());
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case TYPE_NULL:
+                return null;
+            case TYPE_STRING:
+                return readString(in);
+            case TYPE_INTEGER:
+                return in.readInt();
+            case TYPE_LONG:
+                return in.readLong();
+            case TYPE_BOOLEAN:
+                return in.readBoolean();
+            case TYPE_DOUBLE:
+                return in.readDouble();
+            case TYPE_DECIMAL:
+                return new BigDecimal(readString(in));
+            default:
+                throw new IOException("未知的数据类型:" + type);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 表信息
+     */
+    public static class Table {
+
+        private final String name;
+
+        private final String comment;
+
+        public Table(@NotNull String name, @Nullable String comment) {
+            this.name = name;
+            this.comment = comment;
+        }
+
+        @NotNull
+        public String getName() {
+            return name;
+        }
+
+        @Nullable
+        public String getComment() {
+            return comment;
+        }
+    }
+
+    /**
+     * 字段信息
+     */
+    public static class Column {
+
+        private final String name;
+
+        private final String type;
+
+        private final String comment;
+
+        private final boolean primaryKey;
+
+        private final boolean keyIdentity;
+
+        private final Map<String, Object> customMap;
+
+        private final DatabaseMetaDataWrapper.ColumnsInfo columnsInfo;
+
+        public Column(@NotNull String name, String type, String comment, boolean primaryKey, boolean keyIdentity,
+                      @NotNull Map<String, Object> customMap, @Nullable DatabaseMetaDataWrapper.ColumnsInfo columnsInfo) {
+            this.name = name;
+            this.type = type;
+            this.comment = comment;
+            this.primaryKey = primaryKey;
+            this.keyIdentity = keyIdentity;
+            this.customMap = customMap;
+            this.columnsInfo = columnsInfo;
+        }
+
+        @NotNull
+        public String getName() {
+            return name;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getComment() {
+            return comment;
+        }
+
+        public boolean isPrimaryKey() {
+            return primaryKey;
+        }
+
+        public boolean isKeyIdentity() {
+            return keyIdentity;
+        }
+
+        @NotNull
+        public Map<String, Object> getCustomMap() {
+            return customMap;
+        }
+
+        @Nullable
+        public DatabaseMetaDataWrapper.ColumnsInfo getColumnsInfo() {
+            return columnsInfo;
+        }
+    }
+}
@@ -17,7 +17,8 @@ package com.baomidou.mybatisplus.generator.config;
 
 import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.core.toolkit.StringUtils;
-import com.baomidou.mybatisplus.generator.config.converts.MySqlTypeConvert;
+import com.baomidou.mybatisplus.generator.IDatabaseQuery;
+import com.baomidou.mybatisplus.generator.config.converts.JdbcTypeConvert;
 import com.baomidou.mybatisplus.generator.config.converts.TypeConverts;
 import com.baomidou.mybatisplus.generator.config.querys.DbQueryRegistry;
 import com.baomidou.mybatisplus.generator.config.querys.DecoratorDbQuery;
@@ -79,6 +80,36 @@ public class DataSourceConfig {
      * @since 3.5.0
      */
     private Connection connection;
+    /**
+     * 读取表元数据的并发数(连接数)
+     *
+     * @since 3.5.0
+     */
+    private int parallelism = 1;
+    /**
+     * 元数据缓存目录
+     *
+     * @since 3.5.0
+     */
+    private String metaDataCacheDir;
+    /**
+     * 是否根据 JDBC 元数据类型转换字段类型
+     *
+     * @since 3.5.0
+     */
+    private boolean jdbcTypeConvert;
+    /**
+     * 查询元数据时每次从数据库获取的记录数(0 表示使用驱动默认值)
+     *
+     * @since 3.5.0
+     */
+    private int fetchSize;
+    /**
+     * 表与字段信息获取实现
+     *
+     * @since 3.5.0
+     */
+    private Class<? extends IDatabaseQuery> databaseQueryClass = IDatabaseQuery.DefaultDatabaseQuery.class;
 
     private DataSourceConfig() {
         // 不推荐使用
@@ -154,11 +185,14 @@ public class DataSourceConfig {
         if (null == typeConvert) {
             DbType dbType = getDbType();
             // 默认 MYSQL
-            typeConvert = TypeConverts.getTypeConvert(dbType);
+            typeConvert = TypeConverts.getCachedTypeConvert(dbType);
             if (null == typeConvert) {
-                typeConvert = MySqlTypeConvert.INSTANCE;
+                typeConvert = TypeConverts.getCachedTypeConvert(DbType.MYSQL);
             }
         }
+        if (jdbcTypeConvert && !(typeConvert instanceof JdbcTypeConvert)) {
+            typeConvert = new JdbcTypeConvert(typeConvert);
+        }
         return typeConvert;
     }
 
@@ -176,24 +210,43 @@ public class DataSourceConfig {
                 return connection;
             } else {
                 synchronized (this) {
-                    if (dataSource != null) {
-                        connection = dataSource.getConnection();
-                    } else {
-                        this.connection = DriverManager.getConnection(url, username, password);
-                    }
+                    connection = openConnection();
                 }
             }
-            String schema = StringUtils.isNotBlank(schemaName) ? schemaName : getDefaultSchema();
-            if (StringUtils.isNotBlank(schema)) {
-                schemaName = schema;
-                connection.setSchema(schemaName);
-            }
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
         return connection;
     }
 
+    /**
+     * 创建新的数据库连接(不会替换 {@link #getConn()} 的连接)，由调用方负责关闭
+     *
+     * @return Connection
+     * @since 3.5.0
+     */
+    @NotNull
+    public Connection createConnection() throws SQLException {
+        synchronized (this) {
+            return openConnection();
+        }
+    }
+
+    private Connection openConnection() throws SQLException {
+        Connection conn;
+        if (dataSource != null) {
+            conn = dataSource.getConnection();
+        } else {
+            conn = DriverManager.getConnection(url, username, password);
+        }
+        String schema = StringUtils.isNotBlank(schemaName) ? schemaName : getDefaultSchema();
+        if (StringUtils.isNotBlank(schema)) {
+            schemaName = schema;
+            conn.setSchema(schemaName);
+        }
+        return conn;
+    }
+
     /**
      * 获取数据库默认schema
      *
@@ -245,6 +298,28 @@ public class DataSourceConfig {
         return password;
     }
 
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Nullable
+    public String getMetaDataCacheDir() {
+        return metaDataCacheDir;
+    }
+
+    public boolean isJdbcTypeConvert() {
+        return jdbcTypeConvert;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    @NotNull
+    public Class<? extends IDatabaseQuery> getDatabaseQueryClass() {
+        return databaseQueryClass;
+    }
+
 
     /**
      * 数据库配置构建者
@@ -285,11 +360,9 @@ public class DataSourceConfig {
         public Builder(@NotNull DataSource dataSource) {
             this();
             this.dataSourceConfig.dataSource = dataSource;
-            try {
-                Connection conn = dataSource.getConnection();
+            try (Connection conn = dataSource.getConnection()) {
                 this.dataSourceConfig.url = conn.getMetaData().getURL();
                 this.dataSourceConfig.schemaName = conn.getSchema();
-                this.dataSourceConfig.connection = conn;
                 this.dataSourceConfig.username = conn.getMetaData().getUserName();
             } catch (SQLException ex) {
                 throw new RuntimeException("构建数据库配置对象失败!", ex);
@@ -307,6 +380,20 @@ public class DataSourceConfig {
             return this;
         }
 
+        /**
+         * 设置表与字段信息获取实现，需提供 {@code (ConfigBuilder)} 构造方法
+         *
+         * @param databaseQueryClass 获取实现
+         * @return this
+         * @see IDatabaseQuery.DefaultDatabaseQuery
+         * @see IDatabaseQuery.MetaDataDatabaseQuery
+         * @since 3.5.0
+         */
+        public Builder databaseQueryClass(@NotNull Class<? extends IDatabaseQuery> databaseQueryClass) {
+            this.dataSourceConfig.databaseQueryClass = databaseQueryClass;
+            return this;
+        }
+
         /**
          * 设置数据库schema
          *
@@ -340,6 +427,61 @@ public class DataSourceConfig {
             return this;
         }
 
+        /**
+         * 设置读取表元数据的并发数，大于1时使用多个连接并发查询表字段
+         *
+         * @param parallelism 并发数(连接数)
+         * @return this
+         * @since 3.5.0
+         */
+        public Builder parallelism(int parallelism) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("并发数不能小于1");
+            }
+            this.dataSourceConfig.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * 开启元数据磁盘缓存，表结构未变化时直接使用缓存的表与字段信息
+         *
+         * @param dir 缓存目录
+         * @return this
+         * @since 3.5.0
+         */
+        public Builder metaDataCache(@NotNull String dir) {
+            this.dataSourceConfig.metaDataCacheDir = dir;
+            return this;
+        }
+
+        /**
+         * 开启根据 JDBC 元数据类型转换字段类型，无法确定的类型使用类型转换器按字段类型转换
+         *
+         * @return this
+         * @see JdbcTypeConvert
+         * @since 3.5.0
+         */
+        public Builder enableJdbcTypeConvert() {
+            this.dataSourceConfig.jdbcTypeConvert = true;
+            return this;
+        }
+
+        /**
+         * 设置查询元数据时每次从数据库获取的记录数，表字段较多时可减少网络往返
+         *
+         * @param fetchSize 记录数(0 表示使用驱动默认值)
+         * @return this
+         * @see java.sql.Statement#setFetchSize(int)
+         * @since 3.5.0
+         */
+        public Builder fetchSize(int fetchSize) {
+            if (fetchSize < 0) {
+                throw new IllegalArgumentException("fetchSize不能小于0");
+            }
+            this.dataSourceConfig.fetchSize = fetchSize;
+            return this;
+        }
+
         /**
          * 构建数据库配置
          *
@@ -15,8 +15,10 @@
  */
 package com.baomidou.mybatisplus.generator.config;
 
+import com.baomidou.mybatisplus.core.toolkit.StringUtils;
 import com.baomidou.mybatisplus.generator.config.rules.DateType;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -73,6 +75,48 @@ public class GlobalConfig {
      */
     private Supplier<String> commentDate = () -> new SimpleDateFormat("yyyy-MM-dd").format(new Date());
 
+    /**
+     * 增量生成状态文件
+     *
+     * @since 3.5.0
+     */
+    private String incrementalStateFile;
+
+    /**
+     * 流式处理队列大小(0表示不开启)
+     *
+     * @since 3.5.0
+     */
+    private int streamingQueueSize;
+
+    /**
+     * 生成文件的线程数
+     *
+     * @since 3.5.0
+     */
+    private int outputThreads = 1;
+
+    /**
+     * 异步写入文件的线程数(0 表示在渲染线程同步写入)
+     *
+     * @since 3.5.0
+     */
+    private int writeThreads;
+
+    /**
+     * 是否先写入临时文件再原子替换目标文件
+     *
+     * @since 3.5.0
+     */
+    private boolean atomicWrite;
+
+    /**
+     * 是否在生成结束时将写入的文件同步到磁盘
+     *
+     * @since 3.5.0
+     */
+    private boolean syncOnFinish;
+
     private GlobalConfig() {
         // 不推荐使用
     }
@@ -111,6 +155,39 @@ public class GlobalConfig {
         return commentDate.get();
     }
 
+    @Nullable
+    public String getIncrementalStateFile() {
+        return incrementalStateFile;
+    }
+
+    public boolean isIncremental() {
+        return StringUtils.isNotBlank(incrementalStateFile);
+    }
+
+    public int getStreamingQueueSize() {
+        return streamingQueueSize;
+    }
+
+    public boolean isStreaming() {
+        return streamingQueueSize > 0;
+    }
+
+    public int getOutputThreads() {
+        return outputThreads;
+    }
+
+    public int getWriteThreads() {
+        return writeThreads;
+    }
+
+    public boolean isAtomicWrite() {
+        return atomicWrite;
+    }
+
+    public boolean isSyncOnFinish() {
+        return syncOnFinish;
+    }
+
     /**
      * 全局配置构建
      *
@@ -193,6 +270,86 @@ public class GlobalConfig {
             return commentDate(() -> new SimpleDateFormat(pattern).format(new Date()));
         }
 
+        /**
+         * 开启增量生成，只生成新增或表结构有变化的表(需数据库支持表结构指纹查询)
+         * <p>生成成功后状态保存到指定文件，删除该文件即可重新生成所有表</p>
+         *
+         * @param stateFile 状态文件
+         * @return this
+         * @since 3.5.0
+         */
+        public Builder enableIncremental(@NotNull String stateFile) {
+            this.globalConfig.incrementalStateFile = stateFile;
+            return this;
+        }
+
+        /**
+         * 开启流式处理，读取表信息与生成文件同时进行，文件生成后即释放表信息
+         *
+         * @param queueSize 等待生成文件的表数量上限
+         * @return this
+         * @since 3.5.0
+         */
+        public Builder enableStreaming(int queueSize) {
+            if (queueSize < 1) {
+                throw new IllegalArgumentException("队列大小不能小于1");
+            }
+            this.globalConfig.streamingQueueSize = queueSize;
+            return this;
+        }
+
+        /**
+         * 多线程生成文件，按表与文件并行渲染输出
+         *
+         * @param threads 线程数
+         * @return this
+         * @since 3.5.0
+         */
+        public Builder parallelOutput(int threads) {
+            if (threads < 1) {
+                throw new IllegalArgumentException("线程数不能小于1");
+            }
+            this.globalConfig.outputThreads = threads;
+            return this;
+        }
+
+        /**
+         * 异步写入文件，渲染完成的文件交由独立的写入线程池写入
+         *
+         * @param threads 线程数
+         * @return this
+         * @since 3.5.0
+         */
+        public Builder asyncWrite(int threads) {
+            if (threads < 1) {
+                throw new IllegalArgumentException("线程数不能小于1");
+            }
+            this.globalConfig.writeThreads = threads;
+            return this;
+        }
+
+        /**
+         * 开启原子写入，先写入同目录临时文件再重命名替换，中途异常不会留下写了一半的文件
+         *
+         * @return this
+         * @since 3.5.0
+         */
+        public Builder enableAtomicWrite() {
+            this.globalConfig.atomicWrite = true;
+            return this;
+        }
+
+        /**
+         * 生成结束时将本次写入的文件统一同步到磁盘
+         *
+         * @return this
+         * @since 3.5.0
+         */
+        public Builder enableSyncOnFinish() {
+            this.globalConfig.syncOnFinish = true;
+            return this;
+        }
+
         @Override
         public GlobalConfig build() {
             return this.globalConfig;
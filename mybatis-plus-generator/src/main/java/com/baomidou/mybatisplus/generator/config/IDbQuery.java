@@ -35,6 +35,17 @@ public interface IDbQuery {
      */
     String tableFieldsSql();
 
+    /**
+     * 使用绑定参数的表字段信息查询 SQL
+     * <p>表名使用唯一的 {@code ?} 参数绑定，schema 可使用 {@code #schema} 占位，字段列名需与 {@link #tableFieldsSql()} 保持一致。
+     * 同一连接只预编译一次，逐表查询时重复执行。返回 null 表示使用 {@link #tableFieldsSql()} 拼接表名。</p>
+     *
+     * @since 3.5.0
+     */
+    default String tableFieldsPreparedSql() {
+        return null;
+    }
+
     /**
      * 表名称
      */
@@ -78,4 +89,59 @@ public interface IDbQuery {
      * 自定义字段名称
      */
     String[] fieldCustom();
+
+    /**
+     * 批量表字段信息查询 SQL
+     * <p>一次查询返回所有表的字段信息，结果需包含 {@link #fieldTableName()} 列并按表名排序，
+     * 字段列名需与 {@link #tableFieldsSql()} 保持一致，需要 schema 时使用 {@code #schema} 占位(作为绑定参数，不需要引号)，
+     * 不支持其他绑定参数。返回 null 表示不支持批量查询。</p>
+     *
+     * @since 3.5.0
+     */
+    default String bulkTableFieldsSql() {
+        return null;
+    }
+
+    /**
+     * 批量表字段信息查询结果中的表名称
+     *
+     * @since 3.5.0
+     */
+    default String fieldTableName() {
+        return "TABLE_NAME";
+    }
+
+    /**
+     * 批量主键字段查询 SQL
+     * <p>第一列为表名，第二列为主键字段名，一次查询所有表的主键字段。
+     * 适用于表字段查询结果中无法判断主键的数据库，返回 null 表示使用 {@link #fieldKey()} 判断主键。</p>
+     *
+     * @since 3.5.0
+     */
+    default String primaryKeysSql() {
+        return null;
+    }
+
+    /**
+     * 表结构指纹查询 SQL
+     * <p>第一列为表名，第二列为表结构指纹(表结构或注释变化时指纹需随之变化)，用于判断元数据缓存是否有效。
+     * schema 可使用 {@code #schema} 占位(作为绑定参数，不需要引号)。返回 null 表示不支持。</p>
+     *
+     * @since 3.5.0
+     */
+    default String fingerprintSql() {
+        return null;
+    }
+
+    /**
+     * 表结构变化探测 SQL
+     * <p>开销远小于 {@link #fingerprintSql()} 的查询(如表数量与最后修改时间)，结果变化时才需要查询表结构指纹，
+     * schema 可使用 {@code #schema} 占位(作为绑定参数，不需要引号)。不支持表结构指纹查询时以探测结果作为整个 schema 的指纹。
+     * 返回 null 表示不支持。</p>
+     *
+     * @since 3.5.0
+     */
+    default String changeProbeSql() {
+        return null;
+    }
 }
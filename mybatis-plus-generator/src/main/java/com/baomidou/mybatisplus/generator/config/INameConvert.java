@@ -17,10 +17,12 @@ package com.baomidou.mybatisplus.generator.config;
 
 import com.baomidou.mybatisplus.generator.config.po.TableField;
 import com.baomidou.mybatisplus.generator.config.po.TableInfo;
+import com.baomidou.mybatisplus.generator.config.rules.AffixTrie;
 import com.baomidou.mybatisplus.generator.config.rules.NamingStrategy;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 名称转换接口类
@@ -57,36 +59,63 @@ public interface INameConvert {
      */
     class DefaultNameConvert implements INameConvert {
 
+        /**
+         * 缓存的最大属性名称数,超出后不再缓存
+         */
+        private static final int MAX_CACHE_SIZE = 4096;
+
         private final StrategyConfig strategyConfig;
 
+        /**
+         * 字段名称->属性名称 (id、create_time 等字段在各表中重复出现)
+         */
+        private final transient Map<String, String> propertyNameCache = new ConcurrentHashMap<>();
+
+        private transient volatile AffixTrie[] affixTries;
+
         public DefaultNameConvert(StrategyConfig strategyConfig) {
             this.strategyConfig = strategyConfig;
         }
 
         @Override
         public @NotNull String entityNameConvert(@NotNull TableInfo tableInfo) {
-            return NamingStrategy.capitalFirst(processName(tableInfo.getName(), strategyConfig.entity().getNaming(), strategyConfig.getTablePrefix(), strategyConfig.getTablePrefix()));
+            AffixTrie[] affixTries = getAffixTries();
+            return NamingStrategy.capitalFirst(processName(tableInfo.getName(), strategyConfig.entity().getNaming(), affixTries[0], affixTries[1]));
         }
 
         @Override
         public @NotNull String propertyNameConvert(@NotNull TableField field) {
-            return processName(field.getName(), strategyConfig.entity().getColumnNaming(), strategyConfig.getFieldPrefix(), strategyConfig.getFieldSuffix());
+            String name = field.getName();
+            String propertyName = propertyNameCache.get(name);
+            if (propertyName == null) {
+                AffixTrie[] affixTries = getAffixTries();
+                propertyName = processName(name, strategyConfig.entity().getColumnNaming(), affixTries[2], affixTries[3]);
+                if (propertyNameCache.size() < MAX_CACHE_SIZE) {
+                    propertyNameCache.put(name, propertyName);
+                }
+            }
+            return propertyName;
+        }
+
+        /**
+         * 首次转换时编译前后缀 (表前缀,表前缀作为后缀,字段前缀,字段后缀)
+         */
+        private AffixTrie[] getAffixTries() {
+            AffixTrie[] affixTries = this.affixTries;
+            if (affixTries == null) {
+                affixTries = new AffixTrie[]{AffixTrie.prefix(strategyConfig.getTablePrefix()), AffixTrie.suffix(strategyConfig.getTablePrefix()),
+                    AffixTrie.prefix(strategyConfig.getFieldPrefix()), AffixTrie.suffix(strategyConfig.getFieldSuffix())};
+                this.affixTries = affixTries;
+            }
+            return affixTries;
         }
 
-        private String processName(String name, NamingStrategy strategy, Set<String> prefix, Set<String> suffix) {
+        private String processName(String name, NamingStrategy strategy, AffixTrie prefix, AffixTrie suffix) {
             String propertyName;
-            if (prefix.size() > 0) {
+            if (!prefix.isEmpty()) {
                 if (strategy == NamingStrategy.underline_to_camel) {
-                    // 删除前缀、下划线转驼峰
-                    if (suffix != null && !suffix.isEmpty()){
-                        // 删除前缀
-                        propertyName = NamingStrategy.removePrefix(name, prefix);
-                        // 删除后缀、下划线转驼峰
-                        propertyName = NamingStrategy.removeSuffixAndCamel(propertyName, suffix);
-                    }else {
-                        // 删除前缀、下划线转驼峰
-                        propertyName = NamingStrategy.removePrefixAndCamel(name, prefix);
-                    }
+                    // 删除前缀、删除后缀、下划线转驼峰
+                    propertyName = NamingStrategy.underlineToCamel(NamingStrategy.removeSuffix(NamingStrategy.removePrefix(name, prefix), suffix));
                 } else {
                     // 删除前缀
                     propertyName = NamingStrategy.removePrefix(name, prefix);
@@ -89,6 +89,13 @@ public class StrategyConfig {
      */
     private LikeTable notLikeTable;
 
+    /**
+     * 表名过滤,首次使用时编译,配置变化时重置
+     *
+     * @since 3.5.0
+     */
+    private transient volatile TableFilter tableFilter;
+
     private StrategyConfig() {
         // 不推荐使用
     }
@@ -251,7 +258,7 @@ public class StrategyConfig {
      * @since 3.5.0
      */
     public boolean matchIncludeTable(@NotNull String tableName) {
-        return matchTable(tableName, this.getInclude());
+        return getTableFilter().matchInclude(tableName);
     }
 
     /**
@@ -262,30 +269,23 @@ public class StrategyConfig {
      * @since 3.5.0
      */
     public boolean matchExcludeTable(@NotNull String tableName) {
-        return matchTable(tableName, this.getExclude());
+        return getTableFilter().matchExclude(tableName);
     }
 
     /**
-     * 表名匹配
+     * 获取表名过滤
      *
-     * @param tableName   表名
-     * @param matchTables 匹配集合
-     * @return 是否匹配
+     * @return 表名过滤
      * @since 3.5.0
      */
-    private boolean matchTable(@NotNull String tableName, @NotNull Set<String> matchTables) {
-        return matchTables.stream().anyMatch(t -> tableNameMatches(t, tableName));
-    }
-
-    /**
-     * 表名匹配
-     *
-     * @param matchTableName 匹配表名
-     * @param dbTableName    数据库表名
-     * @return 是否匹配
-     */
-    private boolean tableNameMatches(@NotNull String matchTableName, @NotNull String dbTableName) {
-        return matchTableName.equalsIgnoreCase(dbTableName) || StringUtils.matches(matchTableName, dbTableName);
+    @NotNull
+    public TableFilter getTableFilter() {
+        TableFilter tableFilter = this.tableFilter;
+        if (tableFilter == null) {
+            tableFilter = new TableFilter(this);
+            this.tableFilter = tableFilter;
+        }
+        return tableFilter;
     }
 
     public boolean isCapitalMode() {
@@ -384,11 +384,13 @@ public class StrategyConfig {
 
         public Builder likeTable(@NotNull LikeTable likeTable) {
             this.strategyConfig.likeTable = likeTable;
+            this.strategyConfig.tableFilter = null;
             return this;
         }
 
         public Builder notLikeTable(@NotNull LikeTable notLikeTable) {
             this.strategyConfig.notLikeTable = notLikeTable;
+            this.strategyConfig.tableFilter = null;
             return this;
         }
 
@@ -413,6 +415,7 @@ public class StrategyConfig {
          */
         public Builder addInclude(@NotNull String... include) {
             this.strategyConfig.include.addAll(Arrays.asList(include));
+            this.strategyConfig.tableFilter = null;
             return this;
         }
 
@@ -425,6 +428,7 @@ public class StrategyConfig {
          */
         public Builder addExclude(@NotNull String... exclude) {
             this.strategyConfig.exclude.addAll(Arrays.asList(exclude));
+            this.strategyConfig.tableFilter = null;
             return this;
         }
 
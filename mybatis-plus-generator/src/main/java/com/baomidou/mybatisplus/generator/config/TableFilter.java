@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2011-2021, baomidou (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.baomidou.mybatisplus.generator.config;
+
+import com.baomidou.mybatisplus.core.toolkit.StringPool;
+import com.baomidou.mybatisplus.generator.config.builder.ConfigBuilder;
+import com.baomidou.mybatisplus.generator.config.po.LikeTable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 表名过滤
+ * <p>
+ * 由 include/exclude/likeTable/notLikeTable 配置编译一次:
+ * 表名(忽略大小写)放入哈希集合,正则表达式合并为一个预编译的表达式,每张表只需一次哈希查找与一次匹配.
+ *
+ * @since 3.5.0
+ */
+public class TableFilter {
+
+    private static final Pattern BACK_REFERENCE = Pattern.compile("\\\\([1-9]|k<)");
+
+    /**
+     * 加入过滤条件的每个 IN 列表的最大表名数量 (Oracle 单个 IN 列表最多 1000 项)
+     */
+    private static final int MAX_IN_SIZE = 1000;
+
+    private final NameMatcher include;
+
+    private final NameMatcher exclude;
+
+    private final Pattern like;
+
+    private final Pattern notLike;
+
+    private final String likeValue;
+
+    private final String notLikeValue;
+
+    public TableFilter(@NotNull StrategyConfig strategyConfig) {
+        this.include = NameMatcher.compile(strategyConfig.getInclude());
+        this.exclude = NameMatcher.compile(strategyConfig.getExclude());
+        this.likeValue = likeValue(strategyConfig.getLikeTable());
+        this.notLikeValue = likeValue(strategyConfig.getNotLikeTable());
+        this.like = likeToPattern(likeValue);
+        this.notLike = likeToPattern(notLikeValue);
+    }
+
+    /**
+     * 是否需要处理的表
+     *
+     * @param tableName 表名
+     * @return 是否需要处理
+     */
+    public boolean accept(@NotNull String tableName) {
+        if (like != null && !like.matcher(tableName).matches()) {
+            return false;
+        }
+        if (notLike != null && notLike.matcher(tableName).matches()) {
+            return false;
+        }
+        if (!include.isEmpty()) {
+            return include.matches(tableName);
+        }
+        return exclude.isEmpty() || !exclude.matches(tableName);
+    }
+
+    /**
+     * 包含表名匹配
+     *
+     * @param tableName 表名
+     * @return 是否匹配
+     */
+    public boolean matchInclude(@NotNull String tableName) {
+        return include.matches(tableName);
+    }
+
+    /**
+     * 排除表名匹配
+     *
+     * @param tableName 表名
+     * @return 是否匹配
+     */
+    public boolean matchExclude(@NotNull String tableName) {
+        return exclude.matches(tableName);
+    }
+
+    /**
+     * 获取配置中不含正则的表名 (包含表或排除表)
+     *
+     * @return 小写表名->配置表名
+     */
+    @NotNull
+    public Map<String, String> getTableNames() {
+        return include.isEmpty() ? exclude.names : include.names;
+    }
+
+    /**
+     * 生成可由数据库执行的过滤条件 (表名不区分大小写, 其他条件仍由 {@link #accept(String)} 过滤)
+     * <p>
+     * 各数据库 LIKE 的默认转义字符不同, 含 \ 转义的 LIKE 条件中被转义的字符替换为 _ (查询结果为超集),
+     * 含转义的 NOT LIKE 条件不加入; 包含表按每组最多 1000 个表名拆分为多个 IN 条件.
+     *
+     * @param tableNameColumn 表名字段
+     * @return 过滤条件, 无条件时返回空字符串
+     */
+    @NotNull
+    public String toSqlCondition(@NotNull String tableNameColumn) {
+        String column = "UPPER(" + tableNameColumn + ")";
+        StringBuilder sql = new StringBuilder();
+        if (likeValue != null) {
+            sql.append(" AND ").append(column).append(" LIKE ").append(quote(likeValue.replaceAll("\\\\(.|$)", "_")));
+        } else if (notLikeValue != null && notLikeValue.indexOf('\\') < 0) {
+            sql.append(" AND ").append(column).append(" NOT LIKE ").append(quote(notLikeValue));
+        }
+        // 包含正则表达式时无法确定表名范围; 排除表仍需查询出来用于检查配置的表是否存在
+        if (isIncludeFiltered()) {
+            List<String> names = new ArrayList<>(include.names.keySet());
+            sql.append(" AND ");
+            if (names.size() > MAX_IN_SIZE) {
+                sql.append("(");
+            }
+            for (int i = 0; i < names.size(); i += MAX_IN_SIZE) {
+                if (i > 0) {
+                    sql.append(" OR ");
+                }
+                sql.append(column).append(" IN (").append(quote(names.subList(i, Math.min(i + MAX_IN_SIZE, names.size())))).append(")");
+            }
+            if (names.size() > MAX_IN_SIZE) {
+                sql.append(")");
+            }
+        }
+        return sql.toString();
+    }
+
+    /**
+     * 包含表是否会加入 {@link #toSqlCondition(String)} 生成的过滤条件 (配置了包含表且不含正则)
+     *
+     * @return 是否加入包含表过滤条件
+     */
+    public boolean isIncludeFiltered() {
+        return !include.isEmpty() && !include.hasPattern();
+    }
+
+    private static String quote(List<String> values) {
+        return values.stream().map(TableFilter::quote).collect(Collectors.joining(StringPool.COMMA));
+    }
+
+    private static String quote(String value) {
+        return "'" + value.toUpperCase(Locale.ROOT).replace("'", "''") + "'";
+    }
+
+    @Nullable
+    private static String likeValue(@Nullable LikeTable likeTable) {
+        return likeTable == null ? null : likeTable.getValue();
+    }
+
+    /**
+     * LIKE 表达式转换为正则表达式(忽略大小写), % 匹配任意字符, _ 匹配单个字符, \ 转义
+     */
+    @Nullable
+    private static Pattern likeToPattern(@Nullable String like) {
+        if (like == null) {
+            return null;
+        }
+        StringBuilder regex = new StringBuilder(like.length() + 8);
+        for (int i = 0; i < like.length(); i++) {
+            char c = like.charAt(i);
+            if (c == '%') {
+                regex.append(".*");
+            } else if (c == '_') {
+                regex.append('.');
+            } else {
+                if (c == '\\' && i + 1 < like.length()) {
+                    c = like.charAt(++i);
+                }
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.DOTALL);
+    }
+
+    /**
+     * 表名匹配 (表名忽略大小写或正则表达式匹配)
+     */
+    private static class NameMatcher {
+
+        private static final NameMatcher EMPTY = new NameMatcher(Collections.emptySet(), Collections.emptyMap(), null, Collections.emptyList());
+
+        /**
+         * 所有配置项的小写表名
+         */
+        private final Set<String> lowerCaseNames;
+
+        /**
+         * 不含正则的配置项 (小写表名->配置表名)
+         */
+        private final Map<String, String> names;
+
+        /**
+         * 合并后的正则表达式
+         */
+        private final Pattern pattern;
+
+        /**
+         * 含反向引用的表达式,合并后分组序号会变化,单独匹配
+         */
+        private final List<Pattern> patterns;
+
+        private NameMatcher(Set<String> lowerCaseNames, Map<String, String> names, Pattern pattern, List<Pattern> patterns) {
+            this.lowerCaseNames = lowerCaseNames;
+            this.names = names;
+            this.pattern = pattern;
+            this.patterns = patterns;
+        }
+
+        private static NameMatcher compile(Set<String> tables) {
+            if (tables.isEmpty()) {
+                return EMPTY;
+            }
+            Set<String> lowerCaseNames = new HashSet<>();
+            Map<String, String> names = new LinkedHashMap<>();
+            List<String> regexList = new ArrayList<>();
+            List<Pattern> patterns = new ArrayList<>();
+            for (String table : tables) {
+                String lowerCaseName = table.toLowerCase(Locale.ROOT);
+                lowerCaseNames.add(lowerCaseName);
+                if (!ConfigBuilder.matcherRegTable(table)) {
+                    names.put(lowerCaseName, table);
+                    continue;
+                }
+                Pattern pattern = Pattern.compile(table);
+                if (BACK_REFERENCE.matcher(table).find()) {
+                    patterns.add(pattern);
+                } else {
+                    regexList.add("(?:" + table + ")");
+                }
+            }
+            Pattern pattern = regexList.isEmpty() ? null : Pattern.compile(String.join("|", regexList));
+            return new NameMatcher(lowerCaseNames, Collections.unmodifiableMap(names), pattern, patterns);
+        }
+
+        private boolean isEmpty() {
+            return this == EMPTY;
+        }
+
+        private boolean hasPattern() {
+            return pattern != null || !patterns.isEmpty();
+        }
+
+        private boolean matches(String tableName) {
+            if (lowerCaseNames.contains(tableName.toLowerCase(Locale.ROOT))) {
+                return true;
+            }
+            if (pattern != null && pattern.matcher(tableName).matches()) {
+                return true;
+            }
+            for (Pattern p : patterns) {
+                if (p.matcher(tableName).matches()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
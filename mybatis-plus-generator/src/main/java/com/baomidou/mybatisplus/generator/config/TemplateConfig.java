@@ -49,6 +49,13 @@ public class TemplateConfig {
 
     private String controller;
 
+    /**
+     * 是否检查模板文件修改时间(已编译模板在进程内缓存,开启后自定义模板修改可即时生效)
+     *
+     * @since 3.5.0
+     */
+    private boolean modifiedCheck;
+
     /**
      * 不对外爆露
      */
@@ -157,6 +164,10 @@ public class TemplateConfig {
         return controller;
     }
 
+    public boolean isModifiedCheck() {
+        return modifiedCheck;
+    }
+
     /**
      * 模板路径配置构建者
      *
@@ -263,6 +274,17 @@ public class TemplateConfig {
             return this;
         }
 
+        /**
+         * 开启模板修改检查
+         *
+         * @return this
+         * @since 3.5.0
+         */
+        public Builder enableModifiedCheck() {
+            this.templateConfig.modifiedCheck = true;
+            return this;
+        }
+
         /**
          * 构建模板配置对象
          *
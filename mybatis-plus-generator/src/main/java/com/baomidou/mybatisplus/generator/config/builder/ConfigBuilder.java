@@ -15,13 +15,17 @@
  */
 package com.baomidou.mybatisplus.generator.config.builder;
 
+import com.baomidou.mybatisplus.generator.GeneratorSession;
 import com.baomidou.mybatisplus.generator.IDatabaseQuery;
+import com.baomidou.mybatisplus.generator.cache.ConfigDigest;
+import com.baomidou.mybatisplus.generator.cache.IncrementalState;
 import com.baomidou.mybatisplus.generator.config.*;
 import com.baomidou.mybatisplus.generator.config.po.TableInfo;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 
 /**
@@ -55,6 +59,18 @@ public class ConfigBuilder {
      * 注入配置信息
      */
     private InjectionConfig injectionConfig;
+    /**
+     * 增量生成状态
+     */
+    private IncrementalState incrementalState;
+    /**
+     * 内存中的增量生成状态(小写表名->表结构指纹)
+     */
+    private Map<String, String> memoryIncrementalState;
+    /**
+     * 生成会话
+     */
+    private GeneratorSession session;
     /**
      * 过滤正则
      */
@@ -118,6 +134,24 @@ public class ConfigBuilder {
         return this;
     }
 
+    /**
+     * 设置生成会话，由会话提供数据库连接与元数据缓存
+     *
+     * @param session 生成会话
+     * @return this
+     * @since 3.5.0
+     */
+    @NotNull
+    public ConfigBuilder setSession(@Nullable GeneratorSession session) {
+        this.session = session;
+        return this;
+    }
+
+    @Nullable
+    public GeneratorSession getSession() {
+        return session;
+    }
+
     @NotNull
     public TemplateConfig getTemplateConfig() {
         return templateConfig;
@@ -126,8 +160,7 @@ public class ConfigBuilder {
     @NotNull
     public List<TableInfo> getTableInfoList() {
         if (tableInfoList.isEmpty()) {
-            // TODO 暂时不开放自定义
-            List<TableInfo> tableInfos = new IDatabaseQuery.DefaultDatabaseQuery(this).queryTables();
+            List<TableInfo> tableInfos = createDatabaseQuery().queryTables();
             if (!tableInfos.isEmpty()) {
                 this.tableInfoList.addAll(tableInfos);
             }
@@ -135,6 +168,99 @@ public class ConfigBuilder {
         return tableInfoList;
     }
 
+    /**
+     * 创建表与字段信息获取实现
+     *
+     * @return 表与字段信息获取实现
+     * @see DataSourceConfig.Builder#databaseQueryClass(Class)
+     */
+    @NotNull
+    private IDatabaseQuery createDatabaseQuery() {
+        Class<? extends IDatabaseQuery> databaseQueryClass = dataSourceConfig.getDatabaseQueryClass();
+        if (IDatabaseQuery.DefaultDatabaseQuery.class == databaseQueryClass) {
+            return new IDatabaseQuery.DefaultDatabaseQuery(this);
+        }
+        try {
+            return databaseQueryClass.getConstructor(ConfigBuilder.class).newInstance(this);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("创建[" + databaseQueryClass.getName() + "]失败,需提供(ConfigBuilder)构造方法", e);
+        }
+    }
+
+    /**
+     * 流式获取表信息，表信息不会保留在 {@link #getTableInfoList()} 中
+     *
+     * @param consumer 表信息处理
+     * @since 3.5.0
+     */
+    public void queryTableInfo(@NotNull Consumer<TableInfo> consumer) {
+        if (tableInfoList.isEmpty()) {
+            createDatabaseQuery().queryTables(consumer);
+        } else {
+            tableInfoList.forEach(consumer);
+        }
+    }
+
+    /**
+     * 获取增量生成状态
+     *
+     * @return 未开启增量生成时返回 null
+     * @since 3.5.0
+     */
+    @Nullable
+    public IncrementalState getIncrementalState() {
+        if (incrementalState == null) {
+            if (globalConfig.isIncremental()) {
+                incrementalState = new IncrementalState(globalConfig.getIncrementalStateFile(), getConfigDigest());
+            } else if (memoryIncrementalState != null) {
+                incrementalState = new IncrementalState(memoryIncrementalState, getConfigDigest());
+            }
+        }
+        return incrementalState;
+    }
+
+    /**
+     * 设置内存中的增量生成状态，未开启增量生成({@link GlobalConfig.Builder#enableIncremental(String)})时生效，
+     * 多次生成之间只生成新增或表结构变化的表(如监听模式)
+     *
+     * @param memoryIncrementalState 增量生成状态，生成成功后更新
+     * @return this
+     * @since 3.5.0
+     */
+    @NotNull
+    public ConfigBuilder setIncrementalState(@Nullable Map<String, String> memoryIncrementalState) {
+        this.memoryIncrementalState = memoryIncrementalState;
+        this.incrementalState = null;
+        return this;
+    }
+
+    /**
+     * 获取生成配置摘要(影响生成内容的全局配置、包、策略、模板及注入配置与模板内容)
+     *
+     * @return 配置摘要
+     * @since 3.5.0
+     */
+    @NotNull
+    public String getConfigDigest() {
+        return new ConfigDigest().addConfig(globalConfig.getOutputDir()).addConfig(globalConfig.getAuthor())
+            .addConfig(globalConfig.isKotlin()).addConfig(globalConfig.isSwagger()).addConfig(globalConfig.getDateType())
+            .addConfig(packageConfig).addConfig(strategyConfig)
+            .addConfig(templateConfig).addConfig(injectionConfig)
+            .addTemplate(templateConfig.getEntity(globalConfig.isKotlin())).addTemplate(templateConfig.getService())
+            .addTemplate(templateConfig.getServiceImpl()).addTemplate(templateConfig.getMapper())
+            .addTemplate(templateConfig.getXml()).addTemplate(templateConfig.getController()).digest();
+    }
+
+    /**
+     * 清除已获取的表信息与增量生成状态，下次生成时重新读取数据库
+     *
+     * @since 3.5.0
+     */
+    public void refresh() {
+        this.tableInfoList.clear();
+        this.incrementalState = null;
+    }
+
     @NotNull
     public Map<OutputFile, String> getPathInfo() {
         return pathInfo;
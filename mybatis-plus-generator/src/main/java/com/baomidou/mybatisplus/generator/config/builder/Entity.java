@@ -26,6 +26,8 @@ import com.baomidou.mybatisplus.generator.config.INameConvert;
 import com.baomidou.mybatisplus.generator.config.StrategyConfig;
 import com.baomidou.mybatisplus.generator.config.po.TableInfo;
 import com.baomidou.mybatisplus.generator.config.rules.NamingStrategy;
+import com.baomidou.mybatisplus.generator.fill.Column;
+import com.baomidou.mybatisplus.generator.fill.Property;
 import com.baomidou.mybatisplus.generator.function.ConverterFileName;
 import com.baomidou.mybatisplus.generator.util.ClassUtils;
 import org.jetbrains.annotations.NotNull;
@@ -176,6 +178,13 @@ public class Entity implements ITemplate {
      */
     private ConverterFileName converterFileName = (entityName -> entityName);
 
+    /**
+     * 字段规则索引,首次匹配时构建,配置变化时重置
+     *
+     * @since 3.5.0
+     */
+    private transient volatile ColumnRuleIndex columnRuleIndex;
+
     /**
      * <p>
      * 父类 Class 反射属性转换为公共字段
@@ -199,6 +208,7 @@ public class Entity implements ITemplate {
             }
             return StringUtils.camelToUnderline(field.getName());
         }).collect(Collectors.toSet()));
+        this.columnRuleIndex = null;
     }
 
     public Set<String> getSuperEntityColumns() {
@@ -220,7 +230,7 @@ public class Entity implements ITemplate {
      */
     public boolean matchSuperEntityColumns(String fieldName) {
         // 公共字段判断忽略大小写【 部分数据库大小写不敏感 】
-        return superEntityColumns.stream().anyMatch(e -> e.equalsIgnoreCase(fieldName));
+        return getColumnRule(fieldName).isSuperEntityColumn();
     }
 
     /**
@@ -231,7 +241,40 @@ public class Entity implements ITemplate {
      * @since 3.5.0
      */
     public boolean matchIgnoreColumns(String fieldName) {
-        return ignoreColumns.stream().anyMatch(e -> e.equalsIgnoreCase(fieldName));
+        return getColumnRule(fieldName).isIgnore();
+    }
+
+    /**
+     * 获取数据库字段规则(忽略大小写)
+     *
+     * @param columnName 字段名
+     * @return 字段规则
+     * @since 3.5.0
+     */
+    @NotNull
+    public ColumnRule getColumnRule(@NotNull String columnName) {
+        return getColumnRuleIndex().columns.getOrDefault(columnName.toLowerCase(Locale.ROOT), ColumnRule.NONE);
+    }
+
+    /**
+     * 获取实体属性规则
+     *
+     * @param propertyName 属性名
+     * @return 属性规则
+     * @since 3.5.0
+     */
+    @NotNull
+    public ColumnRule getPropertyRule(@NotNull String propertyName) {
+        return getColumnRuleIndex().properties.getOrDefault(propertyName, ColumnRule.NONE);
+    }
+
+    private ColumnRuleIndex getColumnRuleIndex() {
+        ColumnRuleIndex columnRuleIndex = this.columnRuleIndex;
+        if (columnRuleIndex == null) {
+            columnRuleIndex = new ColumnRuleIndex(this);
+            this.columnRuleIndex = columnRuleIndex;
+        }
+        return columnRuleIndex;
     }
 
     @NotNull
@@ -330,6 +373,110 @@ public class Entity implements ITemplate {
         return data;
     }
 
+    /**
+     * 字段规则(忽略字段、父类公共字段、填充、乐观锁、逻辑删除)
+     *
+     * @since 3.5.0
+     */
+    public static class ColumnRule {
+
+        private static final ColumnRule NONE = new ColumnRule();
+
+        private boolean ignore;
+
+        private boolean superEntityColumn;
+
+        private boolean version;
+
+        private boolean logicDelete;
+
+        private IFill fill;
+
+        /**
+         * 填充在 {@link #getTableFillList()} 中的位置,多个填充匹配时取靠前的
+         */
+        private int fillIndex = Integer.MAX_VALUE;
+
+        private ColumnRule() {
+        }
+
+        public boolean isIgnore() {
+            return ignore;
+        }
+
+        public boolean isSuperEntityColumn() {
+            return superEntityColumn;
+        }
+
+        public boolean isVersion() {
+            return version;
+        }
+
+        public boolean isLogicDelete() {
+            return logicDelete;
+        }
+
+        @Nullable
+        public IFill getFill() {
+            return fill;
+        }
+
+        public int getFillIndex() {
+            return fillIndex;
+        }
+    }
+
+    /**
+     * 字段规则索引 (小写字段名->规则, 属性名->规则), 构建后不再修改
+     */
+    private static class ColumnRuleIndex {
+
+        private final Map<String, ColumnRule> columns = new HashMap<>();
+
+        private final Map<String, ColumnRule> properties = new HashMap<>();
+
+        private ColumnRuleIndex(Entity entity) {
+            entity.ignoreColumns.forEach(columnName -> column(columnName).ignore = true);
+            entity.superEntityColumns.forEach(columnName -> column(columnName).superEntityColumn = true);
+            if (StringUtils.isNotBlank(entity.versionColumnName)) {
+                column(entity.versionColumnName).version = true;
+            }
+            if (StringUtils.isNotBlank(entity.versionPropertyName)) {
+                property(entity.versionPropertyName).version = true;
+            }
+            if (StringUtils.isNotBlank(entity.logicDeleteColumnName)) {
+                column(entity.logicDeleteColumnName).logicDelete = true;
+            }
+            if (StringUtils.isNotBlank(entity.logicDeletePropertyName)) {
+                property(entity.logicDeletePropertyName).logicDelete = true;
+            }
+            List<IFill> tableFillList = entity.tableFillList;
+            for (int i = 0; i < tableFillList.size(); i++) {
+                IFill fill = tableFillList.get(i);
+                ColumnRule columnRule;
+                if (fill instanceof Column) {
+                    columnRule = column(fill.getName());
+                } else if (fill instanceof Property) {
+                    columnRule = property(fill.getName());
+                } else {
+                    continue;
+                }
+                if (columnRule.fill == null) {
+                    columnRule.fill = fill;
+                    columnRule.fillIndex = i;
+                }
+            }
+        }
+
+        private ColumnRule column(String columnName) {
+            return columns.computeIfAbsent(columnName.toLowerCase(Locale.ROOT), k -> new ColumnRule());
+        }
+
+        private ColumnRule property(String propertyName) {
+            return properties.computeIfAbsent(propertyName, k -> new ColumnRule());
+        }
+    }
+
     public static class Builder extends BaseBuilder {
 
         private final Entity entity = new Entity();
@@ -445,6 +592,7 @@ public class Entity implements ITemplate {
          */
         public Builder versionColumnName(String versionColumnName) {
             this.entity.versionColumnName = versionColumnName;
+            this.entity.columnRuleIndex = null;
             return this;
         }
 
@@ -456,6 +604,7 @@ public class Entity implements ITemplate {
          */
         public Builder versionPropertyName(String versionPropertyName) {
             this.entity.versionPropertyName = versionPropertyName;
+            this.entity.columnRuleIndex = null;
             return this;
         }
 
@@ -467,6 +616,7 @@ public class Entity implements ITemplate {
          */
         public Builder logicDeleteColumnName(String logicDeleteColumnName) {
             this.entity.logicDeleteColumnName = logicDeleteColumnName;
+            this.entity.columnRuleIndex = null;
             return this;
         }
 
@@ -478,6 +628,7 @@ public class Entity implements ITemplate {
          */
         public Builder logicDeletePropertyName(String logicDeletePropertyName) {
             this.entity.logicDeletePropertyName = logicDeletePropertyName;
+            this.entity.columnRuleIndex = null;
             return this;
         }
 
@@ -512,6 +663,7 @@ public class Entity implements ITemplate {
          */
         public Builder addSuperEntityColumns(@NotNull String... superEntityColumns) {
             this.entity.superEntityColumns.addAll(Arrays.asList(superEntityColumns));
+            this.entity.columnRuleIndex = null;
             return this;
         }
 
@@ -524,6 +676,7 @@ public class Entity implements ITemplate {
          */
         public Builder addIgnoreColumns(@NotNull String... ignoreColumns) {
             this.entity.ignoreColumns.addAll(Arrays.asList(ignoreColumns));
+            this.entity.columnRuleIndex = null;
             return this;
         }
 
@@ -536,6 +689,7 @@ public class Entity implements ITemplate {
          */
         public Builder addTableFills(@NotNull IFill... tableFill) {
             this.entity.tableFillList.addAll(Arrays.asList(tableFill));
+            this.entity.columnRuleIndex = null;
             return this;
         }
 
@@ -548,6 +702,7 @@ public class Entity implements ITemplate {
          */
         public Builder addTableFills(@NotNull List<IFill> tableFillList) {
             this.entity.tableFillList.addAll(tableFillList);
+            this.entity.columnRuleIndex = null;
             return this;
         }
 
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2011-2021, baomidou (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.baomidou.mybatisplus.generator.config.converts;
+
+import com.baomidou.mybatisplus.generator.config.GlobalConfig;
+import com.baomidou.mybatisplus.generator.config.ITypeConvert;
+import com.baomidou.mybatisplus.generator.config.rules.DateType;
+import com.baomidou.mybatisplus.generator.config.rules.IColumnType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 缓存转换结果的类型转换器
+ * <p>
+ * 实际表结构中字段类型大量重复,按 (日期类型, 字段类型) 缓存转换结果,线程安全.
+ * 仅适用于转换结果只取决于 {@link GlobalConfig#getDateType()} 与字段类型的转换器(内置转换器均满足).
+ *
+ * @since 3.5.0
+ */
+public class CachedTypeConvert implements ITypeConvert {
+
+    /**
+     * 单个日期类型下缓存的最大字段类型数,超出后不再缓存
+     */
+    private static final int MAX_CACHE_SIZE = 4096;
+
+    private final ITypeConvert typeConvert;
+
+    private final Map<DateType, Map<String, IColumnType>> cache = new EnumMap<>(DateType.class);
+
+    /**
+     * @param typeConvert 被缓存的转换器
+     */
+    public CachedTypeConvert(@NotNull ITypeConvert typeConvert) {
+        this.typeConvert = typeConvert;
+        for (DateType dateType : DateType.values()) {
+            cache.put(dateType, new ConcurrentHashMap<>());
+        }
+    }
+
+    @Override
+    public IColumnType processTypeConvert(@NotNull GlobalConfig globalConfig, @NotNull String fieldType) {
+        DateType dateType = globalConfig.getDateType();
+        if (dateType == null) {
+            return typeConvert.processTypeConvert(globalConfig, fieldType);
+        }
+        Map<String, IColumnType> columnTypes = cache.get(dateType);
+        IColumnType columnType = columnTypes.get(fieldType);
+        if (columnType == null) {
+            columnType = typeConvert.processTypeConvert(globalConfig, fieldType);
+            if (columnType != null && columnTypes.size() < MAX_CACHE_SIZE) {
+                columnTypes.put(fieldType, columnType);
+            }
+        }
+        return columnType;
+    }
+
+    /**
+     * 获取被缓存的转换器
+     *
+     * @return 转换器
+     */
+    @NotNull
+    public ITypeConvert getTypeConvert() {
+        return typeConvert;
+    }
+}
@@ -19,10 +19,6 @@ import com.baomidou.mybatisplus.generator.config.GlobalConfig;
 import com.baomidou.mybatisplus.generator.config.ITypeConvert;
 import com.baomidou.mybatisplus.generator.config.rules.IColumnType;
 
-import static com.baomidou.mybatisplus.generator.config.converts.TypeConverts.contains;
-import static com.baomidou.mybatisplus.generator.config.converts.TypeConverts.containsAny;
-import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.*;
-
 /**
  * DB2 字段类型转换
  *
@@ -32,25 +28,19 @@ import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.*;
 public class DB2TypeConvert implements ITypeConvert {
     public static final DB2TypeConvert INSTANCE = new DB2TypeConvert();
 
+    /**
+     * 类型映射规则
+     *
+     * @see TypeMappingRules
+     */
+    private static final TypeMappingRules RULES = TypeMappingRules.load("/type-mapping/db2.rules");
+
     /**
      * @inheritDoc
      */
     @Override
     public IColumnType processTypeConvert(GlobalConfig config, String fieldType) {
-        return TypeConverts.use(fieldType)
-            .test(containsAny("char", "text", "json", "enum").then(STRING))
-            .test(contains("bigint").then(LONG))
-            .test(contains("smallint").then(BASE_SHORT))
-            .test(contains("int").then(INTEGER))
-            .test(containsAny("date", "time", "year").then(DATE))
-            .test(contains("bit").then(BOOLEAN))
-            .test(contains("decimal").then(BIG_DECIMAL))
-            .test(contains("clob").then(CLOB))
-            .test(contains("blob").then(BLOB))
-            .test(contains("binary").then(BYTE_ARRAY))
-            .test(contains("float").then(FLOAT))
-            .test(contains("double").then(DOUBLE))
-            .or(STRING);
+        return RULES.processTypeConvert(config, fieldType);
     }
 
 }
@@ -17,13 +17,8 @@ package com.baomidou.mybatisplus.generator.config.converts;
 
 import com.baomidou.mybatisplus.generator.config.GlobalConfig;
 import com.baomidou.mybatisplus.generator.config.ITypeConvert;
-import com.baomidou.mybatisplus.generator.config.rules.DbColumnType;
 import com.baomidou.mybatisplus.generator.config.rules.IColumnType;
 
-import static com.baomidou.mybatisplus.generator.config.converts.TypeConverts.contains;
-import static com.baomidou.mybatisplus.generator.config.converts.TypeConverts.containsAny;
-import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.*;
-
 /**
  * DM 字段类型转换
  *
@@ -33,6 +28,13 @@ import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.*;
 public class DmTypeConvert implements ITypeConvert {
     public static final DmTypeConvert INSTANCE = new DmTypeConvert();
 
+    /**
+     * 类型映射规则
+     *
+     * @see TypeMappingRules
+     */
+    private static final TypeMappingRules RULES = TypeMappingRules.load("/type-mapping/dm.rules");
+
     /**
      * 字符数据类型: CHAR,CHARACTER,VARCHAR
      * <p>
@@ -54,29 +56,7 @@ public class DmTypeConvert implements ITypeConvert {
      */
     @Override
     public IColumnType processTypeConvert(GlobalConfig config, String fieldType) {
-        return TypeConverts.use(fieldType)
-            .test(containsAny("char", "text").then(STRING))
-            .test(contains("number").then(DmTypeConvert::toNumberType))
-            .test(containsAny("numeric", "dec", "money").then(BIG_DECIMAL))
-            .test(containsAny("bit", "bool").then(BOOLEAN))
-            .test(contains("bigint").then(BIG_INTEGER))
-            .test(containsAny("int", "byte").then(INTEGER))
-            .test(contains("binary").then(BYTE_ARRAY))
-            .test(contains("float").then(FLOAT))
-            .test(containsAny("double", "real").then(DOUBLE))
-            .test(containsAny("date", "time").then(DATE))
-            .test(contains("clob").then(CLOB))
-            .test(contains("blob").then(BLOB))
-            .test(contains("image").then(BYTE_ARRAY))
-            .or(STRING);
+        return RULES.processTypeConvert(config, fieldType);
     }
 
-    private static IColumnType toNumberType(String typeName) {
-        if (typeName.matches("number\\([0-9]\\)")) {
-            return DbColumnType.INTEGER;
-        } else if (typeName.matches("number\\(1[0-8]\\)")) {
-            return DbColumnType.LONG;
-        }
-        return DbColumnType.BIG_DECIMAL;
-    }
 }
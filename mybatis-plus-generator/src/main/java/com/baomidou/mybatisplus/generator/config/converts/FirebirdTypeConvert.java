@@ -20,8 +20,6 @@ import com.baomidou.mybatisplus.generator.config.ITypeConvert;
 import com.baomidou.mybatisplus.generator.config.rules.DbColumnType;
 import com.baomidou.mybatisplus.generator.config.rules.IColumnType;
 
-import static com.baomidou.mybatisplus.generator.config.converts.TypeConverts.contains;
-import static com.baomidou.mybatisplus.generator.config.converts.TypeConverts.containsAny;
 import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.*;
 
 /**
@@ -33,21 +31,19 @@ import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.*;
 public class FirebirdTypeConvert implements ITypeConvert {
     public static final FirebirdTypeConvert INSTANCE = new FirebirdTypeConvert();
 
+    /**
+     * 类型映射规则
+     *
+     * @see TypeMappingRules
+     */
+    private static final TypeMappingRules RULES = TypeMappingRules.load("/type-mapping/firebird.rules");
+
     /**
      * @inheritDoc
      */
     @Override
     public IColumnType processTypeConvert(GlobalConfig config, String fieldType) {
-        return TypeConverts.use(fieldType)
-            .test(containsAny("cstring", "text").then(STRING))
-            .test(contains("short").then(SHORT))
-            .test(contains("long").then(LONG))
-            .test(contains("float").then(FLOAT))
-            .test(contains("double").then(DOUBLE))
-            .test(contains("blob").then(BLOB))
-            .test(contains("int64").then(LONG))
-            .test(containsAny("date", "time", "year").then(t -> toDateType(config, t)))
-            .or(STRING);
+        return RULES.processTypeConvert(config, fieldType);
     }
 
     /**
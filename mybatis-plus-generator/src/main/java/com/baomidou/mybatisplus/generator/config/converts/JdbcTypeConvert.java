@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2011-2021, baomidou (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.baomidou.mybatisplus.generator.config.converts;
+
+import com.baomidou.mybatisplus.generator.config.GlobalConfig;
+import com.baomidou.mybatisplus.generator.config.ITypeConvert;
+import com.baomidou.mybatisplus.generator.config.po.TableField;
+import com.baomidou.mybatisplus.generator.config.rules.DateType;
+import com.baomidou.mybatisplus.generator.config.rules.DbColumnType;
+import com.baomidou.mybatisplus.generator.config.rules.IColumnType;
+import org.apache.ibatis.type.JdbcType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 基于 JDBC 元数据的类型转换器
+ * <p>
+ * 根据 {@link TableField.MetaInfo} 中的 {@link JdbcType} 与精度直接转换,不解析字段类型字符串,所有数据库转换规则一致.
+ * 无法确定的类型(如 MySQL tinyint(1)、位串、带时区的时间类型等)或缺少元数据时使用回退转换器按字段类型转换.
+ *
+ * @since 3.5.0
+ */
+public class JdbcTypeConvert implements ITypeConvert {
+
+    private final ITypeConvert typeConvert;
+
+    /**
+     * @param typeConvert 回退转换器
+     */
+    public JdbcTypeConvert(@NotNull ITypeConvert typeConvert) {
+        this.typeConvert = typeConvert;
+    }
+
+    @Override
+    public IColumnType processTypeConvert(@NotNull GlobalConfig globalConfig, @NotNull TableField tableField) {
+        TableField.MetaInfo metaInfo = tableField.getMetaInfo();
+        if (metaInfo != null && metaInfo.getJdbcType() != null) {
+            IColumnType columnType = toColumnType(globalConfig.getDateType(), metaInfo.getJdbcType(), metaInfo.getLength(), metaInfo.getScale());
+            if (columnType != null) {
+                return columnType;
+            }
+        }
+        return typeConvert.processTypeConvert(globalConfig, tableField);
+    }
+
+    @Override
+    public IColumnType processTypeConvert(@NotNull GlobalConfig globalConfig, @NotNull String fieldType) {
+        return typeConvert.processTypeConvert(globalConfig, fieldType);
+    }
+
+    /**
+     * 根据 JDBC 类型转换
+     *
+     * @param dateType 日期类型
+     * @param jdbcType JDBC 类型
+     * @param length   长度(精度)
+     * @param scale    小数位数
+     * @return 字段类型, 无法确定时返回 null
+     */
+    @Nullable
+    public static IColumnType toColumnType(@Nullable DateType dateType, @NotNull JdbcType jdbcType, int length, int scale) {
+        switch (jdbcType) {
+            case BOOLEAN:
+                return DbColumnType.BOOLEAN;
+            case BIT:
+                return length == 1 ? DbColumnType.BOOLEAN : null;
+            case SMALLINT:
+            case INTEGER:
+                return DbColumnType.INTEGER;
+            case BIGINT:
+                return DbColumnType.LONG;
+            case REAL:
+            case FLOAT:
+                return DbColumnType.FLOAT;
+            case DOUBLE:
+                return DbColumnType.DOUBLE;
+            case NUMERIC:
+            case DECIMAL:
+                return toNumberType(length, scale);
+            case CHAR:
+            case VARCHAR:
+            case LONGVARCHAR:
+            case NCHAR:
+            case NVARCHAR:
+            case LONGNVARCHAR:
+                return DbColumnType.STRING;
+            case CLOB:
+            case NCLOB:
+                return DbColumnType.CLOB;
+            case BLOB:
+                return DbColumnType.BLOB;
+            case BINARY:
+            case VARBINARY:
+            case LONGVARBINARY:
+                return DbColumnType.BYTE_ARRAY;
+            case DATE:
+                return toDateType(dateType, DbColumnType.DATE_SQL, DbColumnType.LOCAL_DATE);
+            case TIME:
+                return toDateType(dateType, DbColumnType.TIME, DbColumnType.LOCAL_TIME);
+            case TIMESTAMP:
+                return toDateType(dateType, DbColumnType.TIMESTAMP, DbColumnType.LOCAL_DATE_TIME);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 无小数位时按精度转换为 Integer(1~9) 或 Long(10~18),其他为 BigDecimal
+     */
+    private static IColumnType toNumberType(int length, int scale) {
+        if (scale == 0 && length > 0) {
+            if (length < 10) {
+                return DbColumnType.INTEGER;
+            }
+            if (length < 19) {
+                return DbColumnType.LONG;
+            }
+        }
+        return DbColumnType.BIG_DECIMAL;
+    }
+
+    private static IColumnType toDateType(@Nullable DateType dateType, @NotNull IColumnType sqlType, @NotNull IColumnType timeType) {
+        if (dateType == null) {
+            return null;
+        }
+        switch (dateType) {
+            case ONLY_DATE:
+                return DbColumnType.DATE;
+            case SQL_PACK:
+                return sqlType;
+            default:
+                return timeType;
+        }
+    }
+
+    /**
+     * 获取回退转换器
+     *
+     * @return 转换器
+     */
+    @NotNull
+    public ITypeConvert getTypeConvert() {
+        return typeConvert;
+    }
+}
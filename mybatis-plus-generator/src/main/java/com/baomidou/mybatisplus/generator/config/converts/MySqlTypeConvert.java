@@ -20,8 +20,8 @@ import com.baomidou.mybatisplus.generator.config.ITypeConvert;
 import com.baomidou.mybatisplus.generator.config.rules.DbColumnType;
 import com.baomidou.mybatisplus.generator.config.rules.IColumnType;
 
-import static com.baomidou.mybatisplus.generator.config.converts.TypeConverts.contains;
-import static com.baomidou.mybatisplus.generator.config.converts.TypeConverts.containsAny;
+import java.util.regex.Pattern;
+
 import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.*;
 
 /**
@@ -33,25 +33,24 @@ import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.*;
 public class MySqlTypeConvert implements ITypeConvert {
     public static final MySqlTypeConvert INSTANCE = new MySqlTypeConvert();
 
+    /**
+     * 类型映射规则
+     *
+     * @see TypeMappingRules
+     */
+    private static final TypeMappingRules RULES = TypeMappingRules.load("/type-mapping/mysql.rules");
+
+    /**
+     * 类型长度,如 datetime(6) 中的 (6)
+     */
+    private static final Pattern LENGTH_PATTERN = Pattern.compile("\\(\\d+\\)");
+
     /**
      * @inheritDoc
      */
     @Override
     public IColumnType processTypeConvert(GlobalConfig config, String fieldType) {
-        return TypeConverts.use(fieldType)
-            .test(containsAny("char", "text", "json", "enum").then(STRING))
-            .test(contains("bigint").then(LONG))
-            .test(containsAny("tinyint(1)", "bit(1)").then(BOOLEAN))
-            .test(contains("bit").then(BYTE))
-            .test(contains("int").then(INTEGER))
-            .test(contains("decimal").then(BIG_DECIMAL))
-            .test(contains("clob").then(CLOB))
-            .test(contains("blob").then(BLOB))
-            .test(contains("binary").then(BYTE_ARRAY))
-            .test(contains("float").then(FLOAT))
-            .test(contains("double").then(DOUBLE))
-            .test(containsAny("date", "time", "year").then(t -> toDateType(config, t)))
-            .or(STRING);
+        return RULES.processTypeConvert(config, fieldType);
     }
 
     /**
@@ -62,7 +61,7 @@ public class MySqlTypeConvert implements ITypeConvert {
      * @return 返回对应的列类型
      */
     public static IColumnType toDateType(GlobalConfig config, String type) {
-        String dateType = type.replaceAll("\\(\\d+\\)", "");
+        String dateType = type.indexOf('(') < 0 ? type : LENGTH_PATTERN.matcher(type).replaceAll("");
         switch (config.getDateType()) {
             case ONLY_DATE:
                 return DbColumnType.DATE;
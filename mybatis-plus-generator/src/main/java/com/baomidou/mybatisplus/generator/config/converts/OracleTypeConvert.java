@@ -20,8 +20,6 @@ import com.baomidou.mybatisplus.generator.config.ITypeConvert;
 import com.baomidou.mybatisplus.generator.config.rules.DbColumnType;
 import com.baomidou.mybatisplus.generator.config.rules.IColumnType;
 
-import static com.baomidou.mybatisplus.generator.config.converts.TypeConverts.contains;
-import static com.baomidou.mybatisplus.generator.config.converts.TypeConverts.containsAny;
 import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.*;
 
 /**
@@ -33,6 +31,13 @@ import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.*;
 public class OracleTypeConvert implements ITypeConvert {
     public static final OracleTypeConvert INSTANCE = new OracleTypeConvert();
 
+    /**
+     * 类型映射规则
+     *
+     * @see TypeMappingRules
+     */
+    private static final TypeMappingRules RULES = TypeMappingRules.load("/type-mapping/oracle.rules");
+
     /**
      * 处理类型转换
      *
@@ -42,35 +47,7 @@ public class OracleTypeConvert implements ITypeConvert {
      */
     @Override
     public IColumnType processTypeConvert(GlobalConfig config, String fieldType) {
-        return TypeConverts.use(fieldType)
-            .test(containsAny("char", "clob").then(STRING))
-            .test(containsAny("date", "timestamp").then(p -> toDateType(config)))
-            .test(contains("number").then(OracleTypeConvert::toNumberType))
-            .test(contains("float").then(FLOAT))
-            .test(contains("blob").then(BLOB))
-            .test(containsAny("binary", "raw").then(BYTE_ARRAY))
-            .or(STRING);
-    }
-
-    /**
-     * 将对应的类型名称转换为对应的 java 类类型
-     * <p>
-     * String.valueOf(Integer.MAX_VALUE).length() == 10
-     * Integer 不一定能装下 10 位的数字
-     * <p>
-     * String.valueOf(Long.MAX_VALUE).length() == 19
-     * Long 不一定能装下 19 位的数字
-     *
-     * @param typeName 类型名称
-     * @return 返回列类型
-     */
-    private static IColumnType toNumberType(String typeName) {
-        if (typeName.matches("number\\([0-9]\\)")) {
-            return DbColumnType.INTEGER;
-        } else if (typeName.matches("number\\(1[0-8]\\)")) {
-            return DbColumnType.LONG;
-        }
-        return DbColumnType.BIG_DECIMAL;
+        return RULES.processTypeConvert(config, fieldType);
     }
 
     /**
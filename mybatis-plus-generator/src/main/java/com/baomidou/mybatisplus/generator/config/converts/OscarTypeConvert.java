@@ -17,14 +17,8 @@ package com.baomidou.mybatisplus.generator.config.converts;
 
 import com.baomidou.mybatisplus.generator.config.GlobalConfig;
 import com.baomidou.mybatisplus.generator.config.ITypeConvert;
-import com.baomidou.mybatisplus.generator.config.rules.DateType;
-import com.baomidou.mybatisplus.generator.config.rules.DbColumnType;
 import com.baomidou.mybatisplus.generator.config.rules.IColumnType;
 
-import static com.baomidou.mybatisplus.generator.config.converts.TypeConverts.contains;
-import static com.baomidou.mybatisplus.generator.config.converts.TypeConverts.containsAny;
-import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.*;
-
 /**
  * KingbaseES 字段类型转换
  *
@@ -34,6 +28,13 @@ import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.*;
 public class OscarTypeConvert implements ITypeConvert {
     public static final OscarTypeConvert INSTANCE = new OscarTypeConvert();
 
+    /**
+     * 类型映射规则
+     *
+     * @see TypeMappingRules
+     */
+    private static final TypeMappingRules RULES = TypeMappingRules.load("/type-mapping/oscar.rules");
+
     /**
      * @param globalConfig 全局配置
      * @param fieldType    字段类型
@@ -41,49 +42,7 @@ public class OscarTypeConvert implements ITypeConvert {
      */
     @Override
     public IColumnType processTypeConvert(GlobalConfig globalConfig, String fieldType) {
-        return TypeConverts.use(fieldType)
-            .test(containsAny("CHARACTER", "char", "varchar", "text", "character varying").then(STRING))
-            .test(containsAny("bigint", "int8").then(LONG))
-            .test(containsAny("int", "int1", "int2", "int3", "int4", "tinyint", "integer").then(INTEGER))
-            .test(containsAny("date", "time", "timestamp").then(p -> toDateType(globalConfig, p)))
-            .test(containsAny("bit", "boolean").then(BOOLEAN))
-            .test(containsAny("decimal", "numeric", "number").then(BIG_DECIMAL))
-            .test(contains("clob").then(CLOB))
-            .test(contains("blob").then(BYTE_ARRAY))
-            .test(contains("float").then(FLOAT))
-            .test(containsAny("double", "real", "float4", "float8").then(DOUBLE))
-            .or(STRING);
-    }
-
-    /**
-     * 转换为日期类型
-     *
-     * @param config 配置信息
-     * @param type   类型
-     * @return 返回对应的列类型
-     */
-    private IColumnType toDateType(GlobalConfig config, String type) {
-        DateType dateType = config.getDateType();
-        if (dateType == DateType.SQL_PACK) {
-            switch (type) {
-                case "date":
-                    return DATE_SQL;
-                case "time":
-                    return TIME;
-                default:
-                    return TIMESTAMP;
-            }
-        } else if (dateType == DateType.TIME_PACK) {
-            switch (type) {
-                case "date":
-                    return LOCAL_DATE;
-                case "time":
-                    return LOCAL_TIME;
-                default:
-                    return LOCAL_DATE_TIME;
-            }
-        }
-        return DbColumnType.DATE;
+        return RULES.processTypeConvert(globalConfig, fieldType);
     }
 
 }
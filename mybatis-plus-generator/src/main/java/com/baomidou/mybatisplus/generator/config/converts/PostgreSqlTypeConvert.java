@@ -20,10 +20,6 @@ import com.baomidou.mybatisplus.generator.config.ITypeConvert;
 import com.baomidou.mybatisplus.generator.config.rules.DbColumnType;
 import com.baomidou.mybatisplus.generator.config.rules.IColumnType;
 
-import static com.baomidou.mybatisplus.generator.config.converts.TypeConverts.contains;
-import static com.baomidou.mybatisplus.generator.config.converts.TypeConverts.containsAny;
-import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.*;
-
 /**
  * PostgreSQL 字段类型转换
  *
@@ -33,23 +29,19 @@ import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.*;
 public class PostgreSqlTypeConvert implements ITypeConvert {
     public static final PostgreSqlTypeConvert INSTANCE = new PostgreSqlTypeConvert();
 
+    /**
+     * 类型映射规则
+     *
+     * @see TypeMappingRules
+     */
+    private static final TypeMappingRules RULES = TypeMappingRules.load("/type-mapping/postgresql.rules");
+
     /**
      * @inheritDoc
      */
     @Override
     public IColumnType processTypeConvert(GlobalConfig config, String fieldType) {
-        return TypeConverts.use(fieldType)
-            .test(containsAny("char", "text", "json", "enum").then(STRING))
-            .test(contains("bigint").then(LONG))
-            .test(contains("int").then(INTEGER))
-            .test(containsAny("date", "time").then(t -> toDateType(config, t)))
-            .test(contains("bit").then(BOOLEAN))
-            .test(containsAny("decimal", "numeric").then(BIG_DECIMAL))
-            .test(contains("bytea").then(BYTE_ARRAY))
-            .test(contains("float").then(FLOAT))
-            .test(contains("double").then(DOUBLE))
-            .test(contains("boolean").then(BOOLEAN))
-            .or(STRING);
+        return RULES.processTypeConvert(config, fieldType);
     }
 
     /**
@@ -15,21 +15,11 @@
  */
 package com.baomidou.mybatisplus.generator.config.converts;
 
-import static com.baomidou.mybatisplus.generator.config.converts.TypeConverts.contains;
-import static com.baomidou.mybatisplus.generator.config.converts.TypeConverts.containsAny;
-import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.BIG_DECIMAL;
-import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.BOOLEAN;
-import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.BYTE_ARRAY;
 import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.DATE;
 import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.DATE_SQL;
-import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.DOUBLE;
-import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.FLOAT;
-import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.INTEGER;
 import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.LOCAL_DATE;
 import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.LOCAL_DATE_TIME;
 import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.LOCAL_TIME;
-import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.LONG;
-import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.STRING;
 import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.TIME;
 import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.TIMESTAMP;
 
@@ -47,22 +37,19 @@ public class SqlServerTypeConvert implements ITypeConvert {
 
     public static final SqlServerTypeConvert INSTANCE = new SqlServerTypeConvert();
 
+    /**
+     * 类型映射规则
+     *
+     * @see TypeMappingRules
+     */
+    private static final TypeMappingRules RULES = TypeMappingRules.load("/type-mapping/sqlserver.rules");
+
     /**
      * @inheritDoc
      */
     @Override
     public IColumnType processTypeConvert(GlobalConfig config, String fieldType) {
-        return TypeConverts.use(fieldType)
-            .test(containsAny("char", "xml", "text").then(STRING))
-            .test(contains("bigint").then(LONG))
-            .test(contains("int").then(INTEGER))
-            .test(containsAny("date", "time").then(t -> toDateType(config, t)))
-            .test(contains("bit").then(BOOLEAN))
-            .test(containsAny("decimal", "numeric").then(DOUBLE))
-            .test(contains("money").then(BIG_DECIMAL))
-            .test(containsAny("binary", "image").then(BYTE_ARRAY))
-            .test(containsAny("float", "real").then(FLOAT))
-            .or(STRING);
+        return RULES.processTypeConvert(config, fieldType);
     }
 
     /**
@@ -17,14 +17,8 @@ package com.baomidou.mybatisplus.generator.config.converts;
 
 import com.baomidou.mybatisplus.generator.config.GlobalConfig;
 import com.baomidou.mybatisplus.generator.config.ITypeConvert;
-import com.baomidou.mybatisplus.generator.config.rules.DbColumnType;
 import com.baomidou.mybatisplus.generator.config.rules.IColumnType;
 
-import static com.baomidou.mybatisplus.generator.config.converts.MySqlTypeConvert.toDateType;
-import static com.baomidou.mybatisplus.generator.config.converts.TypeConverts.contains;
-import static com.baomidou.mybatisplus.generator.config.converts.TypeConverts.containsAny;
-import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.*;
-
 /**
  * SQLite 字段类型转换
  *
@@ -34,24 +28,20 @@ import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.*;
 public class SqliteTypeConvert implements ITypeConvert {
     public static final SqliteTypeConvert INSTANCE = new SqliteTypeConvert();
 
+    /**
+     * 类型映射规则
+     *
+     * @see TypeMappingRules
+     */
+    private static final TypeMappingRules RULES = TypeMappingRules.load("/type-mapping/sqlite.rules");
+
     /**
      * @inheritDoc
      * @see MySqlTypeConvert#toDateType(GlobalConfig, String)
      */
     @Override
     public IColumnType processTypeConvert(GlobalConfig config, String fieldType) {
-        return TypeConverts.use(fieldType)
-            .test(contains("bigint").then(LONG))
-            .test(containsAny("tinyint(1)", "boolean").then(BOOLEAN))
-            .test(contains("int").then(INTEGER))
-            .test(containsAny("text", "char", "enum").then(STRING))
-            .test(containsAny("decimal", "numeric").then(BIG_DECIMAL))
-            .test(contains("clob").then(CLOB))
-            .test(contains("blob").then(BLOB))
-            .test(contains("float").then(FLOAT))
-            .test(contains("double").then(DOUBLE))
-            .test(containsAny("date", "time", "year").then(t -> toDateType(config, t)))
-            .or(DbColumnType.STRING);
+        return RULES.processTypeConvert(config, fieldType);
     }
 
 }
@@ -21,6 +21,9 @@ import com.baomidou.mybatisplus.generator.config.converts.select.BranchBuilder;
 import com.baomidou.mybatisplus.generator.config.converts.select.Selector;
 import com.baomidou.mybatisplus.generator.config.rules.IColumnType;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * 该注册器负责注册并查询类型注册器
  *
@@ -29,6 +32,11 @@ import com.baomidou.mybatisplus.generator.config.rules.IColumnType;
  */
 public class TypeConverts {
 
+    /**
+     * 内置转换器对应的缓存转换器
+     */
+    private static final Map<ITypeConvert, CachedTypeConvert> CACHED_TYPE_CONVERTS = new ConcurrentHashMap<>();
+
     /**
      * 查询数据库类型对应的类型转换器
      *
@@ -63,6 +71,18 @@ public class TypeConverts {
         return null;
     }
 
+    /**
+     * 查询数据库类型对应的类型转换器(进程内共享转换结果缓存)
+     *
+     * @param dbType 数据库类型
+     * @return 返回转换器
+     * @since 3.5.0
+     */
+    public static ITypeConvert getCachedTypeConvert(DbType dbType) {
+        ITypeConvert typeConvert = getTypeConvert(dbType);
+        return typeConvert == null ? null : CACHED_TYPE_CONVERTS.computeIfAbsent(typeConvert, CachedTypeConvert::new);
+    }
+
     /**
      * 使用指定参数构建一个选择器
      *
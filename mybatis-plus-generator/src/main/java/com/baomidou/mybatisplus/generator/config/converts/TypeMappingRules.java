@@ -0,0 +1,403 @@
+/*
+ * Copyright (c) 2011-2021, baomidou (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.baomidou.mybatisplus.generator.config.converts;
+
+import com.baomidou.mybatisplus.core.toolkit.StringPool;
+import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import com.baomidou.mybatisplus.generator.config.GlobalConfig;
+import com.baomidou.mybatisplus.generator.config.ITypeConvert;
+import com.baomidou.mybatisplus.generator.config.rules.DateType;
+import com.baomidou.mybatisplus.generator.config.rules.DbColumnType;
+import com.baomidou.mybatisplus.generator.config.rules.IColumnType;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.regex.Pattern;
+
+/**
+ * 声明式字段类型映射规则
+ * <p>
+ * 规则文件每行一条规则,按声明顺序优先匹配(与 {@link TypeConverts#use(String)} 链式判断语义一致),字段类型匹配前转为小写:
+ * <pre>
+ * # 注释
+ * contains: char, text, json, enum -> STRING
+ * prefix: number -> BIG_DECIMAL
+ * exact: date -> ONLY_DATE=DATE, SQL_PACK=DATE_SQL, TIME_PACK=LOCAL_DATE
+ * regex: number\([0-9]\) -> INTEGER
+ * default -> STRING
+ * include: /type-mapping/mysql.rules
+ * </pre>
+ * 匹配方式: exact 完全相等、prefix 前缀、contains 包含(多个值逗号分隔),regex 完全匹配正则(整行为一个表达式).
+ * 映射目标为 {@link DbColumnType} 名称,或按 {@link DateType} 区分的 日期类型=列类型 列表({@code *} 表示其他日期类型).
+ * include 引入 classpath 下的规则(如内置规则),在其之前声明的规则优先,可用于覆盖个别内置映射;多个 default 以最后声明的为准.
+ * <p>
+ * 规则加载时编译为查找结构: exact 使用哈希表,prefix 使用前缀树,contains 使用 Aho-Corasick 自动机,
+ * 一次扫描字段类型即可得到最先声明的命中规则,只有声明顺序更靠前的 regex 规则才需要逐条匹配.
+ *
+ * @since 3.5.0
+ */
+public class TypeMappingRules implements ITypeConvert {
+
+    private static final String INCLUDE = "include:";
+
+    private static final int MAX_INCLUDE_DEPTH = 8;
+
+    private final List<Rule> rules;
+
+    private final Target defaultTarget;
+
+    private final Map<String, Integer> exactRules = new HashMap<>();
+
+    private final Node prefixRoot = new Node();
+
+    private final Node containsRoot = new Node();
+
+    private final List<Rule> regexRules = new ArrayList<>();
+
+    private TypeMappingRules(@NotNull List<Rule> rules, @NotNull Target defaultTarget) {
+        this.rules = rules;
+        this.defaultTarget = defaultTarget;
+        for (Rule rule : rules) {
+            switch (rule.matchType) {
+                case EXACT:
+                    rule.values.forEach(value -> exactRules.putIfAbsent(value, rule.order));
+                    break;
+                case PREFIX:
+                    rule.values.forEach(value -> prefixRoot.insert(value, rule.order));
+                    break;
+                case CONTAINS:
+                    rule.values.forEach(value -> containsRoot.insert(value, rule.order));
+                    break;
+                default:
+                    regexRules.add(rule);
+            }
+        }
+        buildFailureLinks();
+    }
+
+    /**
+     * 从 classpath 加载规则
+     *
+     * @param resource 资源路径
+     * @return 规则
+     */
+    @NotNull
+    public static TypeMappingRules load(@NotNull String resource) {
+        InputStream inputStream = TypeMappingRules.class.getResourceAsStream(resource);
+        if (inputStream == null) {
+            throw new IllegalArgumentException("未找到类型映射规则:" + resource);
+        }
+        try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 从文件加载规则
+     *
+     * @param file 规则文件
+     * @return 规则
+     * @throws IOException 读取异常
+     */
+    @NotNull
+    public static TypeMappingRules load(@NotNull Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        }
+    }
+
+    /**
+     * 解析规则
+     *
+     * @param reader 规则内容
+     * @return 规则
+     * @throws IOException 读取异常
+     */
+    @NotNull
+    public static TypeMappingRules parse(@NotNull Reader reader) throws IOException {
+        List<Rule> rules = new ArrayList<>();
+        Target[] defaultTarget = {new Target(DbColumnType.STRING)};
+        parse(reader, rules, defaultTarget, 0);
+        return new TypeMappingRules(rules, defaultTarget[0]);
+    }
+
+    private static void parse(@NotNull Reader reader, List<Rule> rules, Target[] defaultTarget, int depth) throws IOException {
+        BufferedReader bufferedReader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+        while ((line = bufferedReader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            if (line.startsWith(INCLUDE)) {
+                include(line.substring(INCLUDE.length()).trim(), rules, defaultTarget, depth);
+                continue;
+            }
+            int arrow = line.lastIndexOf("->");
+            if (arrow < 0) {
+                throw new IllegalArgumentException("类型映射规则第 " + lineNumber + " 行缺少 -> :" + line);
+            }
+            String condition = line.substring(0, arrow).trim();
+            Target target = Target.parse(line.substring(arrow + 2).trim(), lineNumber);
+            if ("default".equalsIgnoreCase(condition)) {
+                defaultTarget[0] = target;
+                continue;
+            }
+            int colon = condition.indexOf(':');
+            if (colon < 0) {
+                throw new IllegalArgumentException("类型映射规则第 " + lineNumber + " 行缺少匹配方式:" + line);
+            }
+            MatchType matchType = MatchType.parse(condition.substring(0, colon).trim(), lineNumber);
+            String value = condition.substring(colon + 1).trim();
+            List<String> values = new ArrayList<>();
+            if (matchType == MatchType.REGEX) {
+                values.add(value);
+            } else {
+                for (String item : value.split(StringPool.COMMA)) {
+                    if (StringUtils.isNotBlank(item)) {
+                        values.add(item.trim().toLowerCase());
+                    }
+                }
+            }
+            if (values.isEmpty()) {
+                throw new IllegalArgumentException("类型映射规则第 " + lineNumber + " 行缺少匹配值:" + line);
+            }
+            rules.add(new Rule(rules.size(), matchType, values, target));
+        }
+    }
+
+    /**
+     * 引入 classpath 下的规则,规则按引入位置参与排序
+     */
+    private static void include(String resource, List<Rule> rules, Target[] defaultTarget, int depth) throws IOException {
+        if (depth >= MAX_INCLUDE_DEPTH) {
+            throw new IllegalArgumentException("类型映射规则引入层级过深:" + resource);
+        }
+        InputStream inputStream = TypeMappingRules.class.getResourceAsStream(resource);
+        if (inputStream == null) {
+            throw new IllegalArgumentException("未找到类型映射规则:" + resource);
+        }
+        try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+            parse(reader, rules, defaultTarget, depth + 1);
+        }
+    }
+
+    @Override
+    public IColumnType processTypeConvert(@NotNull GlobalConfig globalConfig, @NotNull String fieldType) {
+        return match(fieldType.toLowerCase()).resolve(globalConfig.getDateType());
+    }
+
+    /**
+     * 查找最先声明的命中规则
+     *
+     * @param type 小写字段类型
+     * @return 映射目标
+     */
+    private Target match(@NotNull String type) {
+        int best = exactRules.getOrDefault(type, Integer.MAX_VALUE);
+        // 前缀树
+        Node node = prefixRoot;
+        for (int i = 0; i < type.length() && node != null; i++) {
+            node = node.children.get(type.charAt(i));
+            if (node != null && node.order < best) {
+                best = node.order;
+            }
+        }
+        // Aho-Corasick 自动机,节点的 minOrder 已合并失配链上所有模式串
+        node = containsRoot;
+        for (int i = 0; i < type.length(); i++) {
+            char c = type.charAt(i);
+            Node next;
+            while ((next = node.children.get(c)) == null && node != containsRoot) {
+                node = node.failure;
+            }
+            node = next == null ? containsRoot : next;
+            if (node.minOrder < best) {
+                best = node.minOrder;
+            }
+        }
+        for (Rule rule : regexRules) {
+            if (rule.order >= best) {
+                break;
+            }
+            if (rule.pattern.matcher(type).matches()) {
+                best = rule.order;
+                break;
+            }
+        }
+        return best == Integer.MAX_VALUE ? defaultTarget : rules.get(best).target;
+    }
+
+    private void buildFailureLinks() {
+        Queue<Node> queue = new ArrayDeque<>();
+        containsRoot.minOrder = containsRoot.order;
+        for (Node child : containsRoot.children.values()) {
+            child.failure = containsRoot;
+            child.minOrder = child.order;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            for (Map.Entry<Character, Node> entry : node.children.entrySet()) {
+                char c = entry.getKey();
+                Node child = entry.getValue();
+                Node failure = node.failure;
+                Node next;
+                while ((next = failure.children.get(c)) == null && failure != containsRoot) {
+                    failure = failure.failure;
+                }
+                child.failure = next == null ? containsRoot : next;
+                child.minOrder = Math.min(child.order, child.failure.minOrder);
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * 匹配方式
+     */
+    private enum MatchType {
+        EXACT, PREFIX, CONTAINS, REGEX;
+
+        private static MatchType parse(String name, int lineNumber) {
+            for (MatchType matchType : values()) {
+                if (matchType.name().equalsIgnoreCase(name)) {
+                    return matchType;
+                }
+            }
+            throw new IllegalArgumentException("类型映射规则第 " + lineNumber + " 行匹配方式错误:" + name);
+        }
+    }
+
+    private static class Rule {
+
+        private final int order;
+
+        private final MatchType matchType;
+
+        private final List<String> values;
+
+        private final Pattern pattern;
+
+        private final Target target;
+
+        private Rule(int order, MatchType matchType, List<String> values, Target target) {
+            this.order = order;
+            this.matchType = matchType;
+            this.values = values;
+            this.pattern = matchType == MatchType.REGEX ? Pattern.compile(values.get(0)) : null;
+            this.target = target;
+        }
+    }
+
+    /**
+     * 映射目标,可按日期类型区分
+     */
+    private static class Target {
+
+        private final IColumnType[] columnTypes = new IColumnType[DateType.values().length];
+
+        private IColumnType defaultColumnType;
+
+        private Target(IColumnType defaultColumnType) {
+            this.defaultColumnType = defaultColumnType;
+        }
+
+        private IColumnType resolve(DateType dateType) {
+            IColumnType columnType = dateType == null ? null : columnTypes[dateType.ordinal()];
+            return columnType != null ? columnType : defaultColumnType;
+        }
+
+        private static Target parse(String value, int lineNumber) {
+            if (value.indexOf('=') < 0) {
+                return new Target(columnType(value, lineNumber));
+            }
+            Target target = new Target(DbColumnType.STRING);
+            for (String item : value.split(StringPool.COMMA)) {
+                String[] pair = item.split("=");
+                if (pair.length != 2) {
+                    throw new IllegalArgumentException("类型映射规则第 " + lineNumber + " 行映射目标错误:" + value);
+                }
+                String dateType = pair[0].trim();
+                IColumnType columnType = columnType(pair[1], lineNumber);
+                if ("*".equals(dateType)) {
+                    target.defaultColumnType = columnType;
+                } else {
+                    try {
+                        target.columnTypes[DateType.valueOf(dateType.toUpperCase()).ordinal()] = columnType;
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("类型映射规则第 " + lineNumber + " 行日期类型错误:" + dateType);
+                    }
+                }
+            }
+            return target;
+        }
+
+        private static IColumnType columnType(String name, int lineNumber) {
+            try {
+                return DbColumnType.valueOf(name.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("类型映射规则第 " + lineNumber + " 行列类型错误:" + name.trim());
+            }
+        }
+    }
+
+    /**
+     * 前缀树 / Aho-Corasick 节点
+     */
+    private static class Node {
+
+        private final Map<Character, Node> children = new HashMap<>();
+
+        /**
+         * 以当前节点结尾的模式串中最先声明的规则
+         */
+        private int order = Integer.MAX_VALUE;
+
+        /**
+         * 当前节点及失配链上最先声明的规则
+         */
+        private int minOrder = Integer.MAX_VALUE;
+
+        private Node failure;
+
+        private void insert(String value, int ruleOrder) {
+            Node node = this;
+            for (int i = 0; i < value.length(); i++) {
+                node = node.children.computeIfAbsent(value.charAt(i), c -> new Node());
+            }
+            node.order = Math.min(node.order, ruleOrder);
+        }
+    }
+}
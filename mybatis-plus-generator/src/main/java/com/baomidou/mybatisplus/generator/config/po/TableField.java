@@ -16,6 +16,7 @@
 package com.baomidou.mybatisplus.generator.config.po;
 
 import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import com.baomidou.mybatisplus.generator.IFill;
 import com.baomidou.mybatisplus.generator.config.DataSourceConfig;
 import com.baomidou.mybatisplus.generator.config.GlobalConfig;
 import com.baomidou.mybatisplus.generator.config.IKeyWordsHandler;
@@ -24,8 +25,6 @@ import com.baomidou.mybatisplus.generator.config.builder.ConfigBuilder;
 import com.baomidou.mybatisplus.generator.config.builder.Entity;
 import com.baomidou.mybatisplus.generator.config.rules.IColumnType;
 import com.baomidou.mybatisplus.generator.config.rules.NamingStrategy;
-import com.baomidou.mybatisplus.generator.fill.Column;
-import com.baomidou.mybatisplus.generator.fill.Property;
 import com.baomidou.mybatisplus.generator.jdbc.DatabaseMetaDataWrapper;
 import org.apache.ibatis.type.JdbcType;
 import org.jetbrains.annotations.NotNull;
@@ -51,6 +50,18 @@ public class TableField {
     private IColumnType columnType;
     private String comment;
     private String fill;
+    /**
+     * 是否为乐观锁字段
+     *
+     * @since 3.5.0
+     */
+    private boolean versionField;
+    /**
+     * 是否为逻辑删除字段
+     *
+     * @since 3.5.0
+     */
+    private boolean logicDeleteField;
     /**
      * 是否关键字
      *
@@ -94,6 +105,22 @@ public class TableField {
         this.entity = configBuilder.getStrategyConfig().entity();
         this.dataSourceConfig = configBuilder.getDataSourceConfig();
         this.globalConfig = configBuilder.getGlobalConfig();
+        resolveColumnRule();
+    }
+
+    /**
+     * 按字段名称与属性名称解析字段规则(乐观锁、逻辑删除、填充)
+     */
+    private void resolveColumnRule() {
+        Entity.ColumnRule columnRule = entity.getColumnRule(name);
+        Entity.ColumnRule propertyRule = propertyName == null ? null : entity.getPropertyRule(propertyName);
+        this.versionField = columnRule.isVersion() || propertyRule != null && propertyRule.isVersion();
+        this.logicDeleteField = columnRule.isLogicDelete() || propertyRule != null && propertyRule.isLogicDelete();
+        IFill fill = columnRule.getFill();
+        if (propertyRule != null && propertyRule.getFillIndex() < columnRule.getFillIndex()) {
+            fill = propertyRule.getFill();
+        }
+        this.fill = fill == null ? null : fill.getFieldFill().name();
     }
 
     /**
@@ -111,11 +138,13 @@ public class TableField {
             && "boolean".equalsIgnoreCase(this.getPropertyType()) && propertyName.startsWith("is")) {
             this.convert = true;
             this.propertyName = StringUtils.removePrefixAfterPrefixToLower(propertyName, 2);
+            resolveColumnRule();
             return this;
         } else {
             this.convert = !propertyName.equalsIgnoreCase(this.columnName);
         }
         this.propertyName = propertyName;
+        resolveColumnRule();
         return this;
     }
 
@@ -167,10 +196,7 @@ public class TableField {
      * @since 3.5.0
      */
     public boolean isVersionField() {
-        String propertyName = entity.getVersionPropertyName();
-        String columnName = entity.getVersionColumnName();
-        return StringUtils.isNotBlank(propertyName) && this.propertyName.equals(propertyName)
-            || StringUtils.isNotBlank(columnName) && this.name.equalsIgnoreCase(columnName);
+        return versionField;
     }
 
     /**
@@ -180,10 +206,7 @@ public class TableField {
      * @since 3.5.0
      */
     public boolean isLogicDeleteField() {
-        String propertyName = entity.getLogicDeletePropertyName();
-        String columnName = entity.getLogicDeleteColumnName();
-        return StringUtils.isNotBlank(propertyName) && this.propertyName.equals(propertyName)
-            || StringUtils.isNotBlank(columnName) && this.name.equalsIgnoreCase(columnName);
+        return logicDeleteField;
     }
 
     /**
@@ -259,13 +282,6 @@ public class TableField {
     }
 
     public String getFill() {
-        if (StringUtils.isBlank(fill)) {
-            entity.getTableFillList().stream()
-                //忽略大写字段问题
-                .filter(tf -> tf instanceof Column && tf.getName().equalsIgnoreCase(name)
-                    || tf instanceof Property && tf.getName().equals(propertyName))
-                .findFirst().ifPresent(tf -> this.fill = tf.getFieldFill().name());
-        }
         return fill;
     }
 
@@ -36,6 +36,11 @@ public class ClickHouseQuery extends AbstractDbQuery {
         return "select * from system.columns where table='%s'";
     }
 
+    @Override
+    public String tableFieldsPreparedSql() {
+        return tableFieldsSql().replace("'%s'", "?");
+    }
+
     @Override
     public String tableName() {
         return "name";
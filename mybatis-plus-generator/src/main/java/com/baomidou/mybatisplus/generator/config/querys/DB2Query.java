@@ -34,6 +34,23 @@ public class DB2Query extends AbstractDbQuery {
         return "SELECT * FROM syscat.columns WHERE tabschema=%s AND tabname='%s'";
     }
 
+    /**
+     * 由 {@link #tableFieldsSql()} 替换出绑定参数(按 schema、表名的顺序格式化)
+     *
+     * @return 无法替换出表名绑定参数时返回 null
+     */
+    @Override
+    public String tableFieldsPreparedSql() {
+        String tableFieldsSql = tableFieldsSql();
+        int schemaIndex = tableFieldsSql.indexOf("%s");
+        int tableNameIndex = schemaIndex < 0 ? -1 : tableFieldsSql.indexOf("'%s'", schemaIndex + 2);
+        if (tableNameIndex < 0 || tableFieldsSql.indexOf("%s", tableNameIndex + 4) >= 0) {
+            return null;
+        }
+        return tableFieldsSql.substring(0, schemaIndex) + "#schema" + tableFieldsSql.substring(schemaIndex + 2, tableNameIndex)
+            + "?" + tableFieldsSql.substring(tableNameIndex + 4);
+    }
+
 
     @Override
     public String tableName() {
@@ -23,6 +23,23 @@ package com.baomidou.mybatisplus.generator.config.querys;
  */
 public class DMQuery extends AbstractDbQuery {
 
+    /**
+     * 批量查询当前用户所有表字段(字段注释与主键一并查询，列名与 {@link #tableFieldsSql()} 保持一致)
+     */
+    static final String BULK_TABLE_FIELDS_SQL = "SELECT T2.TABLE_NAME,T2.COLUMN_NAME,T1.COMMENTS," +
+        "CASE WHEN T2.DATA_TYPE='NUMBER' THEN (CASE WHEN T2.DATA_PRECISION IS NULL THEN T2.DATA_TYPE WHEN NVL(T2.DATA_SCALE, 0) > 0 THEN T2.DATA_TYPE||'('||T2.DATA_PRECISION||','||T2.DATA_SCALE||')' ELSE T2.DATA_TYPE||'('||T2.DATA_PRECISION||')' END) ELSE T2.DATA_TYPE END DATA_TYPE ," +
+        "CASE WHEN CONSTRAINT_TYPE='P' THEN 'PRI' END AS KEY " +
+        "FROM USER_COL_COMMENTS T1, USER_TAB_COLUMNS T2, " +
+        "(SELECT T4.TABLE_NAME, T4.COLUMN_NAME ,T5.CONSTRAINT_TYPE " +
+        "FROM USER_CONS_COLUMNS T4, USER_CONSTRAINTS T5 " +
+        "WHERE T4.CONSTRAINT_NAME = T5.CONSTRAINT_NAME " +
+        "AND T5.CONSTRAINT_TYPE = 'P')T3 " +
+        "WHERE T1.TABLE_NAME = T2.TABLE_NAME AND " +
+        "T1.COLUMN_NAME=T2.COLUMN_NAME AND " +
+        "T1.TABLE_NAME = T3.TABLE_NAME(+) AND " +
+        "T1.COLUMN_NAME=T3.COLUMN_NAME(+) " +
+        "ORDER BY T2.TABLE_NAME,T2.COLUMN_ID";
+
     @Override
     public String tablesSql() {
         return "SELECT * FROM (SELECT DISTINCT T1.TABLE_NAME AS TABLE_NAME,T2.COMMENTS AS TABLE_COMMENT FROM USER_TAB_COLUMNS T1 " +
@@ -48,6 +65,16 @@ public class DMQuery extends AbstractDbQuery {
                         "ORDER BY T2.TABLE_NAME,T2.COLUMN_ID";
     }
 
+    @Override
+    public String tableFieldsPreparedSql() {
+        return tableFieldsSql().replace("'%s'", "?");
+    }
+
+    @Override
+    public String bulkTableFieldsSql() {
+        return BULK_TABLE_FIELDS_SQL;
+    }
+
     @Override
     public String tableName() {
         return "TABLE_NAME";
@@ -24,6 +24,7 @@ import com.baomidou.mybatisplus.generator.config.IDbQuery;
 import com.baomidou.mybatisplus.generator.config.StrategyConfig;
 import com.baomidou.mybatisplus.generator.config.po.LikeTable;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,9 +33,11 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -46,20 +49,83 @@ import java.util.stream.Collectors;
  */
 public class DecoratorDbQuery extends AbstractDbQuery {
 
+    /**
+     * 查询语句中的 schema 占位(作为绑定参数)
+     *
+     * @see IDbQuery#bulkTableFieldsSql()
+     */
+    private static final String SCHEMA_PLACEHOLDER = "#schema";
+
     private final IDbQuery dbQuery;
     private final Connection connection;
+    /**
+     * 是否在 {@link #closeConnection()} 时关闭连接 (外部传入的连接由调用方关闭)
+     */
+    private final boolean ownConnection;
     private final DbType dbType;
     private final StrategyConfig strategyConfig;
     private final String schema;
     private final Logger logger;
+    /**
+     * 是否为内置的数据库查询 (支持在表信息查询语句后追加过滤条件)
+     */
+    private final boolean builtInQuery;
+    /**
+     * 是否使用批量查询表字段 (继承内置查询并重写了逐表字段查询时，继承来的批量查询语句与之不一致，不使用)
+     */
+    private final boolean bulkQuery;
+    private final int fetchSize;
+    /**
+     * 已预编译的表字段查询语句 (连接->语句)
+     */
+    private final Map<Connection, PreparedStatement> tableFieldsStatements = new ConcurrentHashMap<>();
 
     public DecoratorDbQuery(@NotNull DataSourceConfig dataSourceConfig, @NotNull StrategyConfig strategyConfig) {
+        this(dataSourceConfig, strategyConfig, null);
+    }
+
+    /**
+     * @param dataSourceConfig 数据源配置
+     * @param strategyConfig   策略配置
+     * @param connection       数据库连接，由调用方负责关闭，为 null 时创建新连接
+     * @since 3.5.0
+     */
+    public DecoratorDbQuery(@NotNull DataSourceConfig dataSourceConfig, @NotNull StrategyConfig strategyConfig, @Nullable Connection connection) {
         this.dbQuery = dataSourceConfig.getDbQuery();
-        this.connection = dataSourceConfig.getConn();
+        this.ownConnection = connection == null;
+        try {
+            // 每次查询使用独立连接，同一数据源配置可被多个生成任务并发使用
+            this.connection = connection != null ? connection : dataSourceConfig.createConnection();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
         this.dbType = dataSourceConfig.getDbType();
         this.strategyConfig = strategyConfig;
         this.schema = dataSourceConfig.getSchemaName();
         this.logger = LoggerFactory.getLogger(dbQuery.getClass());
+        IDbQuery builtInQuery = new DbQueryRegistry().getDbQuery(dbType);
+        this.builtInQuery = builtInQuery != null && builtInQuery.getClass() == dbQuery.getClass();
+        this.bulkQuery = StringUtils.isNotBlank(dbQuery.bulkTableFieldsSql()) && (this.builtInQuery || builtInQuery == null
+            || isOverridden(builtInQuery.getClass(), "bulkTableFieldsSql")
+            || !isOverridden(builtInQuery.getClass(), "tableFieldsSql") && !isOverridden(builtInQuery.getClass(), "tableFieldsPreparedSql")
+            && !isOverridden(builtInQuery.getClass(), "fieldCustom"));
+        this.fetchSize = dataSourceConfig.getFetchSize();
+    }
+
+    /**
+     * 方法是否在内置查询的子类中重写
+     *
+     * @param builtInClass 内置查询类
+     * @param methodName   方法名(无参)
+     * @return 是否重写
+     */
+    private boolean isOverridden(Class<?> builtInClass, String methodName) {
+        try {
+            Class<?> declaringClass = dbQuery.getClass().getMethod(methodName).getDeclaringClass();
+            return declaringClass != builtInClass && builtInClass.isAssignableFrom(declaringClass);
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
     }
 
     @Override
@@ -68,27 +134,49 @@ public class DecoratorDbQuery extends AbstractDbQuery {
         if (DbType.POSTGRE_SQL == dbType || DbType.KINGBASE_ES == dbType || DbType.DB2 == dbType || DbType.ORACLE == dbType) {
             tablesSql = String.format(tablesSql, this.schema);
         }
+        String tableNameColumn = dbQuery.tableName();
+        if (DbType.FIREBIRD == dbType) {
+            // Firebird 系统表表名为定长 CHAR 类型，尾部补空格，LIKE 匹配前需去除
+            tableNameColumn = "TRIM(" + tableNameColumn + ")";
+        }
         if (strategyConfig.isEnableSqlFilter()) {
             StringBuilder sql = new StringBuilder(tablesSql);
             LikeTable table;
             Set<String> tables;
             if ((table = strategyConfig.getLikeTable()) != null) {
-                sql.append(" AND ").append(dbQuery.tableName()).append(" LIKE '").append(table.getValue()).append("'");
+                sql.append(" AND ").append(tableNameColumn).append(" LIKE '").append(table.getValue()).append("'");
             } else if ((table = strategyConfig.getNotLikeTable()) != null) {
-                sql.append(" AND ").append(dbQuery.tableName()).append(" NOT LIKE '").append(table.getValue()).append("'");
+                sql.append(" AND ").append(tableNameColumn).append(" NOT LIKE '").append(table.getValue()).append("'");
             }
             if (!(tables = strategyConfig.getInclude()).isEmpty()) {
-                sql.append(" AND ").append(dbQuery.tableName()).append(" IN (")
+                sql.append(" AND ").append(tableNameColumn).append(" IN (")
                     .append(tables.stream().map(tb -> "'" + tb + "'").collect(Collectors.joining(","))).append(")");
             } else if (!(tables = strategyConfig.getExclude()).isEmpty()) {
-                sql.append(" AND ").append(dbQuery.tableName()).append(" NOT IN (")
+                sql.append(" AND ").append(tableNameColumn).append(" NOT IN (")
                     .append(tables.stream().map(tb -> "'" + tb + "'").collect(Collectors.joining(","))).append(")");
             }
             return sql.toString();
         }
+        if (builtInQuery) {
+            // 关闭 sql 过滤时仍由数据库执行不含正则的过滤条件
+            return tablesSql + strategyConfig.getTableFilter().toSqlCondition(tableNameColumn);
+        }
         return tablesSql;
     }
 
+    /**
+     * 包含表是否已作为过滤条件加入 {@link #tablesSql()}，此时查询到的表数量不是库中表数量
+     *
+     * @return 是否已加入包含表过滤条件
+     * @since 3.5.0
+     */
+    public boolean isIncludeFiltered() {
+        if (strategyConfig.getInclude().isEmpty()) {
+            return false;
+        }
+        return strategyConfig.isEnableSqlFilter() || builtInQuery && strategyConfig.getTableFilter().isIncludeFiltered();
+    }
+
     @Override
     public String tableFieldsSql() {
         return dbQuery.tableFieldsSql();
@@ -116,6 +204,50 @@ public class DecoratorDbQuery extends AbstractDbQuery {
         return tableFieldsSql;
     }
 
+    /**
+     * 替换 schema 占位后的{@link #tableFieldsPreparedSql()}
+     *
+     * @return 不支持绑定参数时返回 null
+     * @since 3.5.0
+     */
+    @Override
+    public String tableFieldsPreparedSql() {
+        String tableFieldsPreparedSql = dbQuery.tableFieldsPreparedSql();
+        if (StringUtils.isBlank(tableFieldsPreparedSql) || tableFieldsPreparedSql.indexOf('?') < 0) {
+            // 子类重写 tableFieldsSql 后可能无法替换出绑定参数
+            return null;
+        }
+        return this.schema != null ? tableFieldsPreparedSql.replace("#schema", this.schema) : tableFieldsPreparedSql;
+    }
+
+    /**
+     * 查询表字段
+     * <p>支持绑定参数时每个连接只预编译一次查询语句，否则使用{@link #tableFieldsSql(String)}查询</p>
+     *
+     * @param connection 连接
+     * @param tableName  表名
+     * @param consumer   结果处理
+     * @since 3.5.0
+     */
+    public void queryTableFields(Connection connection, String tableName, Consumer<ResultSetWrapper> consumer) throws SQLException {
+        String tableFieldsPreparedSql = this.tableFieldsPreparedSql();
+        if (tableFieldsPreparedSql == null) {
+            query(connection, tableFieldsSql(tableName), consumer);
+            return;
+        }
+        PreparedStatement preparedStatement = tableFieldsStatements.get(connection);
+        if (preparedStatement == null) {
+            preparedStatement = prepareStatement(connection, tableFieldsPreparedSql);
+            tableFieldsStatements.put(connection, preparedStatement);
+        }
+        if (DbType.ORACLE == dbType || DbType.DM == dbType) {
+            tableName = tableName.toUpperCase();
+        }
+        logger.debug("执行SQL:{},参数:{}", tableFieldsPreparedSql, tableName);
+        preparedStatement.setString(1, tableName);
+        execute(preparedStatement, consumer);
+    }
+
     @Override
     public String tableName() {
         return dbQuery.tableName();
@@ -162,6 +294,72 @@ public class DecoratorDbQuery extends AbstractDbQuery {
         return dbQuery.fieldCustom();
     }
 
+    @Override
+    public String bulkTableFieldsSql() {
+        return dbQuery.bulkTableFieldsSql();
+    }
+
+    @Override
+    public String fieldTableName() {
+        return dbQuery.fieldTableName();
+    }
+
+    @Override
+    public String fingerprintSql() {
+        return dbQuery.fingerprintSql();
+    }
+
+    @Override
+    public String changeProbeSql() {
+        return dbQuery.changeProbeSql();
+    }
+
+    /**
+     * 是否支持批量查询表字段
+     * <p>继承内置查询并重写了 {@link #tableFieldsSql()}、{@link #tableFieldsPreparedSql()} 或 {@link #fieldCustom()}，
+     * 但未重写 {@link #bulkTableFieldsSql()} 时不支持，按重写的逐表查询处理。</p>
+     *
+     * @return 是否支持
+     * @since 3.5.0
+     */
+    public boolean isSupportBulkTableFields() {
+        return bulkQuery;
+    }
+
+    /**
+     * 批量主键字段查询 SQL，H2 数据库未提供时使用{@link H2Query#PRIMARY_KEYS_SQL}
+     *
+     * @return 不支持时返回 null
+     * @since 3.5.0
+     */
+    @Override
+    public String primaryKeysSql() {
+        String primaryKeysSql = dbQuery.primaryKeysSql();
+        if (StringUtils.isBlank(primaryKeysSql) && DbType.H2 == dbType) {
+            return H2Query.PRIMARY_KEYS_SQL;
+        }
+        return primaryKeysSql;
+    }
+
+    /**
+     * 获取自定义字段
+     *
+     * @param result 当前记录
+     * @return 自定义字段
+     * @since 3.5.0
+     */
+    public Map<String, Object> getCustomFields(ResultSetWrapper result) {
+        String[] fcs = this.fieldCustom();
+        if (null != fcs) {
+            Map<String, Object> customMap = CollectionUtils.newHashMapWithExpectedSize(fcs.length);
+            for (String fc : fcs) {
+                customMap.put(fc, result.getObjectResult(fc));
+            }
+            return customMap;
+        }
+        return Collections.emptyMap();
+    }
+
     public Map<String, Object> getCustomFields(ResultSet resultSet) {
         String[] fcs = this.fieldCustom();
         if (null != fcs) {
@@ -178,19 +376,93 @@ public class DecoratorDbQuery extends AbstractDbQuery {
         return Collections.emptyMap();
     }
 
+    /**
+     * 批量查询表字段
+     *
+     * @param consumer 结果处理
+     * @see #bulkTableFieldsSql()
+     * @since 3.5.0
+     */
+    public void queryBulkTableFields(Consumer<ResultSetWrapper> consumer) throws SQLException {
+        query(this.connection, this.bulkTableFieldsSql(), consumer);
+    }
+
     public void query(String sql, Consumer<ResultSetWrapper> consumer) throws SQLException {
+        query(this.connection, sql, consumer);
+    }
+
+    /**
+     * 使用指定连接执行查询，查询语句中的 {@code #schema} 占位均绑定为 schema
+     * <p>每条记录复用同一个 {@link ResultSetWrapper}，结果处理中不要保留该对象</p>
+     *
+     * @param connection 连接
+     * @param sql        查询语句
+     * @param consumer   结果处理
+     * @since 3.5.0
+     */
+    public void query(Connection connection, String sql, Consumer<ResultSetWrapper> consumer) throws SQLException {
         logger.debug("执行SQL:{}", sql);
+        try (PreparedStatement preparedStatement = prepareSchemaStatement(connection, sql, this.schema, this.dbType)) {
+            if (fetchSize > 0) {
+                preparedStatement.setFetchSize(fetchSize);
+            }
+            execute(preparedStatement, consumer);
+        }
+    }
+
+    /**
+     * 预编译查询语句，语句中的 {@code #schema} 占位均替换为绑定参数并设置为 schema
+     *
+     * @param connection 连接
+     * @param sql        查询语句
+     * @param schema     schema
+     * @param dbType     数据库类型
+     * @return 预编译语句
+     * @throws SQLException 预编译失败
+     * @since 3.5.0
+     */
+    @NotNull
+    public static PreparedStatement prepareSchemaStatement(@NotNull Connection connection, @NotNull String sql, @Nullable String schema,
+                                                           @NotNull DbType dbType) throws SQLException {
+        int parameterCount = 0;
+        for (int index = sql.indexOf(SCHEMA_PLACEHOLDER); index >= 0; index = sql.indexOf(SCHEMA_PLACEHOLDER, index + SCHEMA_PLACEHOLDER.length())) {
+            parameterCount++;
+        }
+        if (parameterCount > 0 && StringUtils.isBlank(schema)) {
+            throw new IllegalStateException("当前数据库[" + dbType + "]查询需要指定schema");
+        }
+        PreparedStatement preparedStatement = connection.prepareStatement(sql.replace(SCHEMA_PLACEHOLDER, "?"), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        try {
+            for (int parameterIndex = 1; parameterIndex <= parameterCount; parameterIndex++) {
+                preparedStatement.setString(parameterIndex, schema);
+            }
+        } catch (SQLException e) {
+            preparedStatement.close();
+            throw e;
+        }
+        return preparedStatement;
+    }
+
+    private PreparedStatement prepareStatement(Connection connection, String sql) throws SQLException {
+        PreparedStatement preparedStatement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        if (fetchSize > 0) {
+            preparedStatement.setFetchSize(fetchSize);
+        }
+        return preparedStatement;
+    }
+
+    private void execute(PreparedStatement preparedStatement, Consumer<ResultSetWrapper> consumer) throws SQLException {
         int count = 0;
         long start = System.nanoTime();
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sql);
-             ResultSet resultSet = preparedStatement.executeQuery()) {
+        try (ResultSet resultSet = preparedStatement.executeQuery()) {
+            ResultSetWrapper resultSetWrapper = new ResultSetWrapper(resultSet, this, this.dbType);
             while (resultSet.next()) {
-                consumer.accept(new ResultSetWrapper(resultSet, this, this.dbType));
+                consumer.accept(resultSetWrapper);
                 count++;
             }
-            long end = System.nanoTime();
-            logger.debug("返回记录数:{},耗时(ms):{}", count, (end - start) / 1000000);
         }
+        long end = System.nanoTime();
+        logger.debug("返回记录数:{},耗时(ms):{}", count, (end - start) / 1000000);
     }
 
     public Connection getConnection() {
@@ -198,7 +470,15 @@ public class DecoratorDbQuery extends AbstractDbQuery {
     }
 
     public void closeConnection() {
-        Optional.ofNullable(connection).ifPresent((con) -> {
+        tableFieldsStatements.values().forEach(preparedStatement -> {
+            try {
+                preparedStatement.close();
+            } catch (SQLException sqlException) {
+                logger.warn("关闭预编译语句失败:{}", sqlException.getMessage());
+            }
+        });
+        tableFieldsStatements.clear();
+        Optional.ofNullable(connection).filter(con -> ownConnection).ifPresent((con) -> {
             try {
                 con.close();
             } catch (SQLException sqlException) {
@@ -207,6 +487,10 @@ public class DecoratorDbQuery extends AbstractDbQuery {
         });
     }
 
+    /**
+     * 查询结果的当前记录
+     * <p>同一结果集的所有记录复用同一个对象，字段名称在首次读取时解析为字段索引</p>
+     */
     public static class ResultSetWrapper {
 
         private final IDbQuery dbQuery;
@@ -215,6 +499,11 @@ public class DecoratorDbQuery extends AbstractDbQuery {
 
         private final DbType dbType;
 
+        /**
+         * 字段名称->字段索引
+         */
+        private final Map<String, Integer> columnIndexes = new HashMap<>();
+
         ResultSetWrapper(ResultSet resultSet, IDbQuery dbQuery, DbType dbType) {
             this.resultSet = resultSet;
             this.dbQuery = dbQuery;
@@ -225,14 +514,38 @@ public class DecoratorDbQuery extends AbstractDbQuery {
             return resultSet;
         }
 
+        private int getColumnIndex(String columnLabel) throws SQLException {
+            Integer columnIndex = columnIndexes.get(columnLabel);
+            if (columnIndex == null) {
+                columnIndex = resultSet.findColumn(columnLabel);
+                columnIndexes.put(columnLabel, columnIndex);
+            }
+            return columnIndex;
+        }
+
         public String getStringResult(String columnLabel) {
             try {
-                return resultSet.getString(columnLabel);
+                return resultSet.getString(getColumnIndex(columnLabel));
             } catch (SQLException sqlException) {
                 throw new RuntimeException(String.format("读取[%s]字段出错!", columnLabel), sqlException);
             }
         }
 
+        /**
+         * 读取字段值
+         *
+         * @param columnLabel 字段名称
+         * @return 字段值
+         * @since 3.5.0
+         */
+        public Object getObjectResult(String columnLabel) {
+            try {
+                return resultSet.getObject(getColumnIndex(columnLabel));
+            } catch (SQLException sqlException) {
+                throw new RuntimeException("获取自定义字段错误:", sqlException);
+            }
+        }
+
         public String getFiledComment() {
             return getComment(dbQuery.fieldComment());
 
@@ -247,7 +560,10 @@ public class DecoratorDbQuery extends AbstractDbQuery {
         }
 
         public String formatComment(String comment) {
-            return StringUtils.isBlank(comment) ? StringPool.EMPTY : comment.replaceAll("\r\n", "\t");
+            if (StringUtils.isBlank(comment)) {
+                return StringPool.EMPTY;
+            }
+            return comment.indexOf("\r\n") < 0 ? comment : comment.replace("\r\n", "\t");
         }
 
         public boolean isPrimaryKey() {
@@ -56,6 +56,11 @@ public class FirebirdQuery extends AbstractDbQuery {
             "order by 1, f.rdb$field_position";
     }
 
+    @Override
+    public String tableFieldsPreparedSql() {
+        return tableFieldsSql().replace("'%s'", "?");
+    }
+
 
     @Override
     public String tableName() {
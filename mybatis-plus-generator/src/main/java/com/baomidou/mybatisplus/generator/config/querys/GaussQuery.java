@@ -23,6 +23,20 @@ package com.baomidou.mybatisplus.generator.config.querys;
  */
 public class GaussQuery extends AbstractDbQuery {
 
+    /**
+     * 批量查询当前用户所有表字段(列名与 {@link #tableFieldsSql()} 保持一致)
+     */
+    static final String BULK_TABLE_FIELDS_SQL = "SELECT T1.TABLE_NAME,T1.COLUMN_NAME,T2.COMMENTS,T1.DATA_TYPE," +
+        "CASE WHEN CONSTRAINT_TYPE='P' THEN 'PRI' END AS KEY " +
+        "FROM USER_TAB_COLUMNS T1 " +
+        "LEFT JOIN USER_COL_COMMENTS T2 ON " +
+        "(T1.TABLE_NAME = T2.TABLE_NAME AND T1.COLUMN_NAME = T2.COLUMN_NAME) " +
+        "LEFT JOIN (" +
+        "SELECT T4.TABLE_NAME,T4.COLUMN_NAME,T5.CONSTRAINT_TYPE FROM USER_CONS_COLUMNS T4,USER_CONSTRAINTS T5 " +
+        "WHERE T4.CONSTRAINT_NAME = T5.CONSTRAINT_NAME AND T5.CONSTRAINT_TYPE = 'P'" +
+        ")T3 ON (T1.TABLE_NAME = T3.TABLE_NAME AND T1.COLUMN_NAME = T3.COLUMN_NAME) " +
+        "ORDER BY T1.TABLE_NAME,T1.COLUMN_ID";
+
     @Override
     public String tablesSql() {
         return "SELECT * FROM (SELECT DISTINCT T1.TABLE_NAME,T2.COMMENTS AS TABLE_COMMENT FROM USER_TAB_COLUMNS T1 " +
@@ -45,6 +59,16 @@ public class GaussQuery extends AbstractDbQuery {
                 "ORDER BY T1.TABLE_NAME,T1.COLUMN_ID";
     }
 
+    @Override
+    public String tableFieldsPreparedSql() {
+        return tableFieldsSql().replace("'%s'", "?");
+    }
+
+    @Override
+    public String bulkTableFieldsSql() {
+        return BULK_TABLE_FIELDS_SQL;
+    }
+
     @Override
     public String tableName() {
         return "TABLE_NAME";
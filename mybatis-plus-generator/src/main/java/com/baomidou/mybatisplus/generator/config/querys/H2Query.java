@@ -26,8 +26,17 @@ import java.sql.SQLException;
  */
 public class H2Query extends AbstractDbQuery {
 
+    /**
+     * @deprecated 3.5.0 使用 {@link #primaryKeysSql()} 批量查询主键
+     */
+    @Deprecated
     public static final String PK_QUERY_SQL = "select * from INFORMATION_SCHEMA.INDEXES WHERE TABLE_NAME = '%s'";
 
+    /**
+     * 当前 schema 下所有表的主键字段
+     */
+    public static final String PRIMARY_KEYS_SQL = "SELECT TABLE_NAME, COLUMN_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_SCHEMA = SCHEMA() AND PRIMARY_KEY = TRUE";
+
     @Override
     public String tablesSql() {
         return "SELECT * FROM INFORMATION_SCHEMA.TABLES WHERE 1=1 ";
@@ -38,6 +47,11 @@ public class H2Query extends AbstractDbQuery {
         return "SELECT * FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME= '%s' ";
     }
 
+    @Override
+    public String tableFieldsPreparedSql() {
+        return tableFieldsSql().replace("'%s'", "?");
+    }
+
     @Override
     public String tableName() {
         return "TABLE_NAME";
@@ -72,4 +86,27 @@ public class H2Query extends AbstractDbQuery {
     public boolean isKeyIdentity(ResultSet results) throws SQLException {
         return results.getString("SEQUENCE_NAME") != null;
     }
+
+    @Override
+    public String bulkTableFieldsSql() {
+        return "SELECT * FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_SCHEMA = SCHEMA() ORDER BY TABLE_NAME, ORDINAL_POSITION";
+    }
+
+    @Override
+    public String primaryKeysSql() {
+        return PRIMARY_KEYS_SQL;
+    }
+
+    /**
+     * LAST_MODIFICATION 在表结构或数据变更时都会变化
+     */
+    @Override
+    public String fingerprintSql() {
+        return "SELECT TABLE_NAME, LAST_MODIFICATION FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = SCHEMA() ORDER BY TABLE_NAME";
+    }
+
+    @Override
+    public String changeProbeSql() {
+        return "SELECT COUNT(*), MAX(LAST_MODIFICATION) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = SCHEMA()";
+    }
 }
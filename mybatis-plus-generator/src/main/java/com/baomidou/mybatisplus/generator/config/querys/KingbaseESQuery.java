@@ -15,6 +15,9 @@
  */
 package com.baomidou.mybatisplus.generator.config.querys;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
 /**
  * KingbaseES 表数据查询
  *
@@ -23,6 +26,16 @@ package com.baomidou.mybatisplus.generator.config.querys;
  */
 public class KingbaseESQuery extends AbstractDbQuery {
 
+    /**
+     * 批量查询 schema 下所有表字段(列名与 {@link #tableFieldsSql()} 保持一致)
+     */
+    static final String BULK_TABLE_FIELDS_SQL = "SELECT B.relname AS table_name, A.attname AS name, format_type(A.atttypid, A.atttypmod) AS type, DS.description AS comment, (CASE C.contype WHEN 'p' THEN 'PRI' ELSE '' END) AS key, " +
+        "(CASE WHEN C.conrelid IS NOT NULL AND pg_get_serial_sequence(B.oid::regclass::text, A.attname) IS NOT NULL THEN 1 ELSE 0 END) AS identity " +
+        "FROM sys_class B INNER JOIN sys_namespace N ON N.oid = B.relnamespace INNER JOIN sys_attribute A ON A.attrelid = B.oid " +
+        "LEFT JOIN sys_constraint C ON A.attnum = C.conkey[1] AND A.attrelid = C.conrelid AND C.contype = 'p' " +
+        "LEFT JOIN sys_description DS ON DS.objoid = B.oid AND DS.classoid = 'sys_class'::regclass AND DS.objsubid = A.attnum " +
+        "WHERE N.nspname = #schema AND B.relkind IN ('r','p','v','m','f') AND A.attnum > 0 AND NOT A.attisdropped ORDER BY B.relname, A.attnum";
+
     @Override
     public String tablesSql() {
         return "SELECT A.tablename, obj_description(relfilenode, 'sys_class') AS comments FROM sys_tables A, sys_class B WHERE A.schemaname='%s' AND A.tablename = B.relname";
@@ -31,11 +44,22 @@ public class KingbaseESQuery extends AbstractDbQuery {
 
     @Override
     public String tableFieldsSql() {
-        return "SELECT A.attname AS name, format_type(A.atttypid, A.atttypmod) AS type,col_description(A.attrelid, A.attnum) AS comment, (CASE C.contype WHEN 'p' THEN 'PRI' ELSE '' END) AS key " +
-            "FROM sys_attribute A LEFT JOIN sys_constraint C ON A.attnum = C.conkey[1] AND A.attrelid = C.conrelid " +
+        return "SELECT A.attname AS name, format_type(A.atttypid, A.atttypmod) AS type,col_description(A.attrelid, A.attnum) AS comment, (CASE C.contype WHEN 'p' THEN 'PRI' ELSE '' END) AS key, " +
+            "(CASE WHEN C.conrelid IS NOT NULL AND pg_get_serial_sequence(A.attrelid::regclass::text, A.attname) IS NOT NULL THEN 1 ELSE 0 END) AS identity " +
+            "FROM sys_attribute A LEFT JOIN sys_constraint C ON A.attnum = C.conkey[1] AND A.attrelid = C.conrelid AND C.contype = 'p' " +
             "WHERE  A.attrelid = '%s.%s'::regclass AND A.attnum > 0 AND NOT A.attisdropped ORDER  BY A.attnum";
     }
 
+    @Override
+    public String tableFieldsPreparedSql() {
+        return tableFieldsSql().replace("'%s.%s'::regclass", "('#schema.' || ?)::regclass");
+    }
+
+    @Override
+    public String bulkTableFieldsSql() {
+        return BULK_TABLE_FIELDS_SQL;
+    }
+
 
     @Override
     public String tableName() {
@@ -72,4 +96,12 @@ public class KingbaseESQuery extends AbstractDbQuery {
         return "key";
     }
 
+    /**
+     * 主键为 serial 或 identity 字段(关联序列)时为自增
+     */
+    @Override
+    public boolean isKeyIdentity(ResultSet results) throws SQLException {
+        return 1 == results.getInt("identity");
+    }
+
 }
@@ -78,4 +78,22 @@ public class MariadbQuery extends AbstractDbQuery {
     public boolean isKeyIdentity(ResultSet results) throws SQLException {
         return "auto_increment".equals(results.getString("Extra"));
     }
+
+
+    @Override
+    public String bulkTableFieldsSql() {
+        return MySqlQuery.BULK_TABLE_FIELDS_SQL;
+    }
+
+
+    @Override
+    public String fingerprintSql() {
+        return MySqlQuery.FINGERPRINT_SQL;
+    }
+
+
+    @Override
+    public String changeProbeSql() {
+        return MySqlQuery.CHANGE_PROBE_SQL;
+    }
 }
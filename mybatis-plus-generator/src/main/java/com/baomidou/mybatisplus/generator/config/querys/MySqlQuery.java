@@ -26,6 +26,28 @@ import java.sql.SQLException;
  */
 public class MySqlQuery extends AbstractDbQuery {
 
+    /**
+     * 批量查询当前库所有表字段(列名与 show full fields 保持一致)
+     */
+    static final String BULK_TABLE_FIELDS_SQL = "SELECT TABLE_NAME, COLUMN_NAME AS `Field`, COLUMN_TYPE AS `Type`, COLLATION_NAME AS `Collation`, "
+        + "IS_NULLABLE AS `Null`, COLUMN_KEY AS `Key`, COLUMN_DEFAULT AS `Default`, EXTRA AS `Extra`, `PRIVILEGES` AS `Privileges`, "
+        + "COLUMN_COMMENT AS `Comment` FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE() ORDER BY TABLE_NAME, ORDINAL_POSITION";
+
+    /**
+     * 表结构指纹(字段定义与表注释的校验和)
+     */
+    static final String FINGERPRINT_SQL = "SELECT c.TABLE_NAME, CONCAT(COUNT(*), ':', SUM(CRC32(CONCAT_WS('|', c.ORDINAL_POSITION, c.COLUMN_NAME, "
+        + "c.COLUMN_TYPE, c.IS_NULLABLE, c.COLUMN_KEY, c.EXTRA, IFNULL(c.COLUMN_DEFAULT, ''), c.COLUMN_COMMENT))), ':', "
+        + "CRC32(IFNULL(t.TABLE_COMMENT, ''))) FROM information_schema.COLUMNS c JOIN information_schema.TABLES t "
+        + "ON t.TABLE_SCHEMA = c.TABLE_SCHEMA AND t.TABLE_NAME = c.TABLE_NAME WHERE c.TABLE_SCHEMA = DATABASE() "
+        + "GROUP BY c.TABLE_NAME, t.TABLE_COMMENT";
+
+    /**
+     * 表结构变化探测(表数量与最后创建、更新时间)
+     */
+    static final String CHANGE_PROBE_SQL = "SELECT COUNT(*), MAX(CREATE_TIME), MAX(UPDATE_TIME) FROM information_schema.TABLES "
+        + "WHERE TABLE_SCHEMA = DATABASE()";
+
     @Override
     public String tablesSql() {
         return "show table status WHERE 1=1 ";
@@ -78,4 +100,22 @@ public class MySqlQuery extends AbstractDbQuery {
     public boolean isKeyIdentity(ResultSet results) throws SQLException {
         return "auto_increment".equals(results.getString("Extra"));
     }
+
+
+    @Override
+    public String bulkTableFieldsSql() {
+        return BULK_TABLE_FIELDS_SQL;
+    }
+
+
+    @Override
+    public String fingerprintSql() {
+        return FINGERPRINT_SQL;
+    }
+
+
+    @Override
+    public String changeProbeSql() {
+        return CHANGE_PROBE_SQL;
+    }
 }
@@ -23,6 +23,20 @@ package com.baomidou.mybatisplus.generator.config.querys;
  */
 public class OracleQuery extends AbstractDbQuery {
 
+    /**
+     * 批量查询 schema 下所有表字段(字段注释与主键一并查询，列名与 {@link #tableFieldsSql()} 保持一致)
+     */
+    static final String BULK_TABLE_FIELDS_SQL = "SELECT A.TABLE_NAME, A.COLUMN_NAME, CASE WHEN A.DATA_TYPE='NUMBER' THEN "
+        + "(CASE WHEN A.DATA_PRECISION IS NULL THEN A.DATA_TYPE "
+        + "WHEN NVL(A.DATA_SCALE, 0) > 0 THEN A.DATA_TYPE||'('||A.DATA_PRECISION||','||A.DATA_SCALE||')' "
+        + "ELSE A.DATA_TYPE||'('||A.DATA_PRECISION||')' END) "
+        + "ELSE A.DATA_TYPE END DATA_TYPE, B.COMMENTS,DECODE(C.POSITION, '1', 'PRI') KEY "
+        + "FROM ALL_TAB_COLUMNS A "
+        + " INNER JOIN ALL_COL_COMMENTS B ON A.TABLE_NAME = B.TABLE_NAME AND A.COLUMN_NAME = B.COLUMN_NAME AND B.OWNER = A.OWNER"
+        + " LEFT JOIN ALL_CONSTRAINTS D ON D.TABLE_NAME = A.TABLE_NAME AND D.CONSTRAINT_TYPE = 'P' AND D.OWNER = A.OWNER"
+        + " LEFT JOIN ALL_CONS_COLUMNS C ON C.CONSTRAINT_NAME = D.CONSTRAINT_NAME AND C.COLUMN_NAME=A.COLUMN_NAME AND C.OWNER = A.OWNER"
+        + " WHERE A.OWNER = #schema ORDER BY A.TABLE_NAME, A.COLUMN_ID";
+
     @Override
     public String tablesSql() {
         return "SELECT * FROM ALL_TAB_COMMENTS WHERE OWNER='%s'";
@@ -43,6 +57,16 @@ public class OracleQuery extends AbstractDbQuery {
             + "WHERE A.OWNER = '#schema' AND A.TABLE_NAME = '%s' ORDER BY A.COLUMN_ID ";
     }
 
+    @Override
+    public String tableFieldsPreparedSql() {
+        return tableFieldsSql().replace("'%s'", "?");
+    }
+
+    @Override
+    public String bulkTableFieldsSql() {
+        return BULK_TABLE_FIELDS_SQL;
+    }
+
 
     @Override
     public String tableName() {
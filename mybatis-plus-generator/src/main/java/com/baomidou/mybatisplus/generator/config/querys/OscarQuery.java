@@ -34,6 +34,11 @@ public class OscarQuery extends AbstractDbQuery {
             "GROUP BY T1.COLUMN_NAME,T1.DATA_TYPE,T2.COMMENTS,T3.CONSTRAINT_TYPE ";
     }
 
+    @Override
+    public String tableFieldsPreparedSql() {
+        return tableFieldsSql().replace("'%s'", "?");
+    }
+
     @Override
     public String tableName() {
         return "TABLE_NAME";
@@ -15,6 +15,9 @@
  */
 package com.baomidou.mybatisplus.generator.config.querys;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
 /**
  * PostgreSql 表数据查询
  *
@@ -23,6 +26,40 @@ package com.baomidou.mybatisplus.generator.config.querys;
  */
 public class PostgreSqlQuery extends AbstractDbQuery {
 
+    /**
+     * 批量查询 schema 下所有表字段(列名与 {@link #tableFieldsSql()} 保持一致)
+     */
+    static final String BULK_TABLE_FIELDS_SQL = "SELECT C.relname AS table_name,A.attname AS name,format_type (A.atttypid,A.atttypmod) AS type,DS.description AS comment,\n" +
+        "(CASE WHEN PC.conrelid IS NOT NULL THEN 'PRI' ELSE '' END) AS key,\n" +
+        "(CASE WHEN PC.conrelid IS NOT NULL AND pg_get_serial_sequence(C.oid::regclass::text,A.attname) IS NOT NULL THEN 1 ELSE 0 END) AS identity \n" +
+        "FROM pg_class AS C INNER JOIN pg_namespace AS N ON N.oid = C.relnamespace INNER JOIN pg_attribute AS A ON A.attrelid = C.oid \n" +
+        "LEFT JOIN pg_constraint AS PC ON PC.conrelid = C.oid AND PC.contype = 'p' AND A.attnum = PC.conkey[1] \n" +
+        "LEFT JOIN pg_description AS DS ON DS.objoid = C.oid AND DS.classoid = 'pg_class'::regclass AND DS.objsubid = A.attnum \n" +
+        "WHERE N.nspname = #schema AND C.relkind IN ('r','p','v','m','f') AND A.attnum> 0 AND NOT A.attisdropped ORDER BY C.relname,A.attnum";
+
+    /**
+     * 表结构变化探测
+     * <p>系统表的行在 DDL、COMMENT 时会产生新版本(xmin 变化)，汇总 schema 下表、字段、注释、约束的行数与 xmin 即可判断表结构是否变化。</p>
+     */
+    static final String CHANGE_PROBE_SQL = "SELECT 'class', COUNT(*) || ':' || SUM(C.xmin::text::bigint) || ':' || SUM(C.relfilenode::bigint) FROM pg_class AS C \n" +
+        "INNER JOIN pg_namespace AS N ON N.oid = C.relnamespace WHERE N.nspname = #schema AND C.relkind IN ('r','p','v','m','f') \n" +
+        "UNION ALL SELECT 'attribute', COUNT(*) || ':' || SUM(A.xmin::text::bigint) FROM pg_attribute AS A INNER JOIN pg_class AS C ON C.oid = A.attrelid \n" +
+        "INNER JOIN pg_namespace AS N ON N.oid = C.relnamespace WHERE N.nspname = #schema AND C.relkind IN ('r','p','v','m','f') AND A.attnum > 0 \n" +
+        "UNION ALL SELECT 'description', COUNT(*) || ':' || SUM(DS.xmin::text::bigint) FROM pg_description AS DS INNER JOIN pg_class AS C ON C.oid = DS.objoid \n" +
+        "INNER JOIN pg_namespace AS N ON N.oid = C.relnamespace WHERE N.nspname = #schema AND DS.classoid = 'pg_class'::regclass \n" +
+        "UNION ALL SELECT 'constraint', COUNT(*) || ':' || SUM(PC.xmin::text::bigint) FROM pg_constraint AS PC \n" +
+        "INNER JOIN pg_namespace AS N ON N.oid = PC.connamespace WHERE N.nspname = #schema";
+
+    /**
+     * 表结构指纹
+     * <p>按表汇总表、字段、注释、约束在系统表中的行数与 xmin，表结构或注释变化时随之变化。</p>
+     */
+    static final String FINGERPRINT_SQL = "SELECT C.relname, C.xmin::text || ':' || C.relfilenode || ':' || \n" +
+        "(SELECT COUNT(*) || ':' || COALESCE(SUM(A.xmin::text::bigint), 0) FROM pg_attribute AS A WHERE A.attrelid = C.oid AND A.attnum > 0) || ':' || \n" +
+        "(SELECT COUNT(*) || ':' || COALESCE(SUM(DS.xmin::text::bigint), 0) FROM pg_description AS DS WHERE DS.objoid = C.oid AND DS.classoid = 'pg_class'::regclass) || ':' || \n" +
+        "(SELECT COUNT(*) || ':' || COALESCE(SUM(PC.xmin::text::bigint), 0) FROM pg_constraint AS PC WHERE PC.conrelid = C.oid) \n" +
+        "FROM pg_class AS C INNER JOIN pg_namespace AS N ON N.oid = C.relnamespace WHERE N.nspname = #schema AND C.relkind IN ('r','p','v','m','f')";
+
     @Override
     public String tablesSql() {
         return "SELECT A.tablename, obj_description(relfilenode, 'pg_class') AS comments FROM pg_tables A, pg_class B WHERE A.schemaname='%s' AND A.tablename = B.relname";
@@ -32,8 +69,32 @@ public class PostgreSqlQuery extends AbstractDbQuery {
     @Override
     public String tableFieldsSql() {
         return "SELECT A.attname AS name,format_type (A.atttypid,A.atttypmod) AS type,col_description (A.attrelid,A.attnum) AS comment,\n" +
-            "(CASE WHEN (SELECT COUNT (*) FROM pg_constraint AS PC WHERE A.attnum = PC.conkey[1] AND PC.contype = 'p') > 0 THEN 'PRI' ELSE '' END) AS key \n" +
-            "FROM pg_class AS C,pg_attribute AS A WHERE A.attrelid='\"%s\"'::regclass AND A.attrelid= C.oid AND A.attnum> 0 AND NOT A.attisdropped ORDER  BY A.attnum";
+            "(CASE WHEN PC.conrelid IS NOT NULL THEN 'PRI' ELSE '' END) AS key,\n" +
+            "(CASE WHEN PC.conrelid IS NOT NULL AND pg_get_serial_sequence(A.attrelid::regclass::text,A.attname) IS NOT NULL THEN 1 ELSE 0 END) AS identity \n" +
+            "FROM pg_attribute AS A LEFT JOIN pg_constraint AS PC ON PC.conrelid = A.attrelid AND PC.contype = 'p' AND A.attnum = PC.conkey[1] \n" +
+            "WHERE A.attrelid='\"%s\"'::regclass AND A.attnum> 0 AND NOT A.attisdropped ORDER  BY A.attnum";
+    }
+
+    @Override
+    public String tableFieldsPreparedSql() {
+        return tableFieldsSql().replace("'\"%s\"'::regclass", "quote_ident(?)::regclass");
+    }
+
+    @Override
+    public String bulkTableFieldsSql() {
+        return BULK_TABLE_FIELDS_SQL;
+    }
+
+
+    @Override
+    public String fingerprintSql() {
+        return FINGERPRINT_SQL;
+    }
+
+
+    @Override
+    public String changeProbeSql() {
+        return CHANGE_PROBE_SQL;
     }
 
 
@@ -72,4 +133,12 @@ public class PostgreSqlQuery extends AbstractDbQuery {
         return "key";
     }
 
+    /**
+     * 主键为 serial 或 identity 字段(关联序列)时为自增
+     */
+    @Override
+    public boolean isKeyIdentity(ResultSet results) throws SQLException {
+        return 1 == results.getInt("identity");
+    }
+
 }
@@ -54,6 +54,11 @@ public class SqlServerQuery extends AbstractDbQuery {
             + " WHERE a.name = '%s' and sys.types.name !='sysname' ";
     }
 
+    @Override
+    public String tableFieldsPreparedSql() {
+        return tableFieldsSql().replace("'%s'", "?");
+    }
+
     @Override
     public String tableName() {
         return "TABLE_NAME";
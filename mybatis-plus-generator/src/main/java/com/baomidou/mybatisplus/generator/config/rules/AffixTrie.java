@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2011-2021, baomidou (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.baomidou.mybatisplus.generator.config.rules;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * 前缀(后缀)字典树
+ * <p>
+ * 预编译前缀或后缀集合,忽略大小写,一次遍历名称找出最长的匹配项,匹配过程不创建对象.
+ *
+ * @since 3.5.0
+ */
+public final class AffixTrie {
+
+    private static final AffixTrie EMPTY = new AffixTrie(false);
+
+    private final Node root = new Node();
+
+    private final boolean suffix;
+
+    private AffixTrie(boolean suffix) {
+        this.suffix = suffix;
+    }
+
+    /**
+     * 编译前缀集合
+     *
+     * @param prefixes 前缀
+     * @return 前缀字典树
+     */
+    @NotNull
+    public static AffixTrie prefix(Collection<String> prefixes) {
+        return compile(prefixes, false);
+    }
+
+    /**
+     * 编译后缀集合
+     *
+     * @param suffixes 后缀
+     * @return 后缀字典树
+     */
+    @NotNull
+    public static AffixTrie suffix(Collection<String> suffixes) {
+        return compile(suffixes, true);
+    }
+
+    private static AffixTrie compile(Collection<String> affixes, boolean suffix) {
+        if (affixes == null || affixes.isEmpty()) {
+            return EMPTY;
+        }
+        AffixTrie trie = new AffixTrie(suffix);
+        for (String affix : affixes) {
+            String value = affix.toLowerCase(Locale.ROOT);
+            Node node = trie.root;
+            for (int i = 0; i < value.length(); i++) {
+                node = node.add(value.charAt(suffix ? value.length() - 1 - i : i));
+            }
+            node.length = affix.length();
+        }
+        return trie;
+    }
+
+    /**
+     * 是否为空集合
+     *
+     * @return 是否为空
+     */
+    public boolean isEmpty() {
+        return root.chars.length == 0 && root.length < 0;
+    }
+
+    /**
+     * 查找最长的匹配项
+     *
+     * @param name 名称
+     * @return 匹配项的长度, 无匹配时返回 -1
+     */
+    public int match(@NotNull String name) {
+        Node node = root;
+        int matched = node.length;
+        int length = name.length();
+        for (int i = 0; i < length; i++) {
+            node = node.get(Character.toLowerCase(name.charAt(suffix ? length - 1 - i : i)));
+            if (node == null) {
+                break;
+            }
+            if (node.length >= 0) {
+                matched = node.length;
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * 去掉最长的匹配项
+     *
+     * @param name 名称
+     * @return 去掉匹配项后的名称
+     */
+    @NotNull
+    public String remove(@NotNull String name) {
+        int matched = match(name);
+        if (matched <= 0) {
+            return name;
+        }
+        return suffix ? name.substring(0, name.length() - matched) : name.substring(matched);
+    }
+
+    private static class Node {
+
+        private char[] chars = new char[0];
+
+        private Node[] children = new Node[0];
+
+        /**
+         * 以当前节点结束的前缀(后缀)原始长度, 非结束节点为 -1
+         */
+        private int length = -1;
+
+        private Node get(char c) {
+            char[] chars = this.chars;
+            for (int i = 0; i < chars.length; i++) {
+                if (chars[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node add(char c) {
+            Node node = get(c);
+            if (node == null) {
+                node = new Node();
+                chars = Arrays.copyOf(chars, chars.length + 1);
+                chars[chars.length - 1] = c;
+                children = Arrays.copyOf(children, children.length + 1);
+                children[children.length - 1] = node;
+            }
+            return node;
+        }
+    }
+}
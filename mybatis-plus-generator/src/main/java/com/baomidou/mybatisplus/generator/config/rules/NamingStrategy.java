@@ -19,7 +19,6 @@ import com.baomidou.mybatisplus.core.toolkit.StringPool;
 import com.baomidou.mybatisplus.core.toolkit.StringUtils;
 import com.baomidou.mybatisplus.generator.config.ConstVal;
 
-import java.util.Arrays;
 import java.util.Set;
 
 /**
@@ -46,26 +45,67 @@ public enum NamingStrategy {
         }
         String tempName = name;
         // 大写数字下划线组成转为小写 , 允许混合模式转为小写
-        if (StringUtils.isCapitalMode(name) || StringUtils.isMixedMode(name)) {
+        if (isCapitalOrMixedMode(name)) {
             tempName = name.toLowerCase();
         }
-        StringBuilder result = new StringBuilder();
-        // 用下划线将原始字符串分割
-        String[] camels = tempName.split(ConstVal.UNDERLINE);
-        // 跳过原始字符串中开头、结尾的下换线或双重下划线
-        // 处理真正的驼峰片段
-        Arrays.stream(camels).filter(camel -> !StringUtils.isBlank(camel)).forEach(camel -> {
-            if (result.length() == 0) {
-                // 第一个驼峰片段，首字母都小写
-                result.append(StringUtils.firstToLowerCase(camel));
-            } else {
-                // 其他的驼峰片段，首字母大写
-                result.append(capitalFirst(camel));
+        int length = tempName.length();
+        StringBuilder result = new StringBuilder(length);
+        // 按下划线分段,跳过原始字符串中开头、结尾的下换线或双重下划线
+        int start = 0;
+        while (start < length) {
+            int end = tempName.indexOf(ConstVal.UNDERLINE, start);
+            if (end < 0) {
+                end = length;
             }
-        });
+            if (!isBlank(tempName, start, end)) {
+                // 第一个驼峰片段首字母小写,其他的驼峰片段首字母大写
+                appendFirst(result, tempName.charAt(start), result.length() > 0);
+                result.append(tempName, start + 1, end);
+            }
+            start = end + 1;
+        }
         return result.toString();
     }
 
+    /**
+     * 同 {@link StringUtils#isCapitalMode(String)} || {@link StringUtils#isMixedMode(String)}, 只遍历一次
+     */
+    private static boolean isCapitalOrMixedMode(String name) {
+        boolean capital = true;
+        boolean upperCase = false;
+        boolean separator = false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                upperCase = true;
+            } else if (c == '_' || c == '/') {
+                separator = true;
+            } else if (c < '0' || c > '9') {
+                capital = false;
+            }
+        }
+        return capital || (upperCase && separator);
+    }
+
+    private static boolean isBlank(String str, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(str.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void appendFirst(StringBuilder result, char c, boolean upperCase) {
+        if (c < 128) {
+            result.append(upperCase ? Character.toUpperCase(c) : Character.toLowerCase(c));
+        } else {
+            // 非 ASCII 字符大小写转换后长度可能变化
+            String first = String.valueOf(c);
+            result.append(upperCase ? first.toUpperCase() : first.toLowerCase());
+        }
+    }
+
     /**
      * 去掉指定的前缀
      *
@@ -74,12 +114,22 @@ public enum NamingStrategy {
      * @return 转换后的字符串
      */
     public static String removePrefix(String name, Set<String> prefix) {
+        return removePrefix(name, AffixTrie.prefix(prefix));
+    }
+
+    /**
+     * 去掉匹配的最长前缀
+     *
+     * @param name   表名
+     * @param prefix 前缀字典树
+     * @return 转换后的字符串
+     * @since 3.5.0
+     */
+    public static String removePrefix(String name, AffixTrie prefix) {
         if (StringUtils.isBlank(name)) {
             return StringPool.EMPTY;
         }
-        // 判断是否有匹配的前缀，然后截取前缀
-        return prefix.stream().filter(pf -> name.toLowerCase().startsWith(pf.toLowerCase()))
-            .findFirst().map(pf -> name.substring(pf.length())).orElse(name);
+        return prefix.remove(name);
     }
 
     public static String removePrefixAndCamel(String name, Set<String> tablePrefix) {
@@ -118,16 +168,21 @@ public enum NamingStrategy {
      * @return ignore
      */
     private static String removeSuffix(String name, Set<String> suffixes) {
+        return removeSuffix(name, AffixTrie.suffix(suffixes));
+    }
+
+    /**
+     * 去掉匹配的最长后缀
+     *
+     * @param name     ignore
+     * @param suffixes 后缀字典树
+     * @return ignore
+     * @since 3.5.0
+     */
+    public static String removeSuffix(String name, AffixTrie suffixes) {
         if (StringUtils.isBlank(name)) {
             return StringPool.EMPTY;
         }
-        if (null != suffixes) {
-            // 判断是否有匹配的后缀，然后截取后缀
-            // 删除后缀
-            return suffixes.stream().filter(suffix -> name.toLowerCase()
-                .endsWith(suffix.toLowerCase()))
-                .findFirst().map(suffix -> name.substring(0, name.length() - suffix.length())).orElse(name);
-        }
-        return name;
+        return suffixes.remove(name);
     }
 }
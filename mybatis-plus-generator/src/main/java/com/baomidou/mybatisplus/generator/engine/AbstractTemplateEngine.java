@@ -22,19 +22,30 @@ import com.baomidou.mybatisplus.generator.config.OutputFile;
 import com.baomidou.mybatisplus.generator.config.TemplateConfig;
 import com.baomidou.mybatisplus.generator.config.builder.ConfigBuilder;
 import com.baomidou.mybatisplus.generator.config.po.TableInfo;
-import com.baomidou.mybatisplus.generator.util.FileUtils;
 import com.baomidou.mybatisplus.generator.util.RuntimeUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
 
@@ -53,6 +64,40 @@ public abstract class AbstractTemplateEngine {
      */
     private ConfigBuilder configBuilder;
 
+    /**
+     * 多线程生成文件的线程池
+     */
+    private ExecutorService outputExecutor;
+
+    /**
+     * 多线程生成文件时的异常
+     */
+    private final AtomicReference<Throwable> outputError = new AtomicReference<>();
+
+    /**
+     * 文件生成统计
+     */
+    private final OutputSummary outputSummary = new OutputSummary();
+
+    /**
+     * 指定的输出目标(为空时输出到文件系统)
+     */
+    private OutputSink outputSink;
+
+    /**
+     * 批量输出时使用的输出目标
+     */
+    private OutputSink currentSink;
+
+    /**
+     * 不在批量输出中输出文件时使用的输出目标(首次使用时创建)
+     */
+    private FileSystemOutputSink fallbackSink;
+
+    /**
+     * 子类是否在内置模板引擎之下重写了 {@link #writer(Map, String, File)}
+     */
+    private final boolean writerOverridden = isWriterOverridden();
 
     /**
      * 模板引擎初始化
@@ -161,20 +206,93 @@ public abstract class AbstractTemplateEngine {
      */
     protected void outputFile(@NotNull File file, @NotNull Map<String, Object> objectMap, @NotNull String templatePath) {
         if (isCreate(file)) {
-            try {
-                // 全局判断【默认】
-                boolean exist = file.exists();
-                if (!exist) {
-                    File parentFile = file.getParentFile();
-                    FileUtils.forceMkdir(parentFile);
-                }
-                writer(objectMap, templatePath, file);
-            } catch (Exception exception) {
-                throw new RuntimeException(exception);
+            ExecutorService executorService = this.outputExecutor;
+            if (executorService == null) {
+                writeFile(file, objectMap, templatePath);
+            } else {
+                // 并行生成时每个文件使用独立的渲染数据,避免模板中的赋值相互影响
+                Map<String, Object> fileObjectMap = new HashMap<>(objectMap);
+                executorService.execute(() -> {
+                    if (outputError.get() == null) {
+                        try {
+                            writeFile(file, fileObjectMap, templatePath);
+                        } catch (Throwable throwable) {
+                            outputError.compareAndSet(null, throwable);
+                        }
+                    }
+                });
+            }
+        } else {
+            outputSummary.skipped();
+        }
+    }
+
+    /**
+     * 渲染到内存后交由输出目标写入
+     */
+    private void writeFile(@NotNull File file, @NotNull Map<String, Object> objectMap, @NotNull String templatePath) {
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+            if (writerOverridden) {
+                renderByWriter(objectMap, templatePath, buffer);
+            } else {
+                render(objectMap, templatePath, buffer);
+            }
+            OutputSink sink = this.currentSink;
+            boolean written;
+            if (sink != null) {
+                written = sink.write(getSinkPath(file), buffer.toByteArray());
+            } else {
+                written = writeFallback(getSinkPath(file), buffer.toByteArray());
             }
+            if (written) {
+                outputSummary.written();
+                logger.debug("模板:" + templatePath + ";  文件:" + file);
+            } else {
+                outputSummary.unchanged();
+            }
+        } catch (Exception exception) {
+            throw new RuntimeException(exception);
         }
     }
 
+    /**
+     * 不在批量输出中调用 {@link #outputFile(File, Map, String)} 时写入文件系统
+     * <p>所有文件共用一个在调用线程同步写入的输出目标,不创建写入线程池,写入后即完成(开启同步时同步到磁盘).</p>
+     */
+    private boolean writeFallback(@NotNull String path, byte[] content) throws IOException {
+        FileSystemOutputSink sink;
+        synchronized (this) {
+            if (fallbackSink == null) {
+                GlobalConfig globalConfig = getConfigBuilder().getGlobalConfig();
+                fallbackSink = new FileSystemOutputSink(globalConfig.getOutputDir(),
+                    new OutputFileWriter(0, globalConfig.isAtomicWrite(), globalConfig.isSyncOnFinish()));
+            }
+            sink = fallbackSink;
+        }
+        boolean written = sink.write(path, content);
+        // 同步写入时关闭只将已写入的文件同步到磁盘,输出目标可继续使用
+        sink.close();
+        return written;
+    }
+
+    /**
+     * 获取文件在输出目标中的路径
+     *
+     * @param file 文件
+     * @return 相对输出目录的路径,输出目录之外的文件返回绝对路径
+     * @since 3.5.0
+     */
+    @NotNull
+    protected String getSinkPath(@NotNull File file) {
+        Path outputDir = Paths.get(getConfigBuilder().getGlobalConfig().getOutputDir()).toAbsolutePath().normalize();
+        Path path = file.toPath().toAbsolutePath().normalize();
+        if (path.startsWith(outputDir)) {
+            path = outputDir.relativize(path);
+        }
+        return path.toString().replace(File.separatorChar, '/');
+    }
+
     /**
      * 获取模板路径
      *
@@ -210,25 +328,142 @@ public abstract class AbstractTemplateEngine {
     public AbstractTemplateEngine batchOutput() {
         try {
             ConfigBuilder config = this.getConfigBuilder();
-            List<TableInfo> tableInfoList = config.getTableInfoList();
-            tableInfoList.forEach(tableInfo -> {
-                Map<String, Object> objectMap = this.getObjectMap(config, tableInfo);
-                Optional.ofNullable(config.getInjectionConfig()).ifPresent(t -> t.beforeOutputFile(tableInfo, objectMap));
-                // Mp.java
-                outputEntity(tableInfo, objectMap);
-                // mapper and xml
-                outputMapper(tableInfo, objectMap);
-                // service
-                outputService(tableInfo, objectMap);
-                // MpController.java
-                outputController(tableInfo, objectMap);
-            });
+            GlobalConfig globalConfig = config.getGlobalConfig();
+            outputSummary.reset();
+            currentSink = outputSink != null ? outputSink : new FileSystemOutputSink(globalConfig);
+            int threads = globalConfig.getOutputThreads();
+            if (threads > 1) {
+                startParallelOutput(threads);
+            }
+            try {
+                if (globalConfig.isStreaming()) {
+                    streamingOutput(config);
+                } else {
+                    List<TableInfo> tableInfoList = config.getTableInfoList();
+                    tableInfoList.forEach(tableInfo -> outputTable(config, tableInfo));
+                }
+                awaitParallelOutput();
+                currentSink.close();
+                logger.info("生成文件完成: {}", outputSummary);
+            } finally {
+                if (outputExecutor != null) {
+                    outputExecutor.shutdownNow();
+                    outputExecutor = null;
+                }
+                if (currentSink instanceof FileSystemOutputSink) {
+                    ((FileSystemOutputSink) currentSink).abort();
+                }
+                currentSink = null;
+            }
         } catch (Exception e) {
             throw new RuntimeException("无法创建文件，请检查配置信息！", e);
         }
         return this;
     }
 
+    /**
+     * 开启多线程生成文件，渲染数据与注入回调仍在当前线程按顺序执行，文件渲染与写入由线程池处理
+     *
+     * @param threads 线程数
+     */
+    private void startParallelOutput(int threads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        outputError.set(null);
+        // 队列满时由当前线程渲染,限制等待渲染的文件数量
+        outputExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(threads * 4), r -> {
+            Thread thread = new Thread(r, "mp-generator-output-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * 等待所有文件生成完成
+     *
+     * @throws InterruptedException 线程中断
+     */
+    private void awaitParallelOutput() throws InterruptedException {
+        if (outputExecutor != null) {
+            outputExecutor.shutdown();
+            outputExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            Throwable throwable = outputError.get();
+            if (throwable != null) {
+                throw throwable instanceof RuntimeException ? (RuntimeException) throwable : new RuntimeException(throwable);
+            }
+        }
+    }
+
+    /**
+     * 输出表对应的所有文件
+     *
+     * @param config    配置信息
+     * @param tableInfo 表信息
+     * @since 3.5.0
+     */
+    protected void outputTable(@NotNull ConfigBuilder config, @NotNull TableInfo tableInfo) {
+        Map<String, Object> objectMap = this.getObjectMap(config, tableInfo);
+        Optional.ofNullable(config.getInjectionConfig()).ifPresent(t -> t.beforeOutputFile(tableInfo, objectMap));
+        // Mp.java
+        outputEntity(tableInfo, objectMap);
+        // mapper and xml
+        outputMapper(tableInfo, objectMap);
+        // service
+        outputService(tableInfo, objectMap);
+        // MpController.java
+        outputController(tableInfo, objectMap);
+    }
+
+    /**
+     * 流式输出，读取表信息的线程将处理完成的表放入队列，当前线程生成文件
+     *
+     * @param config 配置信息
+     * @throws InterruptedException 线程中断
+     * @since 3.5.0
+     */
+    protected void streamingOutput(@NotNull ConfigBuilder config) throws InterruptedException {
+        // Optional.empty() 表示表信息读取结束
+        BlockingQueue<Optional<TableInfo>> queue = new ArrayBlockingQueue<>(config.getGlobalConfig().getStreamingQueueSize());
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread producer = new Thread(() -> {
+            try {
+                config.queryTableInfo(tableInfo -> {
+                    try {
+                        queue.put(Optional.of(tableInfo));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RuntimeException(e);
+                    }
+                });
+            } catch (Throwable throwable) {
+                error.set(throwable);
+            } finally {
+                try {
+                    queue.put(Optional.empty());
+                } catch (InterruptedException ignored) {
+                    // 生成文件已中止
+                }
+            }
+        }, "mp-generator-metadata");
+        producer.setDaemon(true);
+        producer.start();
+        try {
+            Optional<TableInfo> tableInfo;
+            while ((tableInfo = queue.take()).isPresent()) {
+                outputTable(config, tableInfo.get());
+            }
+        } finally {
+            if (producer.isAlive()) {
+                producer.interrupt();
+            }
+            producer.join();
+        }
+        Throwable throwable = error.get();
+        if (throwable != null) {
+            throw throwable instanceof RuntimeException ? (RuntimeException) throwable : new RuntimeException(throwable);
+        }
+    }
+
     /**
      * 输出文件
      *
@@ -271,10 +506,85 @@ public abstract class AbstractTemplateEngine {
         logger.debug("模板:" + templatePath + ";  文件:" + outputFile);
     }
 
+    /**
+     * 将模板渲染到输出流(UTF-8)
+     * <p>
+     * 内置模板引擎均直接渲染到输出流,未重写此方法的自定义模板引擎通过 {@link #writer(Map, String, File)} 渲染到临时文件后复制.
+     *
+     * @param objectMap    渲染对象 MAP 信息
+     * @param templatePath 模板文件
+     * @param outputStream 输出流(不会被关闭)
+     * @throws Exception 异常
+     * @since 3.5.0
+     */
+    public void render(@NotNull Map<String, Object> objectMap, @NotNull String templatePath, @NotNull OutputStream outputStream) throws Exception {
+        renderByWriter(objectMap, templatePath, outputStream);
+    }
+
+    /**
+     * 通过 {@link #writer(Map, String, File)} 渲染到临时文件后复制到输出流
+     */
+    private void renderByWriter(@NotNull Map<String, Object> objectMap, @NotNull String templatePath, @NotNull OutputStream outputStream) throws Exception {
+        File tempFile = File.createTempFile("mp-generator", null);
+        try {
+            this.writer(objectMap, templatePath, tempFile);
+            Files.copy(tempFile.toPath(), outputStream);
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+    }
+
+    /**
+     * 判断 {@link #writer(Map, String, File)} 是否在 {@link #render(Map, String, OutputStream)} 的声明类之下被重写
+     * <p>
+     * 继承内置模板引擎并只重写 writer 的子类,需要经由 writer 渲染才能保留自定义的输出逻辑.
+     */
+    private boolean isWriterOverridden() {
+        try {
+            Class<?> writerClass = getClass().getMethod("writer", Map.class, String.class, File.class).getDeclaringClass();
+            Class<?> renderClass = getClass().getMethod("render", Map.class, String.class, OutputStream.class).getDeclaringClass();
+            return writerClass != renderClass && renderClass.isAssignableFrom(writerClass);
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 获取文件生成统计
+     *
+     * @return 文件生成统计
+     * @since 3.5.0
+     */
+    @NotNull
+    public OutputSummary getOutputSummary() {
+        return outputSummary;
+    }
+
+    /**
+     * 设置输出目标,批量输出结束时会被关闭
+     *
+     * @param outputSink 输出目标
+     * @return this
+     * @since 3.5.0
+     */
+    @NotNull
+    public AbstractTemplateEngine setOutputSink(@Nullable OutputSink outputSink) {
+        this.outputSink = outputSink;
+        return this;
+    }
+
+    @Nullable
+    public OutputSink getOutputSink() {
+        return outputSink;
+    }
+
     /**
      * 打开输出目录
      */
     public void open() {
+        if (outputSink != null && !(outputSink instanceof FileSystemOutputSink)) {
+            return;
+        }
         String outDir = getConfigBuilder().getGlobalConfig().getOutputDir();
         if (StringUtils.isBlank(outDir) || !new File(outDir).exists()) {
             System.err.println("未找到输出目录：" + outDir);
@@ -354,7 +664,9 @@ public abstract class AbstractTemplateEngine {
      */
     protected boolean isCreate(@NotNull File file) {
         // 全局判断【默认】
-        return !file.exists() || getConfigBuilder().getGlobalConfig().isFileOverride();
+        OutputSink sink = this.currentSink;
+        boolean exists = sink != null ? sink.exists(getSinkPath(file)) : file.exists();
+        return !exists || getConfigBuilder().getGlobalConfig().isFileOverride();
     }
 
     /**
@@ -372,6 +684,10 @@ public abstract class AbstractTemplateEngine {
     @NotNull
     public AbstractTemplateEngine setConfigBuilder(@NotNull ConfigBuilder configBuilder) {
         this.configBuilder = configBuilder;
+        synchronized (this) {
+            // 输出目录与写入方式可能变化
+            this.fallbackSink = null;
+        }
         return this;
     }
 }
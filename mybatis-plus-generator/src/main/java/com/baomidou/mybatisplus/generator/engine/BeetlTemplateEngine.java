@@ -25,6 +25,10 @@ import org.jetbrains.annotations.NotNull;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.Map;
 
@@ -36,9 +40,13 @@ import java.util.Map;
  */
 public class BeetlTemplateEngine extends AbstractTemplateEngine {
 
-    private static Method method;
+    /**
+     * GroupTemplate.getTemplate 方法句柄(进程内只解析一次)
+     */
+    private static final MethodHandle GET_TEMPLATE;
 
     static {
+        Method method;
         try {
             method = GroupTemplate.class.getDeclaredMethod("getTemplate", Object.class);
         } catch (NoSuchMethodException e) {
@@ -49,28 +57,70 @@ public class BeetlTemplateEngine extends AbstractTemplateEngine {
                 throw new RuntimeException(exception);
             }
         }
+        try {
+            GET_TEMPLATE = MethodHandles.publicLookup().unreflect(method)
+                .asType(MethodType.methodType(Template.class, GroupTemplate.class, String.class));
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
     }
 
+    /**
+     * 进程内共享的 GroupTemplate,其内部缓存已编译的模板程序并自行检查资源修改
+     */
+    private static GroupTemplate sharedGroupTemplate;
+
     private GroupTemplate groupTemplate;
 
     @Override
     public @NotNull AbstractTemplateEngine init(@NotNull ConfigBuilder configBuilder) {
-        try {
-            Configuration cfg = Configuration.defaultConfiguration();
-            groupTemplate = new GroupTemplate(new ClasspathResourceLoader("/"), cfg);
-        } catch (IOException e) {
-            logger.error("初始化模板引擎失败:", e);
-            throw new RuntimeException(e);
-        }
+        groupTemplate = getSharedGroupTemplate();
         return this;
     }
 
+    private GroupTemplate getSharedGroupTemplate() {
+        synchronized (BeetlTemplateEngine.class) {
+            if (null == sharedGroupTemplate) {
+                try {
+                    Configuration cfg = Configuration.defaultConfiguration();
+                    sharedGroupTemplate = new GroupTemplate(new ClasspathResourceLoader("/"), cfg);
+                } catch (IOException e) {
+                    logger.error("初始化模板引擎失败:", e);
+                    throw new RuntimeException(e);
+                }
+            }
+            return sharedGroupTemplate;
+        }
+    }
+
     @Override
     public void writer(@NotNull Map<String, Object> objectMap, @NotNull String templatePath, @NotNull File outputFile) throws Exception {
-        Template template = (Template) method.invoke(groupTemplate, templatePath);
         try (FileOutputStream fileOutputStream = new FileOutputStream(outputFile)) {
-            template.binding(objectMap);
-            template.renderTo(fileOutputStream);
+            render(objectMap, templatePath, fileOutputStream);
+        }
+    }
+
+    @Override
+    public void render(@NotNull Map<String, Object> objectMap, @NotNull String templatePath, @NotNull OutputStream outputStream) throws Exception {
+        Template template = getTemplate(templatePath);
+        template.binding(objectMap);
+        template.renderTo(outputStream);
+    }
+
+    /**
+     * 获取模板(Beetl 模板实例持有绑定变量,不可复用,每次都需新建)
+     *
+     * @param templatePath 模板路径
+     * @return 模板
+     * @throws Exception 获取异常
+     */
+    private Template getTemplate(@NotNull String templatePath) throws Exception {
+        try {
+            return (Template) GET_TEMPLATE.invokeExact(groupTemplate, templatePath);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
         }
     }
 
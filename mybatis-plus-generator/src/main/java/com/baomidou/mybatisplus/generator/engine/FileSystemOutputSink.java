@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2011-2021, baomidou (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.baomidou.mybatisplus.generator.engine;
+
+import com.baomidou.mybatisplus.generator.config.GlobalConfig;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * 输出到文件系统(默认)
+ * <p>
+ * 写入前与已存在的文件比较,内容未变化时不重写,避免修改时间变化引起增量编译.
+ *
+ * @since 3.5.0
+ */
+public class FileSystemOutputSink implements OutputSink {
+
+    private final Path outputDir;
+
+    private final OutputFileWriter outputFileWriter;
+
+    /**
+     * @param globalConfig 全局配置(输出目录与写入方式)
+     */
+    public FileSystemOutputSink(@NotNull GlobalConfig globalConfig) {
+        this(globalConfig.getOutputDir(), new OutputFileWriter(globalConfig.getWriteThreads(), globalConfig.isAtomicWrite(), globalConfig.isSyncOnFinish()));
+    }
+
+    /**
+     * @param outputDir        输出目录
+     * @param outputFileWriter 文件写入
+     */
+    public FileSystemOutputSink(@NotNull String outputDir, @NotNull OutputFileWriter outputFileWriter) {
+        this.outputDir = Paths.get(outputDir);
+        this.outputFileWriter = outputFileWriter;
+    }
+
+    @Override
+    public boolean exists(@NotNull String path) {
+        return Files.exists(outputDir.resolve(path));
+    }
+
+    @Override
+    public boolean write(@NotNull String path, byte[] content) throws IOException {
+        Path file = outputDir.resolve(path);
+        if (Files.exists(file) && isSameContent(file, content)) {
+            return false;
+        }
+        outputFileWriter.write(file, content);
+        return true;
+    }
+
+    /**
+     * 判断文件内容是否一致(先比较长度,长度一致再比较内容)
+     *
+     * @param file    文件
+     * @param content 新内容
+     * @return 是否一致
+     * @throws IOException 读取异常
+     */
+    private static boolean isSameContent(@NotNull Path file, byte[] content) throws IOException {
+        return Files.size(file) == content.length && Arrays.equals(Files.readAllBytes(file), content);
+    }
+
+    /**
+     * 中止写入,丢弃尚未写入的文件
+     */
+    public void abort() {
+        outputFileWriter.abort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        outputFileWriter.close();
+    }
+}
@@ -22,9 +22,12 @@ import freemarker.template.Configuration;
 import freemarker.template.Template;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.Map;
 
 /**
@@ -34,26 +37,58 @@ import java.util.Map;
  * @since 2018-01-11
  */
 public class FreemarkerTemplateEngine extends AbstractTemplateEngine {
+
+    private static final TemplateCache<Template> TEMPLATE_CACHE = new TemplateCache<>();
+
+    private static Configuration sharedConfiguration;
+
     private Configuration configuration;
 
+    private boolean modifiedCheck;
+
     @Override
     public @NotNull FreemarkerTemplateEngine init(@NotNull ConfigBuilder configBuilder) {
-        configuration = new Configuration(Configuration.DEFAULT_INCOMPATIBLE_IMPROVEMENTS);
-        configuration.setDefaultEncoding(ConstVal.UTF8);
-        configuration.setClassForTemplateLoading(FreemarkerTemplateEngine.class, StringPool.SLASH);
+        configuration = getSharedConfiguration();
+        modifiedCheck = configBuilder.getTemplateConfig().isModifiedCheck();
         return this;
     }
 
+    /**
+     * 获取进程内共享的配置
+     * <p>
+     * 仅在 {@link TemplateCache} 未命中或模板已修改时才会调用 getTemplate,此时不再使用 Freemarker 自身缓存的旧模板.
+     *
+     * @return 配置
+     */
+    private static synchronized Configuration getSharedConfiguration() {
+        if (null == sharedConfiguration) {
+            Configuration configuration = new Configuration(Configuration.DEFAULT_INCOMPATIBLE_IMPROVEMENTS);
+            configuration.setDefaultEncoding(ConstVal.UTF8);
+            configuration.setClassForTemplateLoading(FreemarkerTemplateEngine.class, StringPool.SLASH);
+            configuration.setTemplateUpdateDelayMilliseconds(0);
+            sharedConfiguration = configuration;
+        }
+        return sharedConfiguration;
+    }
+
 
     @Override
     public void writer(@NotNull Map<String, Object> objectMap, @NotNull String templatePath, @NotNull File outputFile) throws Exception {
-        Template template = configuration.getTemplate(templatePath);
         try (FileOutputStream fileOutputStream = new FileOutputStream(outputFile)) {
-            template.process(objectMap, new OutputStreamWriter(fileOutputStream, ConstVal.UTF8));
+            render(objectMap, templatePath, fileOutputStream);
         }
     }
 
 
+    @Override
+    public void render(@NotNull Map<String, Object> objectMap, @NotNull String templatePath, @NotNull OutputStream outputStream) throws Exception {
+        Template template = TEMPLATE_CACHE.get(templatePath, modifiedCheck, configuration::getTemplate);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, ConstVal.UTF8));
+        template.process(objectMap, writer);
+        writer.flush();
+    }
+
+
     @Override
     public @NotNull String templateFilePath(@NotNull String filePath) {
         return filePath + ".ftl";
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2011-2021, baomidou (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.baomidou.mybatisplus.generator.engine;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 输出到内存,可用于直接返回生成结果或测试断言
+ *
+ * @since 3.5.0
+ */
+public class MemoryOutputSink implements OutputSink {
+
+    private final Map<String, byte[]> files = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean exists(@NotNull String path) {
+        return files.containsKey(path);
+    }
+
+    @Override
+    public boolean write(@NotNull String path, byte[] content) {
+        files.put(path, content);
+        return true;
+    }
+
+    /**
+     * 获取生成的文件(按路径排序)
+     *
+     * @return 路径与文件内容
+     */
+    @NotNull
+    public Map<String, byte[]> getFiles() {
+        return new TreeMap<>(files);
+    }
+
+    /**
+     * 获取生成的文件内容
+     *
+     * @param path 文件路径
+     * @return 文件内容,不存在时返回 null
+     */
+    public String getContent(@NotNull String path) {
+        byte[] content = files.get(path);
+        return content == null ? null : new String(content, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 清空生成的文件
+     */
+    public void clear() {
+        files.clear();
+    }
+}
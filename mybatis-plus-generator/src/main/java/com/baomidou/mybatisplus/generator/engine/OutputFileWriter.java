@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2011-2021, baomidou (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.baomidou.mybatisplus.generator.engine;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 文件写入阶段
+ * <p>
+ * 接收渲染完成的文件内容,通过 {@link FileChannel} 写入.可选独立线程池异步写入、临时文件原子替换及结束时统一同步到磁盘.
+ * 已创建的目录会被记录,同一目录不再重复检查.
+ *
+ * @since 3.5.0
+ */
+public class OutputFileWriter implements AutoCloseable {
+
+    private final boolean atomicWrite;
+
+    private final boolean syncOnFinish;
+
+    /**
+     * 写入线程池(为空时在调用线程同步写入)
+     */
+    private final ExecutorService executor;
+
+    /**
+     * 已确认存在的目录
+     */
+    private final Set<Path> directories = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 待同步到磁盘的文件
+     */
+    private final Queue<Path> writtenFiles = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 异步写入时的异常
+     */
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+    /**
+     * @param threads      写入线程数(0 表示同步写入)
+     * @param atomicWrite  是否原子写入
+     * @param syncOnFinish 是否在关闭时同步到磁盘
+     */
+    public OutputFileWriter(int threads, boolean atomicWrite, boolean syncOnFinish) {
+        this.atomicWrite = atomicWrite;
+        this.syncOnFinish = syncOnFinish;
+        if (threads > 0) {
+            AtomicInteger threadCount = new AtomicInteger();
+            // 队列满时由调用线程写入,限制内存中等待写入的文件数量
+            this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 4), r -> {
+                Thread thread = new Thread(r, "mp-generator-write-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+        } else {
+            this.executor = null;
+        }
+    }
+
+    /**
+     * 写入文件
+     *
+     * @param file    文件
+     * @param content 文件内容(提交后不可再修改)
+     * @throws IOException 同步写入异常或之前的异步写入异常
+     */
+    public void write(@NotNull Path file, byte[] content) throws IOException {
+        if (executor == null) {
+            doWrite(file, content);
+            return;
+        }
+        throwError();
+        executor.execute(() -> {
+            if (error.get() == null) {
+                try {
+                    doWrite(file, content);
+                } catch (Throwable throwable) {
+                    error.compareAndSet(null, throwable);
+                }
+            }
+        });
+    }
+
+    private void doWrite(@NotNull Path file, byte[] content) throws IOException {
+        Path target = file.toAbsolutePath();
+        Path parent = target.getParent();
+        if (parent != null && !directories.contains(parent)) {
+            Files.createDirectories(parent);
+            directories.add(parent);
+        }
+        if (atomicWrite) {
+            // 不使用 Files.createTempFile,其在 POSIX 系统下创建的文件权限为 600
+            Path temp = target.resolveSibling("." + target.getFileName() + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+            try {
+                writeChannel(temp, content, StandardOpenOption.CREATE_NEW);
+                move(temp, target);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+        } else {
+            writeChannel(target, content, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+        if (syncOnFinish) {
+            writtenFiles.add(target);
+        }
+    }
+
+    private static void writeChannel(@NotNull Path path, byte[] content, StandardOpenOption... options) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, concat(options))) {
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    private static StandardOpenOption[] concat(StandardOpenOption... options) {
+        StandardOpenOption[] openOptions = new StandardOpenOption[options.length + 1];
+        openOptions[0] = StandardOpenOption.WRITE;
+        System.arraycopy(options, 0, openOptions, 1, options.length);
+        return openOptions;
+    }
+
+    private static void move(@NotNull Path source, @NotNull Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void throwError() throws IOException {
+        Throwable throwable = error.get();
+        if (throwable != null) {
+            if (throwable instanceof IOException) {
+                throw (IOException) throwable;
+            }
+            throw throwable instanceof RuntimeException ? (RuntimeException) throwable : new RuntimeException(throwable);
+        }
+    }
+
+    /**
+     * 中止写入,丢弃尚未写入的文件
+     */
+    public void abort() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 等待所有文件写入完成,开启同步时将写入的文件同步到磁盘
+     *
+     * @throws IOException 写入异常
+     */
+    @Override
+    public void close() throws IOException {
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("等待文件写入时被中断");
+            }
+            throwError();
+        }
+        Path file;
+        while ((file = writtenFiles.poll()) != null) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+        }
+    }
+}
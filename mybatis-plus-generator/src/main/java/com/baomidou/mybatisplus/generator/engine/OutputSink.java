@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2011-2021, baomidou (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.baomidou.mybatisplus.generator.engine;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * 生成文件输出目标
+ * <p>
+ * 路径为相对输出目录(outputDir)的路径,使用 / 分隔;输出目录之外的文件为绝对路径.
+ * 开启多线程生成时会被并发调用,实现需保证线程安全.
+ *
+ * @see FileSystemOutputSink
+ * @see MemoryOutputSink
+ * @see ZipOutputSink
+ * @since 3.5.0
+ */
+public interface OutputSink extends Closeable {
+
+    /**
+     * 文件是否已存在
+     *
+     * @param path 文件路径
+     * @return 是否存在
+     */
+    boolean exists(@NotNull String path);
+
+    /**
+     * 写入文件
+     *
+     * @param path    文件路径
+     * @param content 文件内容(UTF-8)
+     * @return 是否写入,内容未变化而未写入时返回 false
+     * @throws IOException 写入异常
+     */
+    boolean write(@NotNull String path, byte[] content) throws IOException;
+
+    /**
+     * 批量输出结束时调用,等待写入完成并释放资源
+     *
+     * @throws IOException 写入异常
+     */
+    @Override
+    default void close() throws IOException {
+    }
+}
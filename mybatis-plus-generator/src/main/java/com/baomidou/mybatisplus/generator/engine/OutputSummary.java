@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2011-2021, baomidou (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.baomidou.mybatisplus.generator.engine;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 文件生成统计
+ *
+ * @since 3.5.0
+ */
+public class OutputSummary {
+
+    /**
+     * 写入(新建或内容变化)的文件数
+     */
+    private final AtomicInteger written = new AtomicInteger();
+
+    /**
+     * 内容未变化未重写的文件数
+     */
+    private final AtomicInteger unchanged = new AtomicInteger();
+
+    /**
+     * 文件已存在且未开启覆盖跳过的文件数
+     */
+    private final AtomicInteger skipped = new AtomicInteger();
+
+    void written() {
+        written.incrementAndGet();
+    }
+
+    void unchanged() {
+        unchanged.incrementAndGet();
+    }
+
+    void skipped() {
+        skipped.incrementAndGet();
+    }
+
+    void reset() {
+        written.set(0);
+        unchanged.set(0);
+        skipped.set(0);
+    }
+
+    public int getWritten() {
+        return written.get();
+    }
+
+    public int getUnchanged() {
+        return unchanged.get();
+    }
+
+    public int getSkipped() {
+        return skipped.get();
+    }
+
+    @Override
+    public String toString() {
+        return "写入 " + getWritten() + " 个, 未变化 " + getUnchanged() + " 个, 跳过 " + getSkipped() + " 个";
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2011-2021, baomidou (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.baomidou.mybatisplus.generator.engine;
+
+import com.baomidou.mybatisplus.core.toolkit.StringPool;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 进程级已编译模板缓存
+ * <p>
+ * 模板在首次使用时解析一次,之后在所有文件以及多次 {@code AutoGenerator.execute()} 调用间复用.
+ * 开启修改检查时,对以 file: 方式加载的模板(如工程内的自定义模板)以及不在 classpath 下的文件系统模板比较最后修改时间,
+ * 变化后重新解析;jar 内模板视为不可变.
+ *
+ * @param <T> 各模板引擎的已编译模板类型
+ * @since 3.5.0
+ */
+public class TemplateCache<T> {
+
+    private final Map<String, Entry<T>> cache = new ConcurrentHashMap<>();
+
+    /**
+     * 获取已编译模板
+     *
+     * @param templatePath  模板路径(classpath 下)
+     * @param modifiedCheck 是否检查模板文件修改时间
+     * @param loader        模板加载器(缓存未命中或模板已修改时调用)
+     * @return 已编译模板
+     * @throws Exception 模板加载异常
+     */
+    @NotNull
+    public T get(@NotNull String templatePath, boolean modifiedCheck, @NotNull Loader<T> loader) throws Exception {
+        Entry<T> entry = cache.get(templatePath);
+        if (entry != null && (!modifiedCheck || entry.lastModified == lastModified(templatePath))) {
+            return entry.template;
+        }
+        // 并发未命中时可能重复解析,结果一致,不做加锁
+        long lastModified = modifiedCheck ? lastModified(templatePath) : -1L;
+        T template = loader.load(templatePath);
+        cache.put(templatePath, new Entry<>(template, lastModified));
+        return template;
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * 获取模板文件最后修改时间
+     *
+     * @param templatePath 模板路径
+     * @return 最后修改时间,非文件系统资源返回 0
+     */
+    private static long lastModified(@NotNull String templatePath) {
+        String path = templatePath.startsWith(StringPool.SLASH) ? templatePath : StringPool.SLASH + templatePath;
+        URL url = TemplateCache.class.getResource(path);
+        if (url != null) {
+            if ("file".equals(url.getProtocol())) {
+                try {
+                    return new File(url.toURI()).lastModified();
+                } catch (Exception e) {
+                    return 0L;
+                }
+            }
+            return 0L;
+        }
+        // 不在 classpath 下时按文件系统路径查找
+        File file = new File(templatePath);
+        return file.isFile() ? file.lastModified() : 0L;
+    }
+
+    /**
+     * 模板加载器
+     *
+     * @param <T> 已编译模板类型
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+
+        T load(@NotNull String templatePath) throws Exception;
+    }
+
+    private static class Entry<T> {
+
+        private final T template;
+
+        private final long lastModified;
+
+        private Entry(T template, long lastModified) {
+            this.template = template;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -27,6 +27,7 @@ import org.jetbrains.annotations.NotNull;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.util.Map;
 import java.util.Properties;
@@ -38,8 +39,15 @@ import java.util.Properties;
  * @since 2018-01-10
  */
 public class VelocityTemplateEngine extends AbstractTemplateEngine {
+
+    private static final TemplateCache<Template> TEMPLATE_CACHE = new TemplateCache<>();
+
+    private static VelocityEngine sharedEngine;
+
     private VelocityEngine velocityEngine;
 
+    private boolean modifiedCheck;
+
     {
         try {
             Class.forName("org.apache.velocity.util.DuckType");
@@ -52,29 +60,50 @@ public class VelocityTemplateEngine extends AbstractTemplateEngine {
     @Override
     public @NotNull VelocityTemplateEngine init(@NotNull ConfigBuilder configBuilder) {
         if (null == velocityEngine) {
+            velocityEngine = getSharedEngine();
+        }
+        modifiedCheck = configBuilder.getTemplateConfig().isModifiedCheck();
+        return this;
+    }
+
+    /**
+     * 获取进程内共享的模板引擎(已编译模板与之绑定,需一同复用)
+     * <p>
+     * 不开启 Velocity 自身的资源缓存,ClasspathResourceLoader 无法感知修改,缓存统一由 {@link TemplateCache} 负责.
+     *
+     * @return 模板引擎
+     */
+    private static synchronized VelocityEngine getSharedEngine() {
+        if (null == sharedEngine) {
             Properties p = new Properties();
             p.setProperty(ConstVal.VM_LOAD_PATH_KEY, ConstVal.VM_LOAD_PATH_VALUE);
             p.setProperty(Velocity.FILE_RESOURCE_LOADER_PATH, StringPool.EMPTY);
             p.setProperty(Velocity.ENCODING_DEFAULT, ConstVal.UTF8);
             p.setProperty(Velocity.INPUT_ENCODING, ConstVal.UTF8);
             p.setProperty("file.resource.loader.unicode", StringPool.TRUE);
-            velocityEngine = new VelocityEngine(p);
+            sharedEngine = new VelocityEngine(p);
         }
-        return this;
+        return sharedEngine;
     }
 
 
     @Override
     public void writer(@NotNull Map<String, Object> objectMap, @NotNull String templatePath, @NotNull File outputFile) throws Exception {
-        Template template = velocityEngine.getTemplate(templatePath, ConstVal.UTF8);
-        try (FileOutputStream fos = new FileOutputStream(outputFile);
-             OutputStreamWriter ow = new OutputStreamWriter(fos, ConstVal.UTF8);
-             BufferedWriter writer = new BufferedWriter(ow)) {
-            template.merge(new VelocityContext(objectMap), writer);
+        try (FileOutputStream fos = new FileOutputStream(outputFile)) {
+            render(objectMap, templatePath, fos);
         }
     }
 
 
+    @Override
+    public void render(@NotNull Map<String, Object> objectMap, @NotNull String templatePath, @NotNull OutputStream outputStream) throws Exception {
+        Template template = TEMPLATE_CACHE.get(templatePath, modifiedCheck, path -> velocityEngine.getTemplate(path, ConstVal.UTF8));
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(outputStream, ConstVal.UTF8));
+        template.merge(new VelocityContext(objectMap), writer);
+        writer.flush();
+    }
+
+
     @Override
     public @NotNull String templateFilePath(@NotNull String filePath) {
         final String dotVm = ".vm";
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2011-2021, baomidou (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.baomidou.mybatisplus.generator.engine;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 流式输出 ZIP,可直接写入 HTTP 响应等输出流
+ * <p>
+ * 关闭时只结束 ZIP 数据,不关闭传入的输出流.
+ *
+ * @since 3.5.0
+ */
+public class ZipOutputSink implements OutputSink {
+
+    private final ZipOutputStream zipOutputStream;
+
+    private final Set<String> entries = new HashSet<>();
+
+    /**
+     * @param outputStream 输出流
+     */
+    public ZipOutputSink(@NotNull OutputStream outputStream) {
+        this.zipOutputStream = new ZipOutputStream(outputStream);
+    }
+
+    @Override
+    public synchronized boolean exists(@NotNull String path) {
+        return entries.contains(entryName(path));
+    }
+
+    @Override
+    public synchronized boolean write(@NotNull String path, byte[] content) throws IOException {
+        String name = entryName(path);
+        if (!entries.add(name)) {
+            throw new IOException("重复的文件:" + name);
+        }
+        zipOutputStream.putNextEntry(new ZipEntry(name));
+        zipOutputStream.write(content);
+        zipOutputStream.closeEntry();
+        return true;
+    }
+
+    /**
+     * 输出目录之外的绝对路径去掉盘符与开头的 /
+     */
+    private static String entryName(@NotNull String path) {
+        String name = path;
+        if (name.length() > 1 && name.charAt(1) == ':') {
+            name = name.substring(2);
+        }
+        while (name.startsWith("/")) {
+            name = name.substring(1);
+        }
+        return name;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        zipOutputStream.finish();
+        zipOutputStream.flush();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2011-2021, baomidou (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.baomidou.mybatisplus.generator.jdbc;
+
+import com.baomidou.mybatisplus.generator.config.DataSourceConfig;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 简易连接池，用于并发读取表元数据
+ * <p>连接按需创建，最多 size 个，主连接由调用方提供且不在此关闭。</p>
+ *
+ * @since 3.5.0
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionPool.class);
+
+    private final DataSourceConfig dataSourceConfig;
+
+    private final int size;
+
+    private final BlockingQueue<Connection> idleConnections;
+
+    private final List<Connection> createdConnections = new ArrayList<>();
+
+    private int total;
+
+    /**
+     * @param dataSourceConfig 数据源配置
+     * @param connection       主连接(可为空)
+     * @param size             连接数量
+     */
+    public ConnectionPool(@NotNull DataSourceConfig dataSourceConfig, Connection connection, int size) {
+        this.dataSourceConfig = dataSourceConfig;
+        this.size = Math.max(size, 1);
+        this.idleConnections = new ArrayBlockingQueue<>(this.size);
+        if (connection != null) {
+            this.idleConnections.add(connection);
+            this.total = 1;
+        }
+    }
+
+    /**
+     * 获取连接，无空闲连接且未达到上限时创建新连接，否则等待归还
+     *
+     * @return 连接
+     */
+    @NotNull
+    public Connection borrow() throws SQLException {
+        Connection connection = idleConnections.poll();
+        if (connection != null) {
+            return connection;
+        }
+        synchronized (createdConnections) {
+            if (total < size) {
+                connection = dataSourceConfig.createConnection();
+                createdConnections.add(connection);
+                total++;
+                return connection;
+            }
+        }
+        try {
+            return idleConnections.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("获取数据库连接被中断", e);
+        }
+    }
+
+    /**
+     * 归还连接
+     *
+     * @param connection 连接
+     */
+    public void release(@NotNull Connection connection) {
+        idleConnections.offer(connection);
+    }
+
+    @Override
+    public void close() {
+        synchronized (createdConnections) {
+            for (Connection connection : createdConnections) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    LOGGER.warn("关闭数据库连接失败:{}", e.getMessage());
+                }
+            }
+            createdConnections.clear();
+        }
+    }
+}
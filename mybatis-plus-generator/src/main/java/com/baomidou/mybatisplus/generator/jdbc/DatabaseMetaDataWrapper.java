@@ -21,9 +21,15 @@ import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * @author nieqiurong 2021/2/8.
@@ -37,29 +43,132 @@ public class DatabaseMetaDataWrapper {
         this.databaseMetaData = connection.getMetaData();
     }
 
+    /**
+     * 获取表信息
+     *
+     * @param types 表类型 (如 TABLE,VIEW)，为空时返回所有类型
+     * @return 表信息
+     * @since 3.5.0
+     */
+    public List<TablesInfo> getTables(String catalog, String schemaPattern, String tableNamePattern, String[] types) throws SQLException {
+        List<TablesInfo> tables = new ArrayList<>();
+        try (ResultSet resultSet = databaseMetaData.getTables(catalog, schemaPattern, tableNamePattern, types)) {
+            while (resultSet.next()) {
+                TablesInfo tablesInfo = new TablesInfo();
+                tablesInfo.name = resultSet.getString("TABLE_NAME");
+                tablesInfo.remarks = resultSet.getString("REMARKS");
+                tablesInfo.tableType = resultSet.getString("TABLE_TYPE");
+                tables.add(tablesInfo);
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * 获取表主键字段
+     *
+     * @return 主键字段 (小写字段名)
+     * @since 3.5.0
+     */
+    public Set<String> getPrimaryKeys(String catalog, String schema, String tableName) throws SQLException {
+        Set<String> primaryKeys = new HashSet<>();
+        try (ResultSet resultSet = databaseMetaData.getPrimaryKeys(catalog, schema, tableName)) {
+            while (resultSet.next()) {
+                primaryKeys.add(resultSet.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+            }
+        }
+        return primaryKeys;
+    }
+
     /**
      * 获取表字段信息
      *
-     * @return 表字段信息 (小写字段名->字段信息)
+     * @return 表字段信息 (小写字段名->字段信息，按字段顺序)
      */
     public Map<String, ColumnsInfo> getColumnsInfo(String catalog, String schemaPattern, String tableNamePattern) throws SQLException {
-        ResultSet resultSet = databaseMetaData.getColumns(catalog, schemaPattern, tableNamePattern, "%");
-        Map<String, ColumnsInfo> columnsInfoMap = new HashMap<>();
-        while (resultSet.next()) {
-            ColumnsInfo columnsInfo = new ColumnsInfo();
-            String name = resultSet.getString("COLUMN_NAME");
-            columnsInfo.name = name;
-            columnsInfo.jdbcType = JdbcType.forCode(resultSet.getInt("DATA_TYPE"));
-            columnsInfo.length = resultSet.getInt("COLUMN_SIZE");
-            columnsInfo.scale = resultSet.getInt("DECIMAL_DIGITS");
-            columnsInfo.remarks = resultSet.getString("REMARKS");
-            columnsInfo.defaultValue = resultSet.getString("COLUMN_DEF");
-            columnsInfo.nullable = resultSet.getInt("NULLABLE") == DatabaseMetaData.columnNullable;
-            columnsInfoMap.put(name.toLowerCase(), columnsInfo);
+        Map<String, ColumnsInfo> columnsInfoMap = new LinkedHashMap<>();
+        try (ResultSet resultSet = databaseMetaData.getColumns(catalog, schemaPattern, tableNamePattern, "%")) {
+            while (resultSet.next()) {
+                ColumnsInfo columnsInfo = getColumnsInfo(resultSet);
+                columnsInfoMap.put(columnsInfo.name.toLowerCase(Locale.ROOT), columnsInfo);
+            }
         }
         return Collections.unmodifiableMap(columnsInfoMap);
     }
 
+    /**
+     * 批量获取所有表字段信息
+     *
+     * @return 表字段信息 (表名->(小写字段名->字段信息，按字段顺序))
+     * @since 3.5.0
+     */
+    public Map<String, Map<String, ColumnsInfo>> getColumnsInfo(String catalog, String schemaPattern) throws SQLException {
+        Map<String, Map<String, ColumnsInfo>> tableColumnsInfoMap = new HashMap<>();
+        try (ResultSet resultSet = databaseMetaData.getColumns(catalog, schemaPattern, "%", "%")) {
+            while (resultSet.next()) {
+                ColumnsInfo columnsInfo = getColumnsInfo(resultSet);
+                String tableName = resultSet.getString("TABLE_NAME");
+                tableColumnsInfoMap.computeIfAbsent(tableName, k -> new LinkedHashMap<>()).put(columnsInfo.name.toLowerCase(Locale.ROOT), columnsInfo);
+            }
+        }
+        return tableColumnsInfoMap;
+    }
+
+    private ColumnsInfo getColumnsInfo(ResultSet resultSet) throws SQLException {
+        ColumnsInfo columnsInfo = new ColumnsInfo();
+        columnsInfo.name = resultSet.getString("COLUMN_NAME");
+        columnsInfo.jdbcType = JdbcType.forCode(resultSet.getInt("DATA_TYPE"));
+        columnsInfo.length = resultSet.getInt("COLUMN_SIZE");
+        columnsInfo.scale = resultSet.getInt("DECIMAL_DIGITS");
+        columnsInfo.remarks = resultSet.getString("REMARKS");
+        columnsInfo.defaultValue = resultSet.getString("COLUMN_DEF");
+        columnsInfo.nullable = resultSet.getInt("NULLABLE") == DatabaseMetaData.columnNullable;
+        columnsInfo.typeName = resultSet.getString("TYPE_NAME");
+        columnsInfo.autoIncrement = "YES".equals(getStringOrNull(resultSet, "IS_AUTOINCREMENT"));
+        return columnsInfo;
+    }
+
+    /**
+     * 读取 JDBC 4.1 新增的列，旧版本驱动不存在时返回 null
+     */
+    private static String getStringOrNull(ResultSet resultSet, String columnLabel) {
+        try {
+            return resultSet.getString(columnLabel);
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 表信息
+     *
+     * @since 3.5.0
+     */
+    public static class TablesInfo {
+
+        private String name;
+
+        private String remarks;
+
+        private String tableType;
+
+        public String getName() {
+            return name;
+        }
+
+        public String getRemarks() {
+            return remarks;
+        }
+
+        public String getTableType() {
+            return tableType;
+        }
+
+        public boolean isView() {
+            return "VIEW".equalsIgnoreCase(tableType);
+        }
+    }
+
     public static class ColumnsInfo {
 
         private String name;
@@ -76,6 +185,10 @@ public class DatabaseMetaDataWrapper {
 
         private JdbcType jdbcType;
 
+        private String typeName;
+
+        private boolean autoIncrement;
+
         public String getName() {
             return name;
         }
@@ -103,5 +216,64 @@ public class DatabaseMetaDataWrapper {
         public JdbcType getJdbcType() {
             return jdbcType;
         }
+
+        /**
+         * @since 3.5.0
+         */
+        public String getTypeName() {
+            return typeName;
+        }
+
+        /**
+         * @since 3.5.0
+         */
+        public boolean isAutoIncrement() {
+            return autoIncrement;
+        }
+
+        public ColumnsInfo setName(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public ColumnsInfo setLength(int length) {
+            this.length = length;
+            return this;
+        }
+
+        public ColumnsInfo setNullable(boolean nullable) {
+            this.nullable = nullable;
+            return this;
+        }
+
+        public ColumnsInfo setRemarks(String remarks) {
+            this.remarks = remarks;
+            return this;
+        }
+
+        public ColumnsInfo setDefaultValue(String defaultValue) {
+            this.defaultValue = defaultValue;
+            return this;
+        }
+
+        public ColumnsInfo setScale(int scale) {
+            this.scale = scale;
+            return this;
+        }
+
+        public ColumnsInfo setJdbcType(JdbcType jdbcType) {
+            this.jdbcType = jdbcType;
+            return this;
+        }
+
+        public ColumnsInfo setTypeName(String typeName) {
+            this.typeName = typeName;
+            return this;
+        }
+
+        public ColumnsInfo setAutoIncrement(boolean autoIncrement) {
+            this.autoIncrement = autoIncrement;
+            return this;
+        }
     }
 }
@@ -0,0 +1,550 @@
+/*
+ * Copyright (c) 2011-2021, baomidou (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.baomidou.mybatisplus.generator.server;
+
+import com.baomidou.mybatisplus.core.toolkit.StringPool;
+import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import com.baomidou.mybatisplus.generator.GeneratorSession;
+import com.baomidou.mybatisplus.generator.config.DataSourceConfig;
+import com.baomidou.mybatisplus.generator.config.GlobalConfig;
+import com.baomidou.mybatisplus.generator.config.InjectionConfig;
+import com.baomidou.mybatisplus.generator.config.PackageConfig;
+import com.baomidou.mybatisplus.generator.config.StrategyConfig;
+import com.baomidou.mybatisplus.generator.config.TemplateConfig;
+import com.baomidou.mybatisplus.generator.config.builder.ConfigBuilder;
+import com.baomidou.mybatisplus.generator.engine.AbstractTemplateEngine;
+import com.baomidou.mybatisplus.generator.engine.VelocityTemplateEngine;
+import com.baomidou.mybatisplus.generator.engine.ZipOutputSink;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * HTTP 代码生成服务
+ * <p>基于 JDK 内置 HTTP 服务，请求 {@value #CONTEXT_PATH} 返回生成文件的 ZIP。
+ * 数据源与全局、模板、注入配置在所有请求间共享，已编译模板由模板引擎在进程内缓存。
+ * 支持表结构指纹查询({@link com.baomidou.mybatisplus.generator.config.IDbQuery#fingerprintSql()})的数据源在内存中缓存元数据，
+ * 表结构未变化的表不再查询字段。ZIP 在生成过程中以分块传输的方式直接写入响应。</p>
+ * <p>请求参数(GET 查询参数或 POST 表单)：</p>
+ * <ul>
+ *     <li>datasource: 数据源名称，只配置一个数据源时可不传</li>
+ *     <li>include, exclude, tablePrefix, tableSuffix: 逗号分隔，追加到 {@link Builder#strategy(Consumer)} 的配置</li>
+ *     <li>parent, moduleName: 覆盖 {@link Builder#packageInfo(Consumer)} 的配置</li>
+ * </ul>
+ * <p>同时生成的请求数不超过 {@link Builder#maxConcurrency(int)}，其余请求排队等待。</p>
+ *
+ * @since 3.5.0
+ */
+public class GeneratorServer implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GeneratorServer.class);
+
+    /**
+     * 生成请求路径
+     */
+    public static final String CONTEXT_PATH = "/generate";
+
+    /**
+     * 请求内容最大长度
+     */
+    private static final int MAX_BODY_SIZE = 64 * 1024;
+
+    private final String host;
+
+    private final int port;
+
+    private final int maxConcurrency;
+
+    /**
+     * 数据源 (名称->数据源配置)
+     */
+    private final Map<String, DataSourceConfig> dataSources;
+
+    /**
+     * 数据源的生成会话，用于在请求间共享元数据缓存 (名称->会话)
+     */
+    private final Map<String, GeneratorSession> sessions = new HashMap<>();
+
+    private final GlobalConfig globalConfig;
+
+    private final TemplateConfig templateConfig;
+
+    private final InjectionConfig injectionConfig;
+
+    private final Consumer<StrategyConfig.Builder> strategyConfigurer;
+
+    private final Consumer<PackageConfig.Builder> packageConfigurer;
+
+    private final Supplier<AbstractTemplateEngine> templateEngineSupplier;
+
+    private HttpServer httpServer;
+
+    private ExecutorService executor;
+
+    private GeneratorServer(@NotNull Builder builder) {
+        this.host = builder.host;
+        this.port = builder.port;
+        this.maxConcurrency = builder.maxConcurrency;
+        this.dataSources = builder.dataSources;
+        this.globalConfig = builder.globalConfig;
+        this.templateConfig = builder.templateConfig;
+        this.injectionConfig = builder.injectionConfig;
+        this.strategyConfigurer = builder.strategyConfigurer;
+        this.packageConfigurer = builder.packageConfigurer;
+        this.templateEngineSupplier = builder.templateEngineSupplier;
+        dataSources.forEach((name, dataSourceConfig) -> {
+            // 不支持表结构指纹查询时无法判断缓存是否有效，每次请求重新查询
+            if (StringUtils.isNotBlank(dataSourceConfig.getDbQuery().fingerprintSql())) {
+                sessions.put(name, new GeneratorSession.Builder(dataSourceConfig).disableKeepConnection().build());
+            }
+        });
+    }
+
+    /**
+     * 启动服务
+     *
+     * @return this
+     * @throws IOException 端口绑定失败
+     */
+    public synchronized GeneratorServer start() throws IOException {
+        if (httpServer == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(maxConcurrency, runnable -> {
+                Thread thread = new Thread(runnable, "mp-generator-server-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            httpServer = HttpServer.create(new InetSocketAddress(host, port), 0);
+            httpServer.createContext(CONTEXT_PATH, this::handle);
+            httpServer.setExecutor(executor);
+            httpServer.start();
+            LOGGER.info("代码生成服务已启动: http://{}:{}{}", host, getPort(), CONTEXT_PATH);
+        }
+        return this;
+    }
+
+    /**
+     * 获取监听端口(配置端口为 0 时为系统分配的端口)
+     *
+     * @return 端口
+     */
+    public synchronized int getPort() {
+        return httpServer != null ? httpServer.getAddress().getPort() : port;
+    }
+
+    /**
+     * 按请求参数生成文件
+     *
+     * @param params 请求参数
+     * @return 生成文件的 ZIP
+     * @throws IllegalArgumentException 参数或配置错误
+     */
+    public byte[] generate(@NotNull Map<String, String> params) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        generate(params, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * 按请求参数生成文件，生成过程中将 ZIP 写入输出流
+     *
+     * @param params       请求参数
+     * @param outputStream 输出流(不会被关闭)
+     * @throws IllegalArgumentException 参数或配置错误
+     */
+    public void generate(@NotNull Map<String, String> params, @NotNull OutputStream outputStream) {
+        String name = params.get("datasource");
+        if (StringUtils.isBlank(name) && dataSources.size() == 1) {
+            name = dataSources.keySet().iterator().next();
+        }
+        DataSourceConfig dataSourceConfig = getDataSourceConfig(name);
+        StrategyConfig.Builder strategyBuilder = new StrategyConfig.Builder();
+        strategyConfigurer.accept(strategyBuilder);
+        split(params.get("include")).ifPresent(strategyBuilder::addInclude);
+        split(params.get("exclude")).ifPresent(strategyBuilder::addExclude);
+        split(params.get("tablePrefix")).ifPresent(strategyBuilder::addTablePrefix);
+        split(params.get("tableSuffix")).ifPresent(strategyBuilder::addTableSuffix);
+        PackageConfig.Builder packageBuilder = new PackageConfig.Builder();
+        packageConfigurer.accept(packageBuilder);
+        if (StringUtils.isNotBlank(params.get("parent"))) {
+            packageBuilder.parent(params.get("parent"));
+        }
+        if (StringUtils.isNotBlank(params.get("moduleName"))) {
+            packageBuilder.moduleName(params.get("moduleName"));
+        }
+        ConfigBuilder configBuilder = new ConfigBuilder(packageBuilder.build(), dataSourceConfig, strategyBuilder.build(),
+            templateConfig, globalConfig, injectionConfig).setSession(sessions.get(name));
+        AbstractTemplateEngine templateEngine = templateEngineSupplier.get();
+        templateEngine.setConfigBuilder(configBuilder);
+        templateEngine.setOutputSink(new ZipOutputSink(outputStream));
+        templateEngine.init(configBuilder).batchOutput();
+    }
+
+    @NotNull
+    private DataSourceConfig getDataSourceConfig(@Nullable String name) {
+        if (StringUtils.isBlank(name)) {
+            if (dataSources.size() != 1) {
+                throw new IllegalArgumentException("配置了多个数据源,请指定数据源(datasource)");
+            }
+            return dataSources.values().iterator().next();
+        }
+        DataSourceConfig dataSourceConfig = dataSources.get(name);
+        if (dataSourceConfig == null) {
+            throw new IllegalArgumentException("数据源[" + name + "]不存在");
+        }
+        return dataSourceConfig;
+    }
+
+    private static Optional<String[]> split(@Nullable String value) {
+        if (StringUtils.isBlank(value)) {
+            return Optional.empty();
+        }
+        String[] values = Arrays.stream(value.split(StringPool.COMMA)).map(String::trim).filter(StringUtils::isNotBlank).toArray(String[]::new);
+        return values.length > 0 ? Optional.of(values) : Optional.empty();
+    }
+
+    private void handle(@NotNull HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            if (!"GET".equalsIgnoreCase(method) && !"POST".equalsIgnoreCase(method)) {
+                send(exchange, 405, "仅支持 GET 与 POST 请求");
+                return;
+            }
+            Map<String, String> params = parseParams(exchange.getRequestURI().getRawQuery());
+            if ("POST".equalsIgnoreCase(method)) {
+                params.putAll(parseParams(readBody(exchange.getRequestBody())));
+            }
+            long start = System.currentTimeMillis();
+            ResponseOutputStream outputStream = new ResponseOutputStream(exchange);
+            try {
+                generate(params, outputStream);
+                outputStream.close();
+            } catch (RuntimeException e) {
+                if (!outputStream.isCommitted()) {
+                    throw e;
+                }
+                // 响应头已发送，ZIP 未结束，客户端收到的文件不完整
+                LOGGER.error("生成请求失败,参数:{}", params, e);
+                return;
+            }
+            LOGGER.info("生成请求完成,参数:{},耗时(ms):{}", params, System.currentTimeMillis() - start);
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, e.getMessage());
+        } catch (RuntimeException e) {
+            LOGGER.error("生成请求失败", e);
+            send(exchange, 500, "生成失败:" + e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void send(@NotNull HttpExchange exchange, int status, @Nullable String message) throws IOException {
+        byte[] content = String.valueOf(message).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+        exchange.sendResponseHeaders(status, content.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(content);
+        }
+    }
+
+    /**
+     * 首次写入时以分块传输发送响应头的响应输出流，未写入前仍可返回错误响应
+     */
+    private static class ResponseOutputStream extends OutputStream {
+
+        private final HttpExchange exchange;
+
+        private OutputStream outputStream;
+
+        ResponseOutputStream(@NotNull HttpExchange exchange) {
+            this.exchange = exchange;
+        }
+
+        /**
+         * 响应头是否已发送
+         */
+        boolean isCommitted() {
+            return outputStream != null;
+        }
+
+        private OutputStream commit() throws IOException {
+            if (outputStream == null) {
+                exchange.getResponseHeaders().set("Content-Type", "application/zip");
+                exchange.getResponseHeaders().set("Content-Disposition", "attachment; filename=\"generator.zip\"");
+                exchange.sendResponseHeaders(200, 0);
+                outputStream = exchange.getResponseBody();
+            }
+            return outputStream;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            commit().write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            commit().write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (outputStream != null) {
+                outputStream.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            commit().close();
+        }
+    }
+
+    @NotNull
+    private static String readBody(@NotNull InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int length;
+        while ((length = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, length);
+            if (outputStream.size() > MAX_BODY_SIZE) {
+                throw new IllegalArgumentException("请求内容不能超过" + MAX_BODY_SIZE + "字节");
+            }
+        }
+        return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 解析 application/x-www-form-urlencoded 格式的参数，同名参数取最后一个
+     *
+     * @param query 参数
+     * @return 参数名->参数值
+     */
+    @NotNull
+    static Map<String, String> parseParams(@Nullable String query) {
+        Map<String, String> params = new HashMap<>();
+        if (StringUtils.isBlank(query)) {
+            return params;
+        }
+        try {
+            for (String param : query.split(StringPool.AMPERSAND)) {
+                if (param.isEmpty()) {
+                    continue;
+                }
+                int index = param.indexOf('=');
+                String name = URLDecoder.decode(index >= 0 ? param.substring(0, index) : param, StringPool.UTF_8);
+                String value = index >= 0 ? URLDecoder.decode(param.substring(index + 1), StringPool.UTF_8) : StringPool.EMPTY;
+                params.put(name, value);
+            }
+        } catch (UnsupportedEncodingException e) {
+            throw new RuntimeException(e);
+        }
+        return params;
+    }
+
+    /**
+     * 停止服务
+     */
+    @Override
+    public synchronized void close() {
+        if (httpServer != null) {
+            httpServer.stop(0);
+            httpServer = null;
+        }
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+            executor = null;
+        }
+        sessions.values().forEach(GeneratorSession::close);
+    }
+
+    /**
+     * 生成服务构建
+     */
+    public static class Builder {
+
+        private String host = "127.0.0.1";
+
+        private int port = 8080;
+
+        private int maxConcurrency = Runtime.getRuntime().availableProcessors();
+
+        private final Map<String, DataSourceConfig> dataSources = new LinkedHashMap<>();
+
+        private GlobalConfig globalConfig;
+
+        private TemplateConfig templateConfig;
+
+        private InjectionConfig injectionConfig;
+
+        private Consumer<StrategyConfig.Builder> strategyConfigurer = builder -> {
+        };
+
+        private Consumer<PackageConfig.Builder> packageConfigurer = builder -> {
+        };
+
+        private Supplier<AbstractTemplateEngine> templateEngineSupplier = VelocityTemplateEngine::new;
+
+        /**
+         * 监听地址，默认只监听本机
+         *
+         * @param host 监听地址
+         * @return this
+         */
+        public Builder host(@NotNull String host) {
+            this.host = host;
+            return this;
+        }
+
+        /**
+         * 监听端口，为 0 时由系统分配
+         *
+         * @param port 端口
+         * @return this
+         */
+        public Builder port(int port) {
+            if (port < 0 || port > 65535) {
+                throw new IllegalArgumentException("端口范围为0-65535");
+            }
+            this.port = port;
+            return this;
+        }
+
+        /**
+         * 同时处理的最大请求数，默认为 CPU 核数
+         *
+         * @param maxConcurrency 最大请求数
+         * @return this
+         */
+        public Builder maxConcurrency(int maxConcurrency) {
+            if (maxConcurrency < 1) {
+                throw new IllegalArgumentException("最大请求数不能小于1");
+            }
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * 添加数据源
+         *
+         * @param name             数据源名称(请求参数 datasource)
+         * @param dataSourceConfig 数据源配置
+         * @return this
+         */
+        public Builder dataSource(@NotNull String name, @NotNull DataSourceConfig dataSourceConfig) {
+            this.dataSources.put(name, dataSourceConfig);
+            return this;
+        }
+
+        /**
+         * 全局配置，输出目录仅用于计算 ZIP 内的文件路径
+         *
+         * @param globalConfig 全局配置
+         * @return this
+         */
+        public Builder global(@NotNull GlobalConfig globalConfig) {
+            this.globalConfig = globalConfig;
+            return this;
+        }
+
+        public Builder template(@NotNull TemplateConfig templateConfig) {
+            this.templateConfig = templateConfig;
+            return this;
+        }
+
+        public Builder injection(@NotNull InjectionConfig injectionConfig) {
+            this.injectionConfig = injectionConfig;
+            return this;
+        }
+
+        /**
+         * 策略配置，每次请求使用新的构建器执行配置后再应用请求参数
+         *
+         * @param strategyConfigurer 策略配置
+         * @return this
+         */
+        public Builder strategy(@NotNull Consumer<StrategyConfig.Builder> strategyConfigurer) {
+            this.strategyConfigurer = strategyConfigurer;
+            return this;
+        }
+
+        /**
+         * 包配置，每次请求使用新的构建器执行配置后再应用请求参数
+         *
+         * @param packageConfigurer 包配置
+         * @return this
+         */
+        public Builder packageInfo(@NotNull Consumer<PackageConfig.Builder> packageConfigurer) {
+            this.packageConfigurer = packageConfigurer;
+            return this;
+        }
+
+        /**
+         * 模板引擎，每次请求创建新的模板引擎，默认使用 Velocity
+         *
+         * @param templateEngineSupplier 模板引擎
+         * @return this
+         */
+        public Builder templateEngine(@NotNull Supplier<AbstractTemplateEngine> templateEngineSupplier) {
+            this.templateEngineSupplier = templateEngineSupplier;
+            return this;
+        }
+
+        public GeneratorServer build() {
+            if (dataSources.isEmpty()) {
+                throw new IllegalArgumentException("至少需要配置一个数据源");
+            }
+            if (globalConfig == null) {
+                globalConfig = new GlobalConfig.Builder().openDir(false).build();
+            }
+            if (globalConfig.isIncremental()) {
+                throw new IllegalArgumentException("生成服务不支持增量生成");
+            }
+            return new GeneratorServer(this);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.baomidou.mybatisplus.generator;
+
+import com.baomidou.mybatisplus.generator.cache.MetaDataCache;
+import com.baomidou.mybatisplus.generator.cache.MetaDataSnapshot;
+import com.baomidou.mybatisplus.generator.config.DataSourceConfig;
+import com.baomidou.mybatisplus.generator.config.GlobalConfig;
+import com.baomidou.mybatisplus.generator.config.PackageConfig;
+import com.baomidou.mybatisplus.generator.config.StrategyConfig;
+import com.baomidou.mybatisplus.generator.engine.MemoryOutputSink;
+import com.baomidou.mybatisplus.generator.jdbc.DatabaseMetaDataWrapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * @since 3.5.0
+ */
+public class GeneratorSessionTest {
+
+    private static final String URL = "jdbc:h2:mem:session;MODE=mysql;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    private static MetaDataSnapshot.Column column(String name) {
+        return new MetaDataSnapshot.Column(name, "bigint(20)", null, true, false, Collections.emptyMap(),
+            new DatabaseMetaDataWrapper.ColumnsInfo().setName(name));
+    }
+
+    @Test
+    void metaDataCacheTest() {
+        GeneratorSession session = new GeneratorSession.Builder(new DataSourceConfig.Builder(URL, "sa", "").build()).build();
+        // 不支持表结构指纹时缓存保留到失效
+        MetaDataCache metaDataCache = session.createMetaDataCache(null);
+        Assertions.assertNull(metaDataCache.getTables("sql"));
+        Assertions.assertNull(metaDataCache.getColumns("USER"));
+        metaDataCache.putColumn("USER", column("id"));
+        metaDataCache.putColumn("ROLE", column("id"));
+        session.updateMetaData(metaDataCache.save("sql", Collections.singletonList(new MetaDataSnapshot.Table("USER", null))), true);
+        metaDataCache = session.createMetaDataCache(null);
+        Assertions.assertNotNull(metaDataCache.getTables("sql"));
+        Assertions.assertNotNull(metaDataCache.getColumns("USER"));
+        session.invalidate("user");
+        metaDataCache = session.createMetaDataCache(null);
+        Assertions.assertNull(metaDataCache.getTables("sql"));
+        Assertions.assertNull(metaDataCache.getColumns("USER"));
+        Assertions.assertNotNull(metaDataCache.getColumns("ROLE"));
+        session.invalidate();
+        Assertions.assertNull(session.createMetaDataCache(null).getColumns("ROLE"));
+
+        // 支持表结构指纹时只有变化的表失效
+        Map<String, String> fingerprints = Collections.singletonMap("user", "1");
+        metaDataCache = session.createMetaDataCache(fingerprints);
+        metaDataCache.putColumn("USER", column("id"));
+        session.updateMetaData(metaDataCache.save("sql", Collections.emptyList()), false);
+        Assertions.assertNotNull(session.createMetaDataCache(fingerprints).getColumns("USER"));
+        Assertions.assertNull(session.createMetaDataCache(Collections.singletonMap("user", "2")).getColumns("USER"));
+    }
+
+    @Test
+    void generateTest() throws SQLException {
+        DataSourceConfig dataSourceConfig = new DataSourceConfig.Builder(URL, "sa", "").build();
+        execute(dataSourceConfig, "CREATE TABLE IF NOT EXISTS t_session_user (id BIGINT PRIMARY KEY, user_name VARCHAR(64))");
+        execute(dataSourceConfig, "CREATE TABLE IF NOT EXISTS t_session_role (id BIGINT PRIMARY KEY, role_name VARCHAR(64))");
+        try (GeneratorSession session = new GeneratorSession.Builder(dataSourceConfig)
+            .global(new GlobalConfig.Builder().openDir(false).build()).build()) {
+            MemoryOutputSink outputSink = new MemoryOutputSink();
+            session.generate(new StrategyConfig.Builder().addInclude("t_session_user").build(),
+                new PackageConfig.Builder().parent("com.baomidou").build(), null, outputSink);
+            Connection connection = session.getConnection();
+            Assertions.assertFalse(connection.isClosed());
+            Assertions.assertTrue(entity(outputSink, "com/baomidou/entity/TSessionUser.java").contains("userName"));
+
+            outputSink = new MemoryOutputSink();
+            session.generate(new StrategyConfig.Builder().addInclude("t_session_user", "t_session_role").build(),
+                new PackageConfig.Builder().parent("com.test").build(), null, outputSink);
+            Assertions.assertSame(connection, session.getConnection());
+            Assertions.assertTrue(entity(outputSink, "com/test/entity/TSessionRole.java").contains("roleName"));
+
+            execute(dataSourceConfig, "ALTER TABLE t_session_user ADD COLUMN age INT");
+            session.invalidate("t_session_user");
+            outputSink = new MemoryOutputSink();
+            session.generate(new StrategyConfig.Builder().addInclude("t_session_user").build(),
+                new PackageConfig.Builder().parent("com.baomidou").build(), null, outputSink);
+            Assertions.assertTrue(entity(outputSink, "com/baomidou/entity/TSessionUser.java").contains("age"));
+        }
+    }
+
+    private String entity(MemoryOutputSink outputSink, String path) {
+        return outputSink.getFiles().entrySet().stream().filter(entry -> entry.getKey().endsWith(path))
+            .map(entry -> new String(entry.getValue(), StandardCharsets.UTF_8)).findFirst().orElseThrow(IllegalStateException::new);
+    }
+
+    private void execute(DataSourceConfig dataSourceConfig, String sql) throws SQLException {
+        try (Connection connection = dataSourceConfig.createConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.baomidou.mybatisplus.generator;
+
+import com.baomidou.mybatisplus.generator.config.DataSourceConfig;
+import com.baomidou.mybatisplus.generator.config.GlobalConfig;
+import com.baomidou.mybatisplus.generator.config.StrategyConfig;
+import com.baomidou.mybatisplus.generator.config.po.LikeTable;
+import com.baomidou.mybatisplus.generator.config.po.TableInfo;
+import com.baomidou.mybatisplus.generator.config.querys.H2Query;
+import com.baomidou.mybatisplus.generator.engine.AbstractTemplateEngine;
+import com.baomidou.mybatisplus.generator.engine.MemoryOutputSink;
+import com.baomidou.mybatisplus.generator.engine.VelocityTemplateEngine;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * @since 3.5.0
+ */
+public class GeneratorWatcherTest {
+
+    private static final String URL = "jdbc:h2:mem:watcher;MODE=mysql;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void pollTest() throws SQLException {
+        DataSourceConfig dataSourceConfig = new DataSourceConfig.Builder(URL, "sa", "").build();
+        execute(dataSourceConfig, "CREATE TABLE IF NOT EXISTS t_watch_user (id BIGINT PRIMARY KEY, user_name VARCHAR(64))");
+        AutoGenerator autoGenerator = new AutoGenerator(dataSourceConfig)
+            .strategy(new StrategyConfig.Builder().likeTable(new LikeTable("t_watch")).build())
+            .global(new GlobalConfig.Builder().outputDir(tempDir.toString()).openDir(false).build());
+        MemoryOutputSink outputSink = new MemoryOutputSink();
+        AbstractTemplateEngine templateEngine = new VelocityTemplateEngine();
+        templateEngine.setOutputSink(outputSink);
+        try (GeneratorWatcher watcher = new GeneratorWatcher.Builder(autoGenerator).templateEngine(templateEngine).interval(10).build()) {
+            Assertions.assertTrue(watcher.poll());
+            int files = outputSink.getFiles().size();
+            Assertions.assertTrue(files > 0);
+            Assertions.assertFalse(watcher.poll());
+            execute(dataSourceConfig, "CREATE TABLE t_watch_role (id BIGINT PRIMARY KEY, role_name VARCHAR(64))");
+            Assertions.assertTrue(watcher.poll());
+            Assertions.assertTrue(outputSink.getFiles().size() > files);
+            Assertions.assertFalse(watcher.poll());
+        }
+    }
+
+    @Test
+    void changedTablesTest() throws SQLException {
+        // 只重新生成表结构变化的表
+        DataSourceConfig dataSourceConfig = new DataSourceConfig.Builder(URL, "sa", "").build();
+        execute(dataSourceConfig, "CREATE TABLE IF NOT EXISTS t_changed_user (id BIGINT PRIMARY KEY, user_name VARCHAR(64))");
+        execute(dataSourceConfig, "CREATE TABLE IF NOT EXISTS t_changed_role (id BIGINT PRIMARY KEY, role_name VARCHAR(64))");
+        AutoGenerator autoGenerator = new AutoGenerator(dataSourceConfig)
+            .strategy(new StrategyConfig.Builder().likeTable(new LikeTable("t_changed")).build())
+            .global(new GlobalConfig.Builder().outputDir(tempDir.toString()).openDir(false).fileOverride().build());
+        AbstractTemplateEngine templateEngine = new VelocityTemplateEngine();
+        templateEngine.setOutputSink(new MemoryOutputSink());
+        try (GeneratorWatcher watcher = new GeneratorWatcher.Builder(autoGenerator).templateEngine(templateEngine).build()) {
+            Assertions.assertTrue(watcher.poll());
+            Assertions.assertEquals(2, autoGenerator.getConfig().getTableInfoList().size());
+            execute(dataSourceConfig, "ALTER TABLE t_changed_role ADD COLUMN role_code VARCHAR(32)");
+            Assertions.assertTrue(watcher.poll());
+            List<TableInfo> tableInfoList = autoGenerator.getConfig().getTableInfoList();
+            Assertions.assertEquals(1, tableInfoList.size());
+            Assertions.assertEquals("t_changed_role", tableInfoList.get(0).getName().toLowerCase(Locale.ROOT));
+            Assertions.assertFalse(watcher.poll());
+        }
+    }
+
+    @Test
+    void changeProbeTest() throws SQLException {
+        // 探测结果恒定时只按周期查询表结构指纹
+        DataSourceConfig dataSourceConfig = new DataSourceConfig.Builder(URL, "sa", "").dbQuery(new H2Query() {
+            @Override
+            public String changeProbeSql() {
+                return "SELECT 1";
+            }
+        }).build();
+        execute(dataSourceConfig, "CREATE TABLE IF NOT EXISTS t_probe_user (id BIGINT PRIMARY KEY, user_name VARCHAR(64))");
+        AutoGenerator autoGenerator = new AutoGenerator(dataSourceConfig)
+            .strategy(new StrategyConfig.Builder().likeTable(new LikeTable("t_probe")).build())
+            .global(new GlobalConfig.Builder().outputDir(tempDir.toString()).openDir(false).build());
+        AbstractTemplateEngine templateEngine = new VelocityTemplateEngine();
+        templateEngine.setOutputSink(new MemoryOutputSink());
+        try (GeneratorWatcher watcher = new GeneratorWatcher.Builder(autoGenerator).templateEngine(templateEngine).fullCheckPolls(3).build()) {
+            Assertions.assertTrue(watcher.poll());
+            execute(dataSourceConfig, "CREATE TABLE t_probe_role (id BIGINT PRIMARY KEY, role_name VARCHAR(64))");
+            Assertions.assertFalse(watcher.poll());
+            Assertions.assertFalse(watcher.poll());
+            Assertions.assertTrue(watcher.poll());
+            Assertions.assertFalse(watcher.poll());
+        }
+    }
+
+    @Test
+    void builderTest() {
+        AutoGenerator autoGenerator = new AutoGenerator(new DataSourceConfig.Builder(URL, "sa", "").build());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new GeneratorWatcher.Builder(autoGenerator).interval(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new GeneratorWatcher.Builder(autoGenerator).maxBackoff(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new GeneratorWatcher.Builder(autoGenerator).fullCheckPolls(0));
+        AutoGenerator postgreGenerator = new AutoGenerator(new DataSourceConfig.Builder("jdbc:postgresql://localhost:5432/watcher", "postgres", "").build());
+        Assertions.assertNotNull(new GeneratorWatcher.Builder(postgreGenerator).build());
+        AutoGenerator sqliteGenerator = new AutoGenerator(new DataSourceConfig.Builder("jdbc:sqlite:watcher.db", "", "").build());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new GeneratorWatcher.Builder(sqliteGenerator));
+    }
+
+    private void execute(DataSourceConfig dataSourceConfig, String sql) throws SQLException {
+        try (Connection connection = dataSourceConfig.createConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
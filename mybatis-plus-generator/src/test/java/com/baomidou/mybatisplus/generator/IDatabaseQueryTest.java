@@ -0,0 +1,110 @@
+package com.baomidou.mybatisplus.generator;
+
+import com.baomidou.mybatisplus.generator.config.DataSourceConfig;
+import com.baomidou.mybatisplus.generator.config.StrategyConfig;
+import com.baomidou.mybatisplus.generator.config.builder.ConfigBuilder;
+import com.baomidou.mybatisplus.generator.config.builder.GeneratorBuilder;
+import com.baomidou.mybatisplus.generator.config.po.LikeTable;
+import com.baomidou.mybatisplus.generator.config.po.TableField;
+import com.baomidou.mybatisplus.generator.config.po.TableInfo;
+import com.baomidou.mybatisplus.generator.jdbc.DatabaseMetaDataWrapper;
+import org.apache.ibatis.type.JdbcType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * @since 3.5.0
+ */
+public class IDatabaseQueryTest {
+
+    private static final String URL = "jdbc:h2:mem:metadata;MODE=mysql;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    @Test
+    void columnTypeTest() {
+        DatabaseMetaDataWrapper.ColumnsInfo columnsInfo = new DatabaseMetaDataWrapper.ColumnsInfo()
+            .setTypeName("NUMBER").setJdbcType(JdbcType.DECIMAL).setLength(10);
+        Assertions.assertEquals("NUMBER(10)", IDatabaseQuery.MetaDataDatabaseQuery.getColumnType(columnsInfo));
+        Assertions.assertEquals("NUMBER(10,2)", IDatabaseQuery.MetaDataDatabaseQuery.getColumnType(columnsInfo.setScale(2)));
+        Assertions.assertEquals("NUMBER", IDatabaseQuery.MetaDataDatabaseQuery.getColumnType(columnsInfo.setLength(0)));
+        Assertions.assertEquals("bit(1)", IDatabaseQuery.MetaDataDatabaseQuery.getColumnType(columnsInfo.setTypeName("bit").setJdbcType(JdbcType.BIT).setLength(1)));
+        Assertions.assertEquals("varchar(64)", IDatabaseQuery.MetaDataDatabaseQuery.getColumnType(columnsInfo.setTypeName("varchar").setJdbcType(JdbcType.VARCHAR).setLength(64)));
+        Assertions.assertEquals("datetime", IDatabaseQuery.MetaDataDatabaseQuery.getColumnType(columnsInfo.setTypeName("datetime").setJdbcType(JdbcType.TIMESTAMP).setLength(19)));
+    }
+
+    @Test
+    void metaDataQueryTest() throws SQLException {
+        DataSourceConfig dataSourceConfig = new DataSourceConfig.Builder(URL, "sa", "").build();
+        try (Connection connection = dataSourceConfig.createConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS t_meta_query (id BIGINT AUTO_INCREMENT PRIMARY KEY, user_name VARCHAR(64), age INT, create_time DATETIME)");
+        }
+        StrategyConfig strategyConfig = new StrategyConfig.Builder().addInclude("t_meta_query").build();
+        List<TableInfo> tableInfoList = new IDatabaseQuery.DefaultDatabaseQuery(
+            new ConfigBuilder(GeneratorBuilder.packageConfig(), dataSourceConfig, strategyConfig, null, null, null)).queryTables();
+        dataSourceConfig = new DataSourceConfig.Builder(URL, "sa", "").databaseQueryClass(IDatabaseQuery.MetaDataDatabaseQuery.class).build();
+        Assertions.assertEquals(IDatabaseQuery.MetaDataDatabaseQuery.class, dataSourceConfig.getDatabaseQueryClass());
+        List<TableInfo> metaDataTableInfoList = new ConfigBuilder(GeneratorBuilder.packageConfig(), dataSourceConfig, strategyConfig,
+            null, null, null).getTableInfoList();
+        Assertions.assertEquals(1, tableInfoList.size());
+        Assertions.assertEquals(1, metaDataTableInfoList.size());
+        TableInfo tableInfo = tableInfoList.get(0);
+        TableInfo metaDataTableInfo = metaDataTableInfoList.get(0);
+        Assertions.assertEquals(tableInfo.getName(), metaDataTableInfo.getName());
+        Assertions.assertEquals(tableInfo.getEntityName(), metaDataTableInfo.getEntityName());
+        Assertions.assertTrue(metaDataTableInfo.isHavePrimaryKey());
+        Assertions.assertEquals(columnNames(tableInfo), columnNames(metaDataTableInfo));
+        Assertions.assertEquals(propertyTypes(tableInfo), propertyTypes(metaDataTableInfo));
+        Assertions.assertTrue(metaDataTableInfo.getFields().get(0).isKeyFlag());
+    }
+
+    @Test
+    void bulkQueryTest() throws SQLException {
+        DataSourceConfig dataSourceConfig = new DataSourceConfig.Builder(URL, "sa", "").build();
+        try (Connection connection = dataSourceConfig.createConnection(); Statement statement = connection.createStatement()) {
+            for (String table : new String[]{"t_bulk_a", "t_bulk_b", "t_bulk_c"}) {
+                statement.execute("CREATE TABLE IF NOT EXISTS " + table + " (id BIGINT PRIMARY KEY, name VARCHAR(64))");
+            }
+        }
+        // 包含表已由数据库过滤时,查询到的表数量不是库中表数量,按逐表查询处理
+        IDatabaseQuery.DefaultDatabaseQuery databaseQuery = new IDatabaseQuery.DefaultDatabaseQuery(new ConfigBuilder(GeneratorBuilder.packageConfig(),
+            dataSourceConfig, new StrategyConfig.Builder().disableSqlFilter().addInclude("t_bulk_a", "t_bulk_b").build(), null, null, null));
+        Assertions.assertFalse(databaseQuery.isBulkQuery(2, 2));
+        Assertions.assertEquals(2, databaseQuery.queryTables().size());
+        databaseQuery = new IDatabaseQuery.DefaultDatabaseQuery(new ConfigBuilder(GeneratorBuilder.packageConfig(),
+            dataSourceConfig, new StrategyConfig.Builder().disableSqlFilter().addInclude("t_bulk_.*").build(), null, null, null));
+        Assertions.assertTrue(databaseQuery.isBulkQuery(3, 3));
+        Assertions.assertEquals(3, databaseQuery.queryTables().size());
+    }
+
+    @Test
+    void caseSensitiveBulkQueryTest() throws SQLException {
+        // 仅大小写不同的表字段不能合并
+        DataSourceConfig dataSourceConfig = new DataSourceConfig.Builder("jdbc:h2:mem:case;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "").build();
+        try (Connection connection = dataSourceConfig.createConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS \"t_case\" (\"id\" BIGINT PRIMARY KEY, \"lower_name\" VARCHAR(64))");
+            statement.execute("CREATE TABLE IF NOT EXISTS \"T_CASE\" (\"id\" BIGINT PRIMARY KEY, \"upper_name\" VARCHAR(64), \"age\" INT)");
+        }
+        IDatabaseQuery.DefaultDatabaseQuery databaseQuery = new IDatabaseQuery.DefaultDatabaseQuery(new ConfigBuilder(GeneratorBuilder.packageConfig(),
+            dataSourceConfig, new StrategyConfig.Builder().disableSqlFilter().likeTable(new LikeTable("t_case")).build(), null, null, null));
+        Assertions.assertTrue(databaseQuery.isBulkQuery(2, 2));
+        Map<String, List<String>> columns = databaseQuery.queryTables().stream()
+            .collect(Collectors.toMap(TableInfo::getName, this::columnNames));
+        Assertions.assertEquals(Arrays.asList("id", "lower_name"), columns.get("t_case"));
+        Assertions.assertEquals(Arrays.asList("id", "upper_name", "age"), columns.get("T_CASE"));
+    }
+
+    private List<String> columnNames(TableInfo tableInfo) {
+        return tableInfo.getFields().stream().map(TableField::getColumnName).collect(Collectors.toList());
+    }
+
+    private List<String> propertyTypes(TableInfo tableInfo) {
+        return tableInfo.getFields().stream().map(TableField::getPropertyType).collect(Collectors.toList());
+    }
+}
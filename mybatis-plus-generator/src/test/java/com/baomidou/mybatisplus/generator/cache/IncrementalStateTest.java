@@ -0,0 +1,149 @@
+package com.baomidou.mybatisplus.generator.cache;
+
+import com.baomidou.mybatisplus.generator.config.DataSourceConfig;
+import com.baomidou.mybatisplus.generator.config.GlobalConfig;
+import com.baomidou.mybatisplus.generator.config.StrategyConfig;
+import com.baomidou.mybatisplus.generator.config.TemplateConfig;
+import com.baomidou.mybatisplus.generator.config.builder.ConfigBuilder;
+import com.baomidou.mybatisplus.generator.config.builder.GeneratorBuilder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class IncrementalStateTest {
+
+    private static final DataSourceConfig DATA_SOURCE_CONFIG = new DataSourceConfig.Builder("jdbc:h2:mem:test;MODE=mysql;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "").build();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void test() {
+        String file = tempDir.resolve("state.properties").toString();
+        IncrementalState incrementalState = new IncrementalState(file);
+        Assertions.assertTrue(incrementalState.isNew("USER"));
+        Assertions.assertTrue(incrementalState.isChanged("USER", "1"));
+        incrementalState.update("USER", "1");
+        incrementalState.update("ROLE", "1");
+        // 未保存前不生效
+        Assertions.assertTrue(new IncrementalState(file).isChanged("USER", "1"));
+        incrementalState.save();
+
+        incrementalState = new IncrementalState(file);
+        Assertions.assertFalse(incrementalState.isNew("user"));
+        Assertions.assertFalse(incrementalState.isChanged("USER", "1"));
+        Assertions.assertTrue(incrementalState.isChanged("USER", "2"));
+        Assertions.assertTrue(incrementalState.isChanged("USER", null));
+
+        Map<String, String> fingerprints = new HashMap<>();
+        fingerprints.put("user", "1");
+        Assertions.assertEquals(Collections.singleton("role"), incrementalState.removeDropped(fingerprints));
+        incrementalState.save();
+        Assertions.assertTrue(new IncrementalState(file).isNew("ROLE"));
+    }
+
+    @Test
+    void configChangedTest() {
+        String file = tempDir.resolve("state.properties").toString();
+        IncrementalState incrementalState = new IncrementalState(file, "a");
+        Assertions.assertFalse(incrementalState.isConfigChanged());
+        incrementalState.update("USER", "1");
+        incrementalState.update("ROLE", "1");
+        incrementalState.save();
+
+        incrementalState = new IncrementalState(file, "a");
+        Assertions.assertFalse(incrementalState.isConfigChanged());
+        Assertions.assertFalse(incrementalState.isChanged("USER", "1"));
+        // 摘要不会被当作表
+        Assertions.assertEquals(Collections.emptySet(), incrementalState.removeDropped(fingerprints("user", "role")));
+
+        incrementalState = new IncrementalState(file, "b");
+        Assertions.assertTrue(incrementalState.isConfigChanged());
+        Assertions.assertFalse(incrementalState.isNew("USER"));
+        Assertions.assertTrue(incrementalState.isChanged("USER", "1"));
+        Assertions.assertTrue(incrementalState.isChanged("ROLE", "1"));
+        // 只重新生成了 USER,ROLE 的旧指纹作废
+        incrementalState.update("USER", "1");
+        incrementalState.save();
+
+        incrementalState = new IncrementalState(file, "b");
+        Assertions.assertFalse(incrementalState.isConfigChanged());
+        Assertions.assertFalse(incrementalState.isChanged("USER", "1"));
+        Assertions.assertTrue(incrementalState.isChanged("ROLE", "1"));
+        // 未记录摘要时不比较配置
+        Assertions.assertFalse(new IncrementalState(file).isChanged("USER", "1"));
+    }
+
+    @Test
+    void memoryStateTest() {
+        Map<String, String> state = new HashMap<>();
+        IncrementalState incrementalState = new IncrementalState(state, "a");
+        Assertions.assertTrue(incrementalState.isNew("USER"));
+        incrementalState.update("USER", "1");
+        // 保存前不生效
+        Assertions.assertTrue(state.isEmpty());
+        incrementalState.save();
+        incrementalState = new IncrementalState(state, "a");
+        Assertions.assertFalse(incrementalState.isChanged("USER", "1"));
+        Assertions.assertTrue(incrementalState.isChanged("USER", "2"));
+        Assertions.assertTrue(new IncrementalState(state, "b").isConfigChanged());
+    }
+
+    @Test
+    void configDigestTest() throws IOException {
+        String digest = configBuilder(GeneratorBuilder.strategyConfig(), GeneratorBuilder.templateConfig()).getConfigDigest();
+        Assertions.assertEquals(digest, configBuilder(GeneratorBuilder.strategyConfig(), GeneratorBuilder.templateConfig()).getConfigDigest());
+
+        // 运行期缓存不影响摘要
+        StrategyConfig strategyConfig = GeneratorBuilder.strategyConfigBuilder().addInclude("t_user", "t_role").addTablePrefix("t_").build();
+        String strategyDigest = configBuilder(strategyConfig, GeneratorBuilder.templateConfig()).getConfigDigest();
+        Assertions.assertNotEquals(digest, strategyDigest);
+        strategyConfig.matchIncludeTable("t_user");
+        Assertions.assertEquals(strategyDigest, configBuilder(strategyConfig, GeneratorBuilder.templateConfig()).getConfigDigest());
+        Assertions.assertEquals(strategyDigest, configBuilder(GeneratorBuilder.strategyConfigBuilder().addInclude("t_role", "t_user")
+            .addTablePrefix("t_").build(), GeneratorBuilder.templateConfig()).getConfigDigest());
+
+        Assertions.assertNotEquals(digest, configBuilder(GeneratorBuilder.strategyConfigBuilder().entityBuilder().enableLombok().build(),
+            GeneratorBuilder.templateConfig()).getConfigDigest());
+        Assertions.assertNotEquals(digest, new ConfigBuilder(GeneratorBuilder.packageConfigBuilder().parent("com.example").build(),
+            DATA_SOURCE_CONFIG, null, null, null, null).getConfigDigest());
+
+        // 模板路径与模板内容
+        Path template = tempDir.resolve("entity.java.vm");
+        Files.write(template, "a".getBytes(StandardCharsets.UTF_8));
+        String entityTemplate = tempDir.resolve("entity.java").toString();
+        String templateDigest = configBuilder(GeneratorBuilder.strategyConfig(), GeneratorBuilder.templateConfigBuilder().entity(entityTemplate).build()).getConfigDigest();
+        Assertions.assertNotEquals(digest, templateDigest);
+        Assertions.assertEquals(templateDigest, configBuilder(GeneratorBuilder.strategyConfig(), GeneratorBuilder.templateConfigBuilder().entity(entityTemplate).build()).getConfigDigest());
+        Files.write(template, "b".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertNotEquals(templateDigest, configBuilder(GeneratorBuilder.strategyConfig(), GeneratorBuilder.templateConfigBuilder().entity(entityTemplate).build()).getConfigDigest());
+    }
+
+    @Test
+    void incrementalConfigTest() {
+        Assertions.assertFalse(GeneratorBuilder.globalConfig().isIncremental());
+        GlobalConfig globalConfig = GeneratorBuilder.globalConfigBuilder().enableIncremental("/temp/code/.generator-state").build();
+        Assertions.assertTrue(globalConfig.isIncremental());
+        Assertions.assertEquals("/temp/code/.generator-state", globalConfig.getIncrementalStateFile());
+    }
+
+    private static ConfigBuilder configBuilder(StrategyConfig strategyConfig, TemplateConfig templateConfig) {
+        return new ConfigBuilder(null, DATA_SOURCE_CONFIG, strategyConfig, templateConfig, null, null);
+    }
+
+    private static Map<String, String> fingerprints(String... tableNames) {
+        Map<String, String> fingerprints = new HashMap<>();
+        for (String tableName : tableNames) {
+            fingerprints.put(tableName, "1");
+        }
+        return fingerprints;
+    }
+}
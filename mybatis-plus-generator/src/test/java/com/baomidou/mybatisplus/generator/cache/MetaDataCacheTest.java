@@ -0,0 +1,146 @@
+package com.baomidou.mybatisplus.generator.cache;
+
+import com.baomidou.mybatisplus.generator.jdbc.DatabaseMetaDataWrapper;
+import org.apache.ibatis.type.JdbcType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class MetaDataCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static MetaDataSnapshot.Column column(String name, boolean primaryKey) {
+        Map<String, Object> customMap = new LinkedHashMap<>();
+        customMap.put("Extra", "auto_increment");
+        customMap.put("Size", 20);
+        customMap.put("Scale", new BigDecimal("2.50"));
+        customMap.put("Nothing", null);
+        DatabaseMetaDataWrapper.ColumnsInfo columnsInfo = new DatabaseMetaDataWrapper.ColumnsInfo()
+            .setName(name).setLength(20).setNullable(!primaryKey).setRemarks("备注").setScale(0).setJdbcType(JdbcType.BIGINT)
+            .setTypeName("BIGINT UNSIGNED").setAutoIncrement(primaryKey);
+        return new MetaDataSnapshot.Column(name, "bigint(20)", "主键", primaryKey, primaryKey, customMap, columnsInfo);
+    }
+
+    @Test
+    void snapshotTest() throws Exception {
+        Map<String, String> fingerprints = Collections.singletonMap("user", "1");
+        Map<String, List<MetaDataSnapshot.Column>> columns = Collections.singletonMap("user", Collections.singletonList(column("id", true)));
+        MetaDataSnapshot snapshot = new MetaDataSnapshot("show table status", fingerprints,
+            Collections.singletonList(new MetaDataSnapshot.Table("USER", null)), columns);
+        Path file = tempDir.resolve("test.mpmeta");
+        try (OutputStream outputStream = Files.newOutputStream(file)) {
+            snapshot.write(outputStream);
+        }
+        MetaDataSnapshot read;
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            read = MetaDataSnapshot.read(inputStream);
+        }
+        Assertions.assertEquals("show table status", read.getTablesSql());
+        Assertions.assertEquals(fingerprints, read.getFingerprints());
+        Assertions.assertEquals("USER", read.getTables().get(0).getName());
+        Assertions.assertNull(read.getTables().get(0).getComment());
+        MetaDataSnapshot.Column column = read.getColumns().get("user").get(0);
+        Assertions.assertEquals("id", column.getName());
+        Assertions.assertEquals("bigint(20)", column.getType());
+        Assertions.assertTrue(column.isPrimaryKey());
+        Assertions.assertTrue(column.isKeyIdentity());
+        Assertions.assertEquals(20, column.getCustomMap().get("Size"));
+        Assertions.assertEquals(new BigDecimal("2.50"), column.getCustomMap().get("Scale"));
+        Assertions.assertTrue(column.getCustomMap().containsKey("Nothing"));
+        Assertions.assertEquals(JdbcType.BIGINT, column.getColumnsInfo().getJdbcType());
+        Assertions.assertEquals("备注", column.getColumnsInfo().getRemarks());
+        Assertions.assertFalse(column.getColumnsInfo().isNullable());
+        Assertions.assertEquals("BIGINT UNSIGNED", column.getColumnsInfo().getTypeName());
+        Assertions.assertTrue(column.getColumnsInfo().isAutoIncrement());
+
+        // 旧版本缓存文件丢弃
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(outputStream)) {
+            out.writeInt(0x4D504D44);
+            out.writeInt(1);
+        }
+        Assertions.assertThrows(IOException.class, () -> MetaDataSnapshot.read(new ByteArrayInputStream(outputStream.toByteArray())));
+    }
+
+    @Test
+    void cacheTest() throws Exception {
+        Path file = MetaDataCache.getCacheFile(tempDir.toString(), "jdbc:h2:mem:test", "PUBLIC", "sa");
+        Assertions.assertEquals(file, MetaDataCache.getCacheFile(tempDir.toString(), "jdbc:h2:mem:test", "PUBLIC", "sa"));
+        Assertions.assertNotEquals(file, MetaDataCache.getCacheFile(tempDir.toString(), "jdbc:h2:mem:test", "TEST", "sa"));
+
+        Map<String, String> fingerprints = new HashMap<>();
+        fingerprints.put("user", "1");
+        fingerprints.put("role", "1");
+        MetaDataCache metaDataCache = new MetaDataCache(file, fingerprints);
+        Assertions.assertNull(metaDataCache.getTables("sql"));
+        Assertions.assertNull(metaDataCache.getColumns("USER"));
+        metaDataCache.putColumn("USER", column("id", true));
+        metaDataCache.putColumn("USER", column("name", false));
+        metaDataCache.putColumn("ROLE", column("id", true));
+        metaDataCache.save("sql", Collections.singletonList(new MetaDataSnapshot.Table("USER", "用户")));
+        Assertions.assertTrue(Files.exists(file));
+
+        FileTime lastModified = FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() - 10000);
+        Files.setLastModifiedTime(file, lastModified);
+        metaDataCache = new MetaDataCache(file, fingerprints);
+        List<MetaDataSnapshot.Table> tables = metaDataCache.getTables("sql");
+        Assertions.assertNotNull(tables);
+        Assertions.assertNull(metaDataCache.getTables("other sql"));
+        Assertions.assertEquals(2, metaDataCache.getColumns("user").size());
+        // 完全命中缓存时不重写文件
+        Assertions.assertSame(tables, metaDataCache.save("sql", tables).getTables());
+        Assertions.assertEquals(lastModified, Files.getLastModifiedTime(file));
+
+        // role 表结构变化
+        Map<String, String> changed = new HashMap<>(fingerprints);
+        changed.put("role", "2");
+        metaDataCache = new MetaDataCache(file, changed);
+        Assertions.assertNull(metaDataCache.getTables("sql"));
+        Assertions.assertNotNull(metaDataCache.getColumns("USER"));
+        Assertions.assertNull(metaDataCache.getColumns("ROLE"));
+        metaDataCache.save("sql", Collections.emptyList());
+
+        metaDataCache = new MetaDataCache(file, changed);
+        Assertions.assertNotNull(metaDataCache.getColumns("USER"));
+        Assertions.assertNull(metaDataCache.getColumns("ROLE"));
+    }
+
+    @Test
+    void reloadTest() throws Exception {
+        Path file = MetaDataCache.getCacheFile(tempDir.toString(), "jdbc:h2:mem:reload");
+        Map<String, String> fingerprints = Collections.singletonMap("user", "1");
+        MetaDataCache metaDataCache = new MetaDataCache(file, fingerprints);
+        metaDataCache.putColumn("USER", column("id", true));
+        metaDataCache.save("sql", Collections.singletonList(new MetaDataSnapshot.Table("USER", "用户")));
+        Assertions.assertEquals(1, new MetaDataCache(file, fingerprints).getColumns("user").size());
+        // 其他进程更新缓存文件
+        MetaDataSnapshot snapshot = new MetaDataSnapshot("sql", fingerprints, Collections.emptyList(),
+            Collections.singletonMap("user", Arrays.asList(column("id", true), column("name", false))));
+        try (OutputStream outputStream = Files.newOutputStream(file)) {
+            snapshot.write(outputStream);
+        }
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000));
+        Assertions.assertEquals(2, new MetaDataCache(file, fingerprints).getColumns("user").size());
+        Files.delete(file);
+        Assertions.assertNull(new MetaDataCache(file, fingerprints).getColumns("user"));
+    }
+}
@@ -1,7 +1,11 @@
 package com.baomidou.mybatisplus.generator.config;
 
 import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.generator.config.builder.ConfigBuilder;
+import com.baomidou.mybatisplus.generator.config.builder.GeneratorBuilder;
 import com.baomidou.mybatisplus.generator.config.converts.PostgreSqlTypeConvert;
+import com.baomidou.mybatisplus.generator.config.po.LikeTable;
+import com.baomidou.mybatisplus.generator.config.po.TableInfo;
 import com.baomidou.mybatisplus.generator.config.querys.H2Query;
 import com.baomidou.mybatisplus.generator.config.querys.MySqlQuery;
 import com.baomidou.mybatisplus.generator.keywords.MySqlKeyWordsHandler;
@@ -10,6 +14,11 @@ import org.h2.Driver;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Collectors;
+
 
 /**
  *
@@ -57,4 +66,48 @@ public class DataSourceConfigTest {
         Assertions.assertEquals(dataSourceConfig.getDbQuery().getClass(), H2Query.class);
     }
 
+    @Test
+    void parallelismTest() throws Exception {
+        DataSourceConfig dataSourceConfig = new DataSourceConfig.Builder("jdbc:h2:mem:test;MODE=mysql;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "").build();
+        Assertions.assertEquals(1, dataSourceConfig.getParallelism());
+        dataSourceConfig = new DataSourceConfig.Builder("jdbc:h2:mem:test;MODE=mysql;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "").parallelism(4).build();
+        Assertions.assertEquals(4, dataSourceConfig.getParallelism());
+        try (Connection connection = dataSourceConfig.createConnection()) {
+            Assertions.assertNotSame(dataSourceConfig.getConn(), connection);
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new DataSourceConfig.Builder("jdbc:h2:mem:test", "sa", "").parallelism(0));
+    }
+
+    private static String tableInfos(int parallelism, StrategyConfig strategyConfig) {
+        DataSourceConfig dataSourceConfig = new DataSourceConfig.Builder("jdbc:h2:mem:parallelism;MODE=mysql;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "")
+            .parallelism(parallelism).build();
+        List<TableInfo> tableInfoList = new ConfigBuilder(GeneratorBuilder.packageConfig(), dataSourceConfig, strategyConfig,
+            null, GeneratorBuilder.globalConfig(), null).getTableInfoList();
+        return tableInfoList.stream().map(tableInfo -> tableInfo.getName() + ":" + tableInfo.getComment() + ":" + tableInfo.getEntityName() + ":"
+            + tableInfo.getFields().stream().map(field -> field.getName() + " " + field.getType() + " " + field.getPropertyName() + " "
+            + field.getPropertyType() + " " + field.isKeyFlag() + " " + field.getComment()).collect(Collectors.joining(",")))
+            .collect(Collectors.joining("\n"));
+    }
+
+    @Test
+    void parallelismQueryTest() throws Exception {
+        try (Connection connection = new DataSourceConfig.Builder("jdbc:h2:mem:parallelism;MODE=mysql;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "").build().createConnection();
+             Statement statement = connection.createStatement()) {
+            for (int i = 0; i < 8; i++) {
+                statement.execute("CREATE TABLE IF NOT EXISTS t_parallel_" + i + " (id BIGINT PRIMARY KEY COMMENT '主键', user_name VARCHAR(64) COMMENT '用户名', "
+                    + "age INT, create_time TIMESTAMP)");
+                statement.execute("COMMENT ON TABLE t_parallel_" + i + " IS '表" + i + "'");
+            }
+        }
+        // 逐表查询字段
+        String[] include = {"t_parallel_3", "t_parallel_0", "t_parallel_7", "t_parallel_1", "t_parallel_5", "t_parallel_2"};
+        String serial = tableInfos(1, new StrategyConfig.Builder().addInclude(include).build());
+        Assertions.assertEquals(6, serial.split("\n").length);
+        Assertions.assertEquals(serial, tableInfos(4, new StrategyConfig.Builder().addInclude(include).build()));
+        // 模糊匹配表名
+        serial = tableInfos(1, new StrategyConfig.Builder().likeTable(new LikeTable("t_parallel")).build());
+        Assertions.assertEquals(8, serial.split("\n").length);
+        Assertions.assertEquals(serial, tableInfos(4, new StrategyConfig.Builder().likeTable(new LikeTable("t_parallel")).build()));
+    }
+
 }
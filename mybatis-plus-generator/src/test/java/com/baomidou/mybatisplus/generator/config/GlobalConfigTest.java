@@ -37,4 +37,13 @@ public class GlobalConfigTest {
         Assertions.assertEquals("2200年11月10日", GeneratorBuilder.globalConfigBuilder().commentDate(() -> "2200年11月10日").build().getCommentDate());
         Assertions.assertEquals(LocalDate.now().format(DateTimeFormatter.ISO_DATE), GeneratorBuilder.globalConfigBuilder().commentDate(() -> LocalDate.now().format(DateTimeFormatter.ISO_DATE)).build().getCommentDate());
     }
+
+    @Test
+    void streamingTest() {
+        Assertions.assertFalse(GeneratorBuilder.globalConfig().isStreaming());
+        GlobalConfig globalConfig = GeneratorBuilder.globalConfigBuilder().enableStreaming(16).build();
+        Assertions.assertTrue(globalConfig.isStreaming());
+        Assertions.assertEquals(16, globalConfig.getStreamingQueueSize());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GeneratorBuilder.globalConfigBuilder().enableStreaming(0));
+    }
 }
@@ -0,0 +1,90 @@
+package com.baomidou.mybatisplus.generator.config;
+
+import com.baomidou.mybatisplus.core.enums.SqlLike;
+import com.baomidou.mybatisplus.generator.config.po.LikeTable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * @since 3.5.0
+ */
+public class TableFilterTest {
+
+    @Test
+    void includeTest() {
+        TableFilter tableFilter = new StrategyConfig.Builder().addInclude("sys_user", "t_order_\\d+", "(a)\\1").build().getTableFilter();
+        Assertions.assertTrue(tableFilter.accept("SYS_USER"));
+        Assertions.assertTrue(tableFilter.accept("t_order_12"));
+        Assertions.assertFalse(tableFilter.accept("t_order_x"));
+        Assertions.assertTrue(tableFilter.accept("aa"));
+        Assertions.assertFalse(tableFilter.accept("sys_role"));
+        Assertions.assertEquals(1, tableFilter.getTableNames().size());
+        Assertions.assertEquals("sys_user", tableFilter.getTableNames().get("sys_user"));
+        // 包含正则时不能由数据库过滤
+        Assertions.assertEquals("", tableFilter.toSqlCondition("TABLE_NAME"));
+        Assertions.assertFalse(tableFilter.isIncludeFiltered());
+        tableFilter = new StrategyConfig.Builder().addInclude("sys_user", "Sys_Role").build().getTableFilter();
+        Assertions.assertTrue(tableFilter.isIncludeFiltered());
+        Assertions.assertTrue(tableFilter.toSqlCondition("TABLE_NAME").matches(" AND UPPER\\(TABLE_NAME\\) IN \\('SYS_(USER|ROLE)','SYS_(USER|ROLE)'\\)"));
+    }
+
+    @Test
+    void excludeTest() {
+        StrategyConfig.Builder builder = new StrategyConfig.Builder().addExclude("sys_user", "tmp_.*");
+        StrategyConfig strategyConfig = builder.build();
+        TableFilter tableFilter = strategyConfig.getTableFilter();
+        Assertions.assertFalse(tableFilter.accept("sys_user"));
+        Assertions.assertFalse(tableFilter.accept("tmp_1"));
+        Assertions.assertTrue(tableFilter.accept("user"));
+        Assertions.assertEquals("", tableFilter.toSqlCondition("TABLE_NAME"));
+        // 配置变化后重新编译
+        builder.addExclude("user");
+        Assertions.assertNotSame(tableFilter, strategyConfig.getTableFilter());
+        Assertions.assertFalse(strategyConfig.getTableFilter().accept("USER"));
+    }
+
+    @Test
+    void likeTableTest() {
+        TableFilter tableFilter = new StrategyConfig.Builder().likeTable(new LikeTable("sys_", SqlLike.RIGHT)).build().getTableFilter();
+        Assertions.assertTrue(tableFilter.accept("SYS_USER"));
+        Assertions.assertTrue(tableFilter.accept("sysXuser"));
+        Assertions.assertFalse(tableFilter.accept("t_sys_user"));
+        Assertions.assertEquals(" AND UPPER(TABLE_NAME) LIKE 'SYS_%'", tableFilter.toSqlCondition("TABLE_NAME"));
+        tableFilter = new StrategyConfig.Builder().notLikeTable(new LikeTable("it's\\_")).build().getTableFilter();
+        Assertions.assertFalse(tableFilter.accept("my_it's_table"));
+        Assertions.assertTrue(tableFilter.accept("my_it'sXtable"));
+        // 各数据库默认转义字符不同,含转义的 NOT LIKE 不由数据库过滤
+        Assertions.assertEquals("", tableFilter.toSqlCondition("TABLE_NAME"));
+        tableFilter = new StrategyConfig.Builder().notLikeTable(new LikeTable("it's")).build().getTableFilter();
+        Assertions.assertEquals(" AND UPPER(TABLE_NAME) NOT LIKE '%IT''S%'", tableFilter.toSqlCondition("TABLE_NAME"));
+        // 被转义的字符替换为 _,数据库返回超集后再精确过滤
+        tableFilter = new StrategyConfig.Builder().likeTable(new LikeTable("sys\\_", SqlLike.RIGHT)).build().getTableFilter();
+        Assertions.assertTrue(tableFilter.accept("SYS_USER"));
+        Assertions.assertFalse(tableFilter.accept("sysXuser"));
+        Assertions.assertEquals(" AND UPPER(TABLE_NAME) LIKE 'SYS_%'", tableFilter.toSqlCondition("TABLE_NAME"));
+    }
+
+    @Test
+    void includeChunkTest() {
+        String[] tables = new String[2500];
+        for (int i = 0; i < tables.length; i++) {
+            tables[i] = "t_user_" + i;
+        }
+        TableFilter tableFilter = new StrategyConfig.Builder().addInclude(tables).build().getTableFilter();
+        String sql = tableFilter.toSqlCondition("TABLE_NAME");
+        Assertions.assertTrue(sql.startsWith(" AND (UPPER(TABLE_NAME) IN ('"));
+        Assertions.assertTrue(sql.endsWith("'))"));
+        Assertions.assertEquals(2, sql.split(" OR ").length - 1);
+        for (String group : sql.split(" OR ")) {
+            Assertions.assertTrue(group.split(",").length <= 1000);
+        }
+        Assertions.assertEquals(2500, sql.split("'T_USER_").length - 1);
+    }
+
+    @Test
+    void invalidPatternTest() {
+        Assertions.assertThrows(PatternSyntaxException.class, () -> new StrategyConfig.Builder().addInclude("t_user(").build().getTableFilter());
+    }
+}
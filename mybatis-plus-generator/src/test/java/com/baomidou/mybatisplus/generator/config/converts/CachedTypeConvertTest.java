@@ -0,0 +1,50 @@
+package com.baomidou.mybatisplus.generator.config.converts;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.generator.config.GlobalConfig;
+import com.baomidou.mybatisplus.generator.config.ITypeConvert;
+import com.baomidou.mybatisplus.generator.config.rules.DateType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @since 3.5.0
+ */
+public class CachedTypeConvertTest {
+
+    private static final String[] FIELD_TYPES = {"varchar(64)", "bigint(20)", "tinyint(1)", "bit(8)", "int(11)", "decimal(10,2)",
+        "datetime", "datetime(6)", "date", "time", "year", "timestamp", "json", "longblob", "unknown"};
+
+    @Test
+    void processTypeConvertTest() {
+        ITypeConvert typeConvert = TypeConverts.getCachedTypeConvert(DbType.MYSQL);
+        Assertions.assertSame(typeConvert, TypeConverts.getCachedTypeConvert(DbType.MARIADB));
+        for (DateType dateType : DateType.values()) {
+            GlobalConfig globalConfig = new GlobalConfig.Builder().dateType(dateType).build();
+            for (int i = 0; i < 2; i++) {
+                for (String fieldType : FIELD_TYPES) {
+                    Assertions.assertEquals(MySqlTypeConvert.INSTANCE.processTypeConvert(globalConfig, fieldType),
+                        typeConvert.processTypeConvert(globalConfig, fieldType));
+                }
+            }
+        }
+    }
+
+    @Test
+    void cacheTest() {
+        AtomicInteger count = new AtomicInteger();
+        CachedTypeConvert typeConvert = new CachedTypeConvert((globalConfig, fieldType) -> {
+            count.incrementAndGet();
+            return MySqlTypeConvert.INSTANCE.processTypeConvert(globalConfig, fieldType);
+        });
+        GlobalConfig globalConfig = new GlobalConfig.Builder().build();
+        for (int i = 0; i < 100; i++) {
+            typeConvert.processTypeConvert(globalConfig, "varchar(64)");
+        }
+        Assertions.assertEquals(1, count.get());
+        typeConvert.processTypeConvert(new GlobalConfig.Builder().dateType(DateType.ONLY_DATE).build(), "varchar(64)");
+        Assertions.assertEquals(2, count.get());
+    }
+}
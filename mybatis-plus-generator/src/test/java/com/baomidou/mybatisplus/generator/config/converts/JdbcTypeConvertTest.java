@@ -0,0 +1,76 @@
+package com.baomidou.mybatisplus.generator.config.converts;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.generator.config.DataSourceConfig;
+import com.baomidou.mybatisplus.generator.config.GlobalConfig;
+import com.baomidou.mybatisplus.generator.config.builder.ConfigBuilder;
+import com.baomidou.mybatisplus.generator.config.builder.GeneratorBuilder;
+import com.baomidou.mybatisplus.generator.config.po.TableField;
+import com.baomidou.mybatisplus.generator.config.rules.DateType;
+import com.baomidou.mybatisplus.generator.config.rules.DbColumnType;
+import com.baomidou.mybatisplus.generator.jdbc.DatabaseMetaDataWrapper;
+import org.apache.ibatis.type.JdbcType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @since 3.5.0
+ */
+public class JdbcTypeConvertTest {
+
+    private final ConfigBuilder configBuilder = new ConfigBuilder(GeneratorBuilder.packageConfig(),
+        new DataSourceConfig.Builder("jdbc:h2:mem:test;MODE=mysql;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "").build(),
+        GeneratorBuilder.strategyConfig(), null, null, null);
+
+    private TableField tableField(String type, JdbcType jdbcType, int length, int scale) {
+        TableField tableField = new TableField(configBuilder, "test").setType(type);
+        if (jdbcType != null) {
+            tableField.setMetaInfo(new TableField.MetaInfo(new DatabaseMetaDataWrapper.ColumnsInfo()
+                .setName("test").setJdbcType(jdbcType).setLength(length).setScale(scale)));
+        }
+        return tableField;
+    }
+
+    @Test
+    void toColumnTypeTest() {
+        Assertions.assertEquals(DbColumnType.STRING, JdbcTypeConvert.toColumnType(DateType.TIME_PACK, JdbcType.NVARCHAR, 64, 0));
+        Assertions.assertEquals(DbColumnType.BOOLEAN, JdbcTypeConvert.toColumnType(DateType.TIME_PACK, JdbcType.BIT, 1, 0));
+        Assertions.assertNull(JdbcTypeConvert.toColumnType(DateType.TIME_PACK, JdbcType.BIT, 8, 0));
+        Assertions.assertNull(JdbcTypeConvert.toColumnType(DateType.TIME_PACK, JdbcType.TINYINT, 3, 0));
+        Assertions.assertEquals(DbColumnType.INTEGER, JdbcTypeConvert.toColumnType(DateType.TIME_PACK, JdbcType.NUMERIC, 9, 0));
+        Assertions.assertEquals(DbColumnType.LONG, JdbcTypeConvert.toColumnType(DateType.TIME_PACK, JdbcType.NUMERIC, 18, 0));
+        Assertions.assertEquals(DbColumnType.BIG_DECIMAL, JdbcTypeConvert.toColumnType(DateType.TIME_PACK, JdbcType.NUMERIC, 19, 0));
+        Assertions.assertEquals(DbColumnType.BIG_DECIMAL, JdbcTypeConvert.toColumnType(DateType.TIME_PACK, JdbcType.DECIMAL, 10, 2));
+        Assertions.assertEquals(DbColumnType.BIG_DECIMAL, JdbcTypeConvert.toColumnType(DateType.TIME_PACK, JdbcType.NUMERIC, 0, -127));
+        Assertions.assertEquals(DbColumnType.LOCAL_DATE_TIME, JdbcTypeConvert.toColumnType(DateType.TIME_PACK, JdbcType.TIMESTAMP, 26, 6));
+        Assertions.assertEquals(DbColumnType.TIMESTAMP, JdbcTypeConvert.toColumnType(DateType.SQL_PACK, JdbcType.TIMESTAMP, 26, 6));
+        Assertions.assertEquals(DbColumnType.DATE, JdbcTypeConvert.toColumnType(DateType.ONLY_DATE, JdbcType.TIME, 8, 0));
+        Assertions.assertEquals(DbColumnType.LOCAL_DATE, JdbcTypeConvert.toColumnType(DateType.TIME_PACK, JdbcType.DATE, 10, 0));
+        Assertions.assertNull(JdbcTypeConvert.toColumnType(DateType.TIME_PACK, JdbcType.TIMESTAMP_WITH_TIMEZONE, 35, 6));
+        Assertions.assertNull(JdbcTypeConvert.toColumnType(DateType.TIME_PACK, JdbcType.OTHER, 0, 0));
+    }
+
+    @Test
+    void processTypeConvertTest() {
+        JdbcTypeConvert typeConvert = new JdbcTypeConvert(TypeConverts.getCachedTypeConvert(DbType.MYSQL));
+        GlobalConfig globalConfig = new GlobalConfig.Builder().build();
+        // 元数据类型与字段类型不一致时以元数据类型为准
+        Assertions.assertEquals(DbColumnType.LONG, typeConvert.processTypeConvert(globalConfig, tableField("decimal(12)", JdbcType.DECIMAL, 12, 0)));
+        // 无法确定的类型与缺少元数据时按字段类型转换
+        Assertions.assertEquals(DbColumnType.BOOLEAN, typeConvert.processTypeConvert(globalConfig, tableField("tinyint(1)", JdbcType.TINYINT, 3, 0)));
+        Assertions.assertEquals(DbColumnType.BYTE, typeConvert.processTypeConvert(globalConfig, tableField("bit(8)", JdbcType.BIT, 8, 0)));
+        Assertions.assertEquals(DbColumnType.YEAR, typeConvert.processTypeConvert(globalConfig, tableField("year", null, 0, 0)));
+        Assertions.assertEquals(DbColumnType.LONG, typeConvert.processTypeConvert(globalConfig, "bigint(20)"));
+    }
+
+    @Test
+    void dataSourceConfigTest() {
+        DataSourceConfig dataSourceConfig = new DataSourceConfig.Builder("jdbc:h2:mem:test;MODE=mysql;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "")
+            .enableJdbcTypeConvert().build();
+        Assertions.assertTrue(dataSourceConfig.getTypeConvert() instanceof JdbcTypeConvert);
+        Assertions.assertSame(dataSourceConfig.getTypeConvert(), dataSourceConfig.getTypeConvert());
+        dataSourceConfig = new DataSourceConfig.Builder("jdbc:h2:mem:test;MODE=mysql;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "")
+            .typeConvert(MySqlTypeConvert.INSTANCE).enableJdbcTypeConvert().build();
+        Assertions.assertSame(MySqlTypeConvert.INSTANCE, ((JdbcTypeConvert) dataSourceConfig.getTypeConvert()).getTypeConvert());
+    }
+}
@@ -0,0 +1,83 @@
+package com.baomidou.mybatisplus.generator.config.converts;
+
+import com.baomidou.mybatisplus.generator.config.GlobalConfig;
+import com.baomidou.mybatisplus.generator.config.rules.DateType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static com.baomidou.mybatisplus.generator.config.rules.DbColumnType.*;
+
+/**
+ * @since 3.5.0
+ */
+public class TypeMappingRulesTest {
+
+    private static TypeMappingRules parse(String rules) throws IOException {
+        return TypeMappingRules.parse(new StringReader(rules));
+    }
+
+    @Test
+    void matchTest() throws IOException {
+        TypeMappingRules rules = parse("# 注释\n"
+            + "contains: char, text -> STRING\n"
+            + "exact: bigint unsigned -> BIG_INTEGER\n"
+            + "contains: bigint -> LONG\n"
+            + "prefix: tinyint(1) -> BOOLEAN\n"
+            + "regex: int\\((\\d)\\) -> BASE_INT\n"
+            + "contains: int -> INTEGER\n"
+            + "default -> OBJECT\n");
+        GlobalConfig globalConfig = new GlobalConfig.Builder().build();
+        Assertions.assertEquals(STRING, rules.processTypeConvert(globalConfig, "VARCHAR(64)"));
+        Assertions.assertEquals(BIG_INTEGER, rules.processTypeConvert(globalConfig, "bigint unsigned"));
+        Assertions.assertEquals(LONG, rules.processTypeConvert(globalConfig, "bigint(20) unsigned"));
+        Assertions.assertEquals(BOOLEAN, rules.processTypeConvert(globalConfig, "tinyint(1)"));
+        // 前缀规则只匹配开头
+        Assertions.assertEquals(INTEGER, rules.processTypeConvert(globalConfig, "unsigned tinyint(1)"));
+        Assertions.assertEquals(BASE_INT, rules.processTypeConvert(globalConfig, "int(5)"));
+        // 正则规则完全匹配
+        Assertions.assertEquals(INTEGER, rules.processTypeConvert(globalConfig, "int(11)"));
+        Assertions.assertEquals(OBJECT, rules.processTypeConvert(globalConfig, "geometry"));
+    }
+
+    @Test
+    void orderTest() throws IOException {
+        // 先声明的规则优先,与模式串长度和位置无关
+        TypeMappingRules rules = parse("contains: ab -> LONG\ncontains: xabc, b -> INTEGER\n");
+        GlobalConfig globalConfig = new GlobalConfig.Builder().build();
+        Assertions.assertEquals(LONG, rules.processTypeConvert(globalConfig, "xabc"));
+        Assertions.assertEquals(INTEGER, rules.processTypeConvert(globalConfig, "xb"));
+        rules = parse("contains: xabc, b -> INTEGER\ncontains: ab -> LONG\n");
+        Assertions.assertEquals(INTEGER, rules.processTypeConvert(globalConfig, "zab"));
+        Assertions.assertEquals(STRING, rules.processTypeConvert(globalConfig, "zaz"));
+    }
+
+    @Test
+    void dateTypeTest() throws IOException {
+        TypeMappingRules rules = parse("exact: date -> SQL_PACK=DATE_SQL, TIME_PACK=LOCAL_DATE, *=DATE\n");
+        Assertions.assertEquals(DATE_SQL, rules.processTypeConvert(new GlobalConfig.Builder().dateType(DateType.SQL_PACK).build(), "date"));
+        Assertions.assertEquals(LOCAL_DATE, rules.processTypeConvert(new GlobalConfig.Builder().dateType(DateType.TIME_PACK).build(), "date"));
+        Assertions.assertEquals(DATE, rules.processTypeConvert(new GlobalConfig.Builder().dateType(DateType.ONLY_DATE).build(), "date"));
+    }
+
+    @Test
+    void includeTest() throws IOException {
+        TypeMappingRules rules = parse("contains: tinyint -> INTEGER\ninclude: /type-mapping/mysql.rules\n");
+        GlobalConfig globalConfig = new GlobalConfig.Builder().build();
+        Assertions.assertEquals(INTEGER, rules.processTypeConvert(globalConfig, "tinyint(1)"));
+        Assertions.assertEquals(LONG, rules.processTypeConvert(globalConfig, "bigint(20)"));
+        Assertions.assertEquals(LOCAL_DATE_TIME, rules.processTypeConvert(globalConfig, "datetime"));
+        Assertions.assertEquals(YEAR, rules.processTypeConvert(globalConfig, "year(4)"));
+    }
+
+    @Test
+    void errorTest() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> parse("contains: int"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> parse("like: int -> INTEGER"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> parse("contains: int -> INT"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> parse("exact: date -> DAY_PACK=DATE"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> parse("include: /type-mapping/none.rules"));
+    }
+}
@@ -3,6 +3,7 @@ package com.baomidou.mybatisplus.generator.config.po;
 import com.baomidou.mybatisplus.annotation.FieldFill;
 import com.baomidou.mybatisplus.generator.config.StrategyConfig;
 import com.baomidou.mybatisplus.generator.config.builder.ConfigBuilder;
+import com.baomidou.mybatisplus.generator.config.builder.Entity;
 import com.baomidou.mybatisplus.generator.config.builder.GeneratorBuilder;
 import com.baomidou.mybatisplus.generator.config.rules.DbColumnType;
 import com.baomidou.mybatisplus.generator.config.rules.NamingStrategy;
@@ -125,5 +126,33 @@ public class TableFieldTest {
         Assertions.assertNotNull(new TableField(configBuilder, "createBy").setPropertyName("createBy", DbColumnType.STRING).getFill());
         Assertions.assertNotNull(new TableField(configBuilder, "updateBy").setPropertyName("createBy", DbColumnType.STRING).getFill());
         Assertions.assertNotNull(new TableField(configBuilder, "create_user").setPropertyName("createUser", DbColumnType.STRING).getFill());
+        // 多个填充匹配时取先添加的
+        strategyConfig = new StrategyConfig.Builder()
+            .entityBuilder()
+            .addTableFills(new Property("createTime", FieldFill.INSERT_UPDATE), new Column("CREATE_TIME", FieldFill.INSERT))
+            .build();
+        configBuilder = new ConfigBuilder(GeneratorBuilder.packageConfig(), TableInfoTest.dataSourceConfig, strategyConfig, null, GeneratorBuilder.globalConfig(), null);
+        Assertions.assertEquals(FieldFill.INSERT.name(), new TableField(configBuilder, "create_time").getFill());
+        Assertions.assertEquals(FieldFill.INSERT_UPDATE.name(), new TableField(configBuilder, "create_time").setPropertyName("createTime", DbColumnType.LOCAL_DATE_TIME).getFill());
+    }
+
+    @Test
+    void columnRuleTest() {
+        StrategyConfig strategyConfig = new StrategyConfig.Builder()
+            .entityBuilder()
+            .addIgnoreColumns("age")
+            .addSuperEntityColumns("id", "CREATE_TIME")
+            .versionColumnName("version")
+            .build();
+        Entity entity = strategyConfig.entity();
+        Assertions.assertTrue(entity.matchIgnoreColumns("AGE"));
+        Assertions.assertFalse(entity.matchIgnoreColumns("name"));
+        Assertions.assertTrue(entity.matchSuperEntityColumns("create_time"));
+        Assertions.assertTrue(entity.getColumnRule("Version").isVersion());
+        Assertions.assertFalse(entity.getPropertyRule("version").isVersion());
+        // 配置变化后重新构建规则
+        strategyConfig.entityBuilder().addIgnoreColumns("name").logicDeletePropertyName("deleted");
+        Assertions.assertTrue(entity.matchIgnoreColumns("NAME"));
+        Assertions.assertTrue(entity.getPropertyRule("deleted").isLogicDelete());
     }
 }
@@ -0,0 +1,210 @@
+package com.baomidou.mybatisplus.generator.config.querys;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.core.enums.SqlLike;
+import com.baomidou.mybatisplus.generator.config.DataSourceConfig;
+import com.baomidou.mybatisplus.generator.config.IDbQuery;
+import com.baomidou.mybatisplus.generator.config.StrategyConfig;
+import com.baomidou.mybatisplus.generator.config.po.LikeTable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @since 3.5.0
+ */
+public class DbQueryTest {
+
+    @Test
+    void tableFieldsPreparedSqlTest() {
+        DbQueryRegistry dbQueryRegistry = new DbQueryRegistry();
+        for (DbType dbType : DbType.values()) {
+            IDbQuery dbQuery = dbQueryRegistry.getDbQuery(dbType);
+            if (dbQuery == null || dbQuery.tableFieldsPreparedSql() == null) {
+                continue;
+            }
+            String sql = dbQuery.tableFieldsPreparedSql();
+            Assertions.assertFalse(sql.contains("%s"), dbType.name());
+            Assertions.assertEquals(sql.indexOf('?'), sql.lastIndexOf('?'), dbType.name());
+            Assertions.assertTrue(sql.indexOf('?') > 0, dbType.name());
+        }
+        Assertions.assertNull(new MySqlQuery().tableFieldsPreparedSql());
+        Assertions.assertTrue(new PostgreSqlQuery().tableFieldsPreparedSql().contains("quote_ident(?)::regclass"));
+        Assertions.assertTrue(new KingbaseESQuery().tableFieldsPreparedSql().contains("('#schema.' || ?)::regclass"));
+        Assertions.assertTrue(new OracleQuery().tableFieldsPreparedSql().endsWith("A.TABLE_NAME = ? ORDER BY A.COLUMN_ID "));
+        Assertions.assertEquals("SELECT * FROM syscat.columns WHERE tabschema=#schema AND tabname=?", new DB2Query().tableFieldsPreparedSql());
+        // 重写 tableFieldsSql 后由重写的语句替换出绑定参数
+        Assertions.assertEquals("SELECT * FROM syscat.columns WHERE tabschema=#schema AND tabname=? ORDER BY colno", new DB2Query() {
+            @Override
+            public String tableFieldsSql() {
+                return "SELECT * FROM syscat.columns WHERE tabschema=%s AND tabname='%s' ORDER BY colno";
+            }
+        }.tableFieldsPreparedSql());
+        Assertions.assertNull(new DB2Query() {
+            @Override
+            public String tableFieldsSql() {
+                return "SELECT * FROM syscat.columns WHERE tabname='%s'";
+            }
+        }.tableFieldsPreparedSql());
+
+    }
+
+    @Test
+    void primaryKeysSqlTest() {
+        Assertions.assertEquals(H2Query.PRIMARY_KEYS_SQL, new H2Query().primaryKeysSql());
+        // 只查询当前 schema,排除 INFORMATION_SCHEMA 等其他 schema
+        Assertions.assertTrue(H2Query.PRIMARY_KEYS_SQL.contains("TABLE_SCHEMA = SCHEMA()"));
+        Assertions.assertTrue(new H2Query().bulkTableFieldsSql().contains("TABLE_SCHEMA = SCHEMA()"));
+        Assertions.assertTrue(new H2Query().fingerprintSql().contains("TABLE_SCHEMA = SCHEMA()"));
+        Assertions.assertNull(new MySqlQuery().primaryKeysSql());
+        Assertions.assertNull(new PostgreSqlQuery().primaryKeysSql());
+    }
+
+    @Test
+    void bulkTableFieldsSqlTest() {
+        // 批量查询与逐表查询的字段保持一致
+        Assertions.assertEquals(new DMQuery().tableFieldsSql().replace("SELECT T2.COLUMN_NAME,", "SELECT T2.TABLE_NAME,T2.COLUMN_NAME,")
+            .replace("   AND T1.TABLE_NAME = '%s' ", " "), new DMQuery().bulkTableFieldsSql());
+        String oracleSql = new OracleQuery().bulkTableFieldsSql();
+        Assertions.assertTrue(oracleSql.startsWith("SELECT A.TABLE_NAME, A.COLUMN_NAME, "));
+        Assertions.assertTrue(oracleSql.endsWith("WHERE A.OWNER = #schema ORDER BY A.TABLE_NAME, A.COLUMN_ID"));
+        Assertions.assertEquals(-1, oracleSql.indexOf('?'));
+        Assertions.assertEquals(new GaussQuery().tableFieldsSql().replace("SELECT T1.COLUMN_NAME,", "SELECT T1.TABLE_NAME,T1.COLUMN_NAME,")
+            .replace("WHERE T1.TABLE_NAME = '%s' ", ""), new GaussQuery().bulkTableFieldsSql());
+        for (IDbQuery dbQuery : new IDbQuery[]{new PostgreSqlQuery(), new KingbaseESQuery()}) {
+            String sql = dbQuery.bulkTableFieldsSql();
+            Assertions.assertTrue(sql.contains(" AS table_name,"));
+            Assertions.assertEquals(-1, sql.indexOf('?'));
+            Assertions.assertTrue(sql.contains("nspname = #schema"));
+        }
+        for (IDbQuery dbQuery : new IDbQuery[]{new PostgreSqlQuery(), new KingbaseESQuery()}) {
+            Assertions.assertTrue(dbQuery.tableFieldsSql().contains(" AS identity "));
+            Assertions.assertTrue(dbQuery.bulkTableFieldsSql().contains(" AS identity "));
+        }
+    }
+
+    @Test
+    void queryBulkTableFieldsTest() throws SQLException {
+        List<String> sqls = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
+        Object resultSet = Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{ResultSet.class},
+            (proxy, method, args) -> method.getReturnType() == boolean.class ? false : null);
+        Object preparedStatement = Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{PreparedStatement.class}, (proxy, method, args) -> {
+            if ("setString".equals(method.getName())) {
+                parameters.add(args[0] + "=" + args[1]);
+            }
+            return "executeQuery".equals(method.getName()) ? resultSet : null;
+        });
+        Connection connection = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Connection.class}, (proxy, method, args) -> {
+            if ("prepareStatement".equals(method.getName())) {
+                sqls.add((String) args[0]);
+                return preparedStatement;
+            }
+            return null;
+        });
+        DataSourceConfig postgre = new DataSourceConfig.Builder("jdbc:postgresql://localhost:5432/test", "postgres", "").schema("demo").build();
+        new DecoratorDbQuery(postgre, new StrategyConfig.Builder().build(), connection).queryBulkTableFields(result -> {
+        });
+        Assertions.assertTrue(sqls.get(0).contains("nspname = ? AND"));
+        Assertions.assertFalse(sqls.get(0).contains("#schema"));
+        Assertions.assertEquals(Collections.singletonList("1=demo"), parameters);
+        // 表结构变化探测等查询同样绑定 schema
+        sqls.clear();
+        parameters.clear();
+        new DecoratorDbQuery(postgre, new StrategyConfig.Builder().build(), connection).query(new PostgreSqlQuery().changeProbeSql(), result -> {
+        });
+        Assertions.assertFalse(sqls.get(0).contains("#schema"));
+        Assertions.assertEquals(Arrays.asList("1=demo", "2=demo", "3=demo", "4=demo"), parameters);
+
+        // 需要 schema 但未指定
+        DataSourceConfig h2 = new DataSourceConfig.Builder("jdbc:h2:mem:test", "sa", "").dbQuery(new H2Query() {
+            @Override
+            public String bulkTableFieldsSql() {
+                return "SELECT * FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_SCHEMA = #schema ORDER BY TABLE_NAME";
+            }
+        }).build();
+        DecoratorDbQuery dbQuery = new DecoratorDbQuery(h2, new StrategyConfig.Builder().build(), connection);
+        Assertions.assertThrows(IllegalStateException.class, () -> dbQuery.queryBulkTableFields(result -> {
+        }));
+    }
+
+    @Test
+    void supportBulkTableFieldsTest() {
+        Connection connection = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Connection.class}, (proxy, method, args) -> null);
+        StrategyConfig strategyConfig = new StrategyConfig.Builder().build();
+        String url = "jdbc:mysql://localhost:3306/test";
+        Assertions.assertTrue(new DecoratorDbQuery(new DataSourceConfig.Builder(url, "root", "").build(), strategyConfig, connection).isSupportBulkTableFields());
+        Assertions.assertTrue(new DecoratorDbQuery(new DataSourceConfig.Builder(url, "root", "").dbQuery(new MySqlQuery() {
+            @Override
+            public String tableComment() {
+                return "COMMENT";
+            }
+        }).build(), strategyConfig, connection).isSupportBulkTableFields());
+        // 重写逐表查询时不使用继承来的批量查询
+        Assertions.assertFalse(new DecoratorDbQuery(new DataSourceConfig.Builder(url, "root", "").dbQuery(new MySqlQuery() {
+            @Override
+            public String tableFieldsSql() {
+                return "SELECT * FROM information_schema.COLUMNS WHERE TABLE_NAME = '%s'";
+            }
+        }).build(), strategyConfig, connection).isSupportBulkTableFields());
+        Assertions.assertFalse(new DecoratorDbQuery(new DataSourceConfig.Builder(url, "root", "").dbQuery(new MySqlQuery() {
+            @Override
+            public String[] fieldCustom() {
+                return new String[]{"NULL", "PRIVILEGES"};
+            }
+        }).build(), strategyConfig, connection).isSupportBulkTableFields());
+        // 同时重写批量查询
+        Assertions.assertTrue(new DecoratorDbQuery(new DataSourceConfig.Builder(url, "root", "").dbQuery(new MySqlQuery() {
+            @Override
+            public String tableFieldsSql() {
+                return "SELECT * FROM information_schema.COLUMNS WHERE TABLE_NAME = '%s'";
+            }
+
+            @Override
+            public String bulkTableFieldsSql() {
+                return "SELECT * FROM information_schema.COLUMNS ORDER BY TABLE_NAME";
+            }
+        }).build(), strategyConfig, connection).isSupportBulkTableFields());
+        Assertions.assertFalse(new DecoratorDbQuery(new DataSourceConfig.Builder("jdbc:sqlite:test.db", "", "").build(), strategyConfig, connection).isSupportBulkTableFields());
+    }
+
+    @Test
+    void changeProbeSqlTest() {
+        Assertions.assertEquals(MySqlQuery.CHANGE_PROBE_SQL, new MariadbQuery().changeProbeSql());
+        Assertions.assertTrue(new H2Query().changeProbeSql().endsWith("TABLE_SCHEMA = SCHEMA()"));
+        // schema 作为绑定参数,不拼接到语句中
+        for (String sql : new String[]{new PostgreSqlQuery().fingerprintSql(), new PostgreSqlQuery().changeProbeSql()}) {
+            Assertions.assertTrue(sql.contains("N.nspname = #schema"));
+            Assertions.assertFalse(sql.contains("'#schema'"));
+            Assertions.assertFalse(sql.contains("?"));
+        }
+        Assertions.assertNull(new SqliteQuery().changeProbeSql());
+    }
+
+    @Test
+    void tablesSqlTest() {
+        Connection connection = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Connection.class}, (proxy, method, args) -> null);
+        DataSourceConfig h2 = new DataSourceConfig.Builder("jdbc:h2:mem:test", "sa", "").build();
+        DecoratorDbQuery dbQuery = new DecoratorDbQuery(h2, new StrategyConfig.Builder().disableSqlFilter().addInclude("t_user", "t_role").build(), connection);
+        Assertions.assertTrue(dbQuery.tablesSql().contains(" IN ("));
+        Assertions.assertTrue(dbQuery.isIncludeFiltered());
+        Assertions.assertFalse(new DecoratorDbQuery(h2, new StrategyConfig.Builder().disableSqlFilter().addInclude("t_user_\\d+").build(), connection).isIncludeFiltered());
+        Assertions.assertFalse(new DecoratorDbQuery(h2, new StrategyConfig.Builder().disableSqlFilter().addExclude("t_user").build(), connection).isIncludeFiltered());
+        Assertions.assertTrue(new DecoratorDbQuery(h2, new StrategyConfig.Builder().addInclude("t_user").build(), connection).isIncludeFiltered());
+        // Firebird 系统表表名尾部补空格
+        DataSourceConfig firebird = new DataSourceConfig.Builder("jdbc:firebird://localhost:3050/test", "sysdba", "").build();
+        String sql = new DecoratorDbQuery(firebird, new StrategyConfig.Builder().disableSqlFilter().likeTable(new LikeTable("t_user", SqlLike.RIGHT)).build(), connection).tablesSql();
+        Assertions.assertTrue(sql.endsWith(" AND UPPER(TRIM(rdb$relation_name)) LIKE 'T_USER%'"), sql);
+        sql = new DecoratorDbQuery(firebird, new StrategyConfig.Builder().likeTable(new LikeTable("t_user", SqlLike.RIGHT)).build(), connection).tablesSql();
+        Assertions.assertTrue(sql.endsWith(" AND TRIM(rdb$relation_name) LIKE 't_user%'"), sql);
+    }
+}
@@ -0,0 +1,66 @@
+package com.baomidou.mybatisplus.generator.config.querys;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @since 3.5.0
+ */
+public class ResultSetWrapperTest {
+
+    @Test
+    void columnIndexTest() {
+        List<String> labels = Arrays.asList("Field", "Type", "COMMENT");
+        String[][] rows = {{"id", "bigint", "主键"}, {"name", "varchar", "名称\r\n备注"}};
+        int[] row = {-1};
+        Map<String, Integer> findColumnCount = new HashMap<>();
+        ResultSet resultSet = (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{ResultSet.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "next":
+                    return ++row[0] < rows.length;
+                case "findColumn":
+                    findColumnCount.merge((String) args[0], 1, Integer::sum);
+                    int index = labels.indexOf(args[0]);
+                    if (index < 0) {
+                        throw new SQLException("Column not found: " + args[0]);
+                    }
+                    return index + 1;
+                case "getString":
+                case "getObject":
+                    Assertions.assertTrue(args[0] instanceof Integer);
+                    return rows[row[0]][(Integer) args[0] - 1];
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+        DecoratorDbQuery.ResultSetWrapper result = new DecoratorDbQuery.ResultSetWrapper(resultSet, new MySqlQuery(), DbType.MYSQL);
+        Assertions.assertTrue(next(resultSet));
+        Assertions.assertEquals("id", result.getStringResult("Field"));
+        Assertions.assertEquals("bigint", result.getObjectResult("Type"));
+        Assertions.assertEquals("主键", result.getFiledComment());
+        Assertions.assertTrue(next(resultSet));
+        Assertions.assertEquals("name", result.getStringResult("Field"));
+        Assertions.assertEquals("varchar", result.getStringResult("Type"));
+        Assertions.assertEquals("名称\t备注", result.getFiledComment());
+        Assertions.assertFalse(next(resultSet));
+        findColumnCount.values().forEach(count -> Assertions.assertEquals(1, count.intValue()));
+        Assertions.assertThrows(RuntimeException.class, () -> result.getStringResult("NotExists"));
+    }
+
+    private boolean next(ResultSet resultSet) {
+        try {
+            return resultSet.next();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
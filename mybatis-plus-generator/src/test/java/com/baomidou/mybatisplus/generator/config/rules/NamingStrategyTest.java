@@ -30,6 +30,27 @@ public class NamingStrategyTest {
         Assertions.assertEquals(NamingStrategy.underlineToCamel("create_Time"), "createTime");
         Assertions.assertEquals(NamingStrategy.underlineToCamel("Create_Time"), "createTime");
         Assertions.assertEquals(NamingStrategy.underlineToCamel("CREATETIME"), "createtime");
+        Assertions.assertEquals(NamingStrategy.underlineToCamel("_create__time_"), "createTime");
+        Assertions.assertEquals(NamingStrategy.underlineToCamel("create_ _time"), "createTime");
+        Assertions.assertEquals(NamingStrategy.underlineToCamel("SYS/USER_ID"), "sys/userId");
+        Assertions.assertEquals(NamingStrategy.underlineToCamel("  "), "");
+    }
+
+    @Test
+    void affixTrieTest() {
+        AffixTrie prefix = AffixTrie.prefix(Arrays.asList("t_", "T_SYS_", "t"));
+        Assertions.assertEquals("user", NamingStrategy.removePrefix("t_sys_user", prefix));
+        Assertions.assertEquals("user", NamingStrategy.removePrefix("T_user", prefix));
+        Assertions.assertEquals("est", NamingStrategy.removePrefix("test", prefix));
+        Assertions.assertEquals("user", NamingStrategy.removePrefix("user", prefix));
+        Assertions.assertEquals("", NamingStrategy.removePrefix(" ", prefix));
+        AffixTrie suffix = AffixTrie.suffix(new HashSet<>(Arrays.asList("_info", "_bak_info")));
+        Assertions.assertEquals("user", NamingStrategy.removeSuffix("user_BAK_INFO", suffix));
+        Assertions.assertEquals("user", NamingStrategy.removeSuffix("user_info", suffix));
+        Assertions.assertEquals("user_infos", NamingStrategy.removeSuffix("user_infos", suffix));
+        Assertions.assertTrue(AffixTrie.prefix(null).isEmpty());
+        Assertions.assertFalse(prefix.isEmpty());
+        Assertions.assertEquals("userName", NamingStrategy.removeSuffixAndCamel("user_name_bak_info", new HashSet<>(Arrays.asList("_info", "_bak_info"))));
     }
 
 }
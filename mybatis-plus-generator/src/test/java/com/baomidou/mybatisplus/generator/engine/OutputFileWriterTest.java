@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2011-2021, baomidou (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.baomidou.mybatisplus.generator.engine;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * @since 3.5.0
+ */
+public class OutputFileWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private void write(OutputFileWriter outputFileWriter) throws IOException {
+        try (OutputFileWriter writer = outputFileWriter) {
+            for (int i = 0; i < 50; i++) {
+                writer.write(tempDir.resolve("a/b/c" + i % 5).resolve("File" + i + ".java"), ("content" + i).getBytes(StandardCharsets.UTF_8));
+            }
+            // 覆盖已存在的文件
+            writer.write(tempDir.resolve("a/b/c0/File0.java"), "override".getBytes(StandardCharsets.UTF_8));
+        }
+        try (Stream<Path> stream = Files.walk(tempDir)) {
+            Assertions.assertEquals(50, stream.filter(Files::isRegularFile).count());
+        }
+        Assertions.assertEquals("content49", new String(Files.readAllBytes(tempDir.resolve("a/b/c4/File49.java")), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void syncWriteTest() throws IOException {
+        write(new OutputFileWriter(0, false, false));
+        Assertions.assertEquals("override", new String(Files.readAllBytes(tempDir.resolve("a/b/c0/File0.java")), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void asyncAtomicWriteTest() throws IOException {
+        // 单线程写入保证同一文件的写入顺序
+        write(new OutputFileWriter(1, true, true));
+        Assertions.assertEquals("override", new String(Files.readAllBytes(tempDir.resolve("a/b/c0/File0.java")), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void errorTest() {
+        OutputFileWriter writer = new OutputFileWriter(2, true, false);
+        Assertions.assertThrows(IOException.class, () -> {
+            Path file = tempDir.resolve("file");
+            Files.write(file, new byte[0]);
+            // 父路径为文件,无法创建目录
+            writer.write(file.resolve("Test.java"), new byte[0]);
+            writer.close();
+        });
+        writer.abort();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2011-2021, baomidou (jobob@qq.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.baomidou.mybatisplus.generator.engine;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @since 3.5.0
+ */
+public class TemplateCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void getTest() throws Exception {
+        TemplateCache<String> templateCache = new TemplateCache<>();
+        AtomicInteger loadCount = new AtomicInteger();
+        TemplateCache.Loader<String> loader = path -> path + loadCount.incrementAndGet();
+        Assertions.assertEquals("/templates/entity.java.vm1", templateCache.get("/templates/entity.java.vm", false, loader));
+        Assertions.assertEquals("/templates/entity.java.vm1", templateCache.get("/templates/entity.java.vm", false, loader));
+        Assertions.assertEquals("/templates/mapper.java.vm2", templateCache.get("/templates/mapper.java.vm", false, loader));
+        Assertions.assertEquals(2, loadCount.get());
+        // 首次开启修改检查时记录修改时间,之后未修改则不再加载
+        templateCache.get("/templates/entity.java.vm", true, loader);
+        templateCache.get("/templates/entity.java.vm", true, loader);
+        Assertions.assertEquals(3, loadCount.get());
+        templateCache.clear();
+        templateCache.get("/templates/entity.java.vm", false, loader);
+        Assertions.assertEquals(4, loadCount.get());
+    }
+
+    @Test
+    void fileSystemTemplateTest() throws Exception {
+        // 不在 classpath 下的模板文件修改后重新加载
+        File file = tempDir.resolve("entity.java.vm").toFile();
+        Files.write(file.toPath(), "v1".getBytes(StandardCharsets.UTF_8));
+        TemplateCache<String> templateCache = new TemplateCache<>();
+        TemplateCache.Loader<String> loader = path -> new String(Files.readAllBytes(Paths.get(path)), StandardCharsets.UTF_8);
+        Assertions.assertEquals("v1", templateCache.get(file.getPath(), true, loader));
+        Files.write(file.toPath(), "v2".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertTrue(file.setLastModified(file.lastModified() + 10000));
+        Assertions.assertEquals("v2", templateCache.get(file.getPath(), true, loader));
+        // 未开启修改检查时仍使用缓存
+        Files.write(file.toPath(), "v3".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertTrue(file.setLastModified(file.lastModified() + 10000));
+        Assertions.assertEquals("v2", templateCache.get(file.getPath(), false, loader));
+    }
+}
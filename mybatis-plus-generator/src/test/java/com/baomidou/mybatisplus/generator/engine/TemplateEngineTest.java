@@ -2,6 +2,8 @@ package com.baomidou.mybatisplus.generator.engine;
 
 import com.baomidou.mybatisplus.annotation.IdType;
 import com.baomidou.mybatisplus.generator.config.DataSourceConfig;
+import com.baomidou.mybatisplus.generator.config.GlobalConfig;
+import com.baomidou.mybatisplus.generator.config.InjectionConfig;
 import com.baomidou.mybatisplus.generator.config.StrategyConfig;
 import com.baomidou.mybatisplus.generator.config.TemplateConfig;
 import com.baomidou.mybatisplus.generator.config.builder.ConfigBuilder;
@@ -9,10 +11,32 @@ import com.baomidou.mybatisplus.generator.config.builder.GeneratorBuilder;
 import com.baomidou.mybatisplus.generator.config.po.LikeTable;
 import com.baomidou.mybatisplus.generator.config.po.TableInfo;
 import com.baomidou.mybatisplus.generator.config.po.TableInfoTest;
+import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 /**
  * @author nieqiurong 2020/10/11.
@@ -44,4 +68,213 @@ public class TemplateEngineTest {
             new TemplateConfig.Builder().build(),
             GeneratorBuilder.globalConfig(), null));
     }
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * 输出模板路径与渲染数据的测试引擎
+     */
+    private static class TestTemplateEngine extends AbstractTemplateEngine {
+
+        @Override
+        public @NotNull AbstractTemplateEngine init(@NotNull ConfigBuilder configBuilder) {
+            return this;
+        }
+
+        @Override
+        public void writer(@NotNull Map<String, Object> objectMap, @NotNull String templatePath, @NotNull File outputFile) throws Exception {
+            String content = templatePath + ":" + objectMap.get("entity") + ":" + objectMap.get("injection");
+            Files.write(outputFile.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public @NotNull String templateFilePath(@NotNull String filePath) {
+            return filePath + ".test";
+        }
+    }
+
+    private Map<String, String> output(String dir, GlobalConfig.Builder globalConfigBuilder) throws IOException {
+        Path outputDir = tempDir.resolve(dir);
+        generate(outputDir, globalConfigBuilder);
+        Map<String, String> files = new TreeMap<>();
+        try (Stream<Path> stream = Files.walk(outputDir)) {
+            for (Path path : (Iterable<Path>) stream.filter(Files::isRegularFile)::iterator) {
+                files.put(outputDir.relativize(path).toString(), new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+            }
+        }
+        return files;
+    }
+
+    private OutputSummary generate(Path outputDir, GlobalConfig.Builder globalConfigBuilder) {
+        return generate(outputDir, globalConfigBuilder, null);
+    }
+
+    private OutputSummary generate(Path outputDir, GlobalConfig.Builder globalConfigBuilder, OutputSink outputSink) {
+        return generate(outputDir, globalConfigBuilder, outputSink, new TestTemplateEngine());
+    }
+
+    private OutputSummary generate(Path outputDir, GlobalConfig.Builder globalConfigBuilder, OutputSink outputSink, AbstractTemplateEngine templateEngine) {
+        AtomicInteger injectionCount = new AtomicInteger();
+        InjectionConfig injectionConfig = new InjectionConfig.Builder()
+            .beforeOutputFile((tableInfo, objectMap) -> objectMap.put("injection", injectionCount.incrementAndGet())).build();
+        GlobalConfig globalConfig = globalConfigBuilder.outputDir(outputDir.toString()).openDir(false).build();
+        DataSourceConfig dataSourceConfig = new DataSourceConfig.Builder("jdbc:h2:mem:test;MODE=mysql;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "").build();
+        List<TableInfo> tableInfoList = new ArrayList<>();
+        ConfigBuilder configBuilder = new ConfigBuilder(GeneratorBuilder.packageConfig(), dataSourceConfig, GeneratorBuilder.strategyConfig(),
+            GeneratorBuilder.templateConfig(), globalConfig, injectionConfig) {
+            @Override
+            public @NotNull List<TableInfo> getTableInfoList() {
+                return tableInfoList;
+            }
+        };
+        for (int i = 0; i < 20; i++) {
+            TableInfo tableInfo = new TableInfo(configBuilder, "t_user_" + i);
+            tableInfo.processTable();
+            tableInfoList.add(tableInfo);
+        }
+        templateEngine.setConfigBuilder(configBuilder);
+        templateEngine.setOutputSink(outputSink);
+        templateEngine.init(configBuilder).batchOutput();
+        Assertions.assertEquals(20, injectionCount.get());
+        return templateEngine.getOutputSummary();
+    }
+
+    @Test
+    void parallelOutputTest() throws IOException {
+        Map<String, String> serial = output("serial", new GlobalConfig.Builder());
+        Map<String, String> parallel = output("parallel", new GlobalConfig.Builder().parallelOutput(4));
+        Assertions.assertEquals(20 * 6, serial.size());
+        Assertions.assertEquals(serial, parallel);
+        Map<String, String> asyncWrite = output("async", new GlobalConfig.Builder().parallelOutput(2).asyncWrite(2).enableAtomicWrite().enableSyncOnFinish());
+        Assertions.assertEquals(serial, asyncWrite);
+    }
+
+    @Test
+    void unchangedFileTest() throws IOException {
+        Path outputDir = tempDir.resolve("unchanged");
+        OutputSummary outputSummary = generate(outputDir, new GlobalConfig.Builder());
+        Assertions.assertEquals(20 * 6, outputSummary.getWritten());
+        outputSummary = generate(outputDir, new GlobalConfig.Builder());
+        Assertions.assertEquals(20 * 6, outputSummary.getSkipped());
+        Assertions.assertEquals(0, outputSummary.getWritten());
+        outputSummary = generate(outputDir, new GlobalConfig.Builder().fileOverride());
+        Assertions.assertEquals(20 * 6, outputSummary.getUnchanged());
+        Assertions.assertEquals(0, outputSummary.getWritten());
+        Path file;
+        try (Stream<Path> stream = Files.walk(outputDir)) {
+            file = stream.filter(Files::isRegularFile).findFirst().orElseThrow(IllegalStateException::new);
+        }
+        Files.write(file, "changed".getBytes(StandardCharsets.UTF_8));
+        outputSummary = generate(outputDir, new GlobalConfig.Builder().fileOverride().parallelOutput(4));
+        Assertions.assertEquals(1, outputSummary.getWritten());
+        Assertions.assertEquals(20 * 6 - 1, outputSummary.getUnchanged());
+        Assertions.assertNotEquals("changed", new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void outputSinkTest() throws IOException {
+        Map<String, String> serial = output("serial", new GlobalConfig.Builder());
+        Path outputDir = tempDir.resolve("sink");
+        MemoryOutputSink memoryOutputSink = new MemoryOutputSink();
+        generate(outputDir, new GlobalConfig.Builder().parallelOutput(4), memoryOutputSink);
+        Map<String, String> memory = new TreeMap<>();
+        memoryOutputSink.getFiles().forEach((path, content) -> memory.put(path, new String(content, StandardCharsets.UTF_8)));
+        Assertions.assertEquals(serial, memory);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        generate(outputDir, new GlobalConfig.Builder(), new ZipOutputSink(outputStream));
+        Map<String, String> zip = new TreeMap<>();
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            ZipEntry zipEntry;
+            while ((zipEntry = zipInputStream.getNextEntry()) != null) {
+                ByteArrayOutputStream content = new ByteArrayOutputStream();
+                byte[] buffer = new byte[1024];
+                int length;
+                while ((length = zipInputStream.read(buffer)) != -1) {
+                    content.write(buffer, 0, length);
+                }
+                zip.put(zipEntry.getName(), new String(content.toByteArray(), StandardCharsets.UTF_8));
+            }
+        }
+        Assertions.assertEquals(serial, zip);
+        Assertions.assertFalse(Files.exists(outputDir));
+    }
+
+    @Test
+    void outputFileTest() throws IOException {
+        // 不在批量输出中输出文件时共用同步写入的输出目标,不创建写入线程
+        Path outputDir = tempDir.resolve("outputFile");
+        GlobalConfig globalConfig = new GlobalConfig.Builder().outputDir(outputDir.toString()).asyncWrite(2).openDir(false).build();
+        ConfigBuilder configBuilder = new ConfigBuilder(GeneratorBuilder.packageConfig(), TableInfoTest.dataSourceConfig,
+            GeneratorBuilder.strategyConfig(), GeneratorBuilder.templateConfig(), globalConfig, null);
+        TestTemplateEngine templateEngine = new TestTemplateEngine();
+        templateEngine.setConfigBuilder(configBuilder);
+        for (int i = 0; i < 3; i++) {
+            templateEngine.outputFile(outputDir.resolve("file" + i + ".txt").toFile(), new HashMap<>(), "template" + i);
+        }
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals("template" + i + ":null:null", new String(Files.readAllBytes(outputDir.resolve("file" + i + ".txt")), StandardCharsets.UTF_8));
+        }
+        Assertions.assertEquals(3, templateEngine.getOutputSummary().getWritten());
+        Assertions.assertTrue(Thread.getAllStackTraces().keySet().stream().noneMatch(thread -> thread.getName().startsWith("mp-generator-write-")));
+    }
+
+    @Test
+    void writerOverrideTest() {
+        // 继承内置模板引擎只重写 writer 时,输出仍然经由 writer
+        MemoryOutputSink memoryOutputSink = new MemoryOutputSink();
+        generate(tempDir.resolve("writer"), new GlobalConfig.Builder().parallelOutput(4), memoryOutputSink, new VelocityTemplateEngine() {
+            @Override
+            public void writer(@NotNull Map<String, Object> objectMap, @NotNull String templatePath, @NotNull File outputFile) throws Exception {
+                Files.write(outputFile.toPath(), ("custom:" + templatePath).getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        Assertions.assertEquals(20 * 6, memoryOutputSink.getFiles().size());
+        memoryOutputSink.getFiles().values().forEach(content ->
+            Assertions.assertTrue(new String(content, StandardCharsets.UTF_8).startsWith("custom:")));
+    }
+
+    private static final String STREAMING_URL = "jdbc:h2:mem:streaming;MODE=mysql;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    private Map<String, String> streamingOutput(GlobalConfig.Builder globalConfigBuilder, DataSourceConfig dataSourceConfig) {
+        ConfigBuilder configBuilder = new ConfigBuilder(GeneratorBuilder.packageConfig(), dataSourceConfig,
+            new StrategyConfig.Builder().likeTable(new LikeTable("t_stream")).build(), GeneratorBuilder.templateConfig(),
+            globalConfigBuilder.outputDir(tempDir.toString()).openDir(false).build(), null);
+        MemoryOutputSink memoryOutputSink = new MemoryOutputSink();
+        VelocityTemplateEngine templateEngine = new VelocityTemplateEngine();
+        templateEngine.setConfigBuilder(configBuilder);
+        templateEngine.setOutputSink(memoryOutputSink);
+        templateEngine.init(configBuilder).batchOutput();
+        Map<String, String> files = new TreeMap<>();
+        memoryOutputSink.getFiles().forEach((path, content) -> files.put(path, new String(content, StandardCharsets.UTF_8)));
+        return files;
+    }
+
+    @Test
+    void streamingOutputTest() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(STREAMING_URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            for (int i = 0; i < 10; i++) {
+                statement.execute("CREATE TABLE IF NOT EXISTS t_stream_" + i + " (id BIGINT PRIMARY KEY, stream_name VARCHAR(64), create_time TIMESTAMP)");
+            }
+        }
+        DataSourceConfig dataSourceConfig = new DataSourceConfig.Builder(STREAMING_URL, "sa", "").build();
+        Map<String, String> serial = streamingOutput(new GlobalConfig.Builder(), dataSourceConfig);
+        Assertions.assertEquals(10 * 6, serial.size());
+        Assertions.assertEquals(serial, streamingOutput(new GlobalConfig.Builder().enableStreaming(2), dataSourceConfig));
+        Assertions.assertEquals(serial, streamingOutput(new GlobalConfig.Builder().enableStreaming(1).parallelOutput(4), dataSourceConfig));
+
+        // 读取表信息的线程出错时异常抛给调用方,不会一直等待
+        DataSourceConfig errorDataSourceConfig = new DataSourceConfig.Builder(STREAMING_URL, "sa", "")
+            .typeConvert((globalConfig, fieldType) -> {
+                throw new IllegalStateException("type convert error");
+            }).build();
+        RuntimeException exception = Assertions.assertTimeoutPreemptively(Duration.ofSeconds(30), () -> Assertions.assertThrows(RuntimeException.class,
+            () -> streamingOutput(new GlobalConfig.Builder().enableStreaming(1), errorDataSourceConfig)));
+        Throwable cause = exception;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        Assertions.assertEquals("type convert error", cause.getMessage());
+    }
 }
@@ -22,4 +22,15 @@ public class DatabaseMetaDataWrapperTest {
         Assertions.assertEquals(Integer.MAX_VALUE, name.getLength());
     }
 
+    @Test
+    void testBulk() throws SQLException {
+        DataSourceConfig dataSourceConfig = new DataSourceConfig.Builder("jdbc:h2:mem:test;MODE=mysql;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE", "sa", "").build();
+        DatabaseMetaDataWrapper databaseMetaDataWrapper = new DatabaseMetaDataWrapper(dataSourceConfig.getConn());
+        Map<String, Map<String, DatabaseMetaDataWrapper.ColumnsInfo>> tableColumnsInfo = databaseMetaDataWrapper.getColumnsInfo(null, null);
+        Assertions.assertNotNull(tableColumnsInfo);
+        Map<String, DatabaseMetaDataWrapper.ColumnsInfo> columnsInfo = tableColumnsInfo.get("USERS");
+        Assertions.assertNotNull(columnsInfo);
+        Assertions.assertEquals(JdbcType.VARCHAR, columnsInfo.get("name").getJdbcType());
+    }
+
 }
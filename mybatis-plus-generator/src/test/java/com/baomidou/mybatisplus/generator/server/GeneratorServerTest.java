@@ -0,0 +1,124 @@
+package com.baomidou.mybatisplus.generator.server;
+
+import com.baomidou.mybatisplus.generator.config.DataSourceConfig;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * @since 3.5.0
+ */
+public class GeneratorServerTest {
+
+    private static final String URL = "jdbc:h2:mem:server;MODE=mysql;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    @Test
+    void parseParamsTest() {
+        Map<String, String> params = GeneratorServer.parseParams("include=t_user%2Ct_role&parent=com.baomidou&moduleName=&flag&&parent=com.test");
+        Assertions.assertEquals("t_user,t_role", params.get("include"));
+        Assertions.assertEquals("com.test", params.get("parent"));
+        Assertions.assertEquals("", params.get("moduleName"));
+        Assertions.assertEquals("", params.get("flag"));
+        Assertions.assertTrue(GeneratorServer.parseParams(null).isEmpty());
+    }
+
+    @Test
+    void builderTest() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new GeneratorServer.Builder().build());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new GeneratorServer.Builder().port(-1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new GeneratorServer.Builder().maxConcurrency(0));
+    }
+
+    @Test
+    void serverTest() throws Exception {
+        DataSourceConfig dataSourceConfig = new DataSourceConfig.Builder(URL, "sa", "").build();
+        try (Connection connection = dataSourceConfig.createConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS t_server_user (id BIGINT PRIMARY KEY, user_name VARCHAR(64))");
+            statement.execute("CREATE TABLE IF NOT EXISTS t_server_role (id BIGINT PRIMARY KEY, role_name VARCHAR(64))");
+        }
+        try (GeneratorServer server = new GeneratorServer.Builder().port(0).maxConcurrency(2)
+            .dataSource("h2", dataSourceConfig)
+            .packageInfo(builder -> builder.parent("com.baomidou"))
+            .build().start()) {
+            String base = "http://127.0.0.1:" + server.getPort() + GeneratorServer.CONTEXT_PATH;
+            ExecutorService executorService = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<Map<String, String>>> futures = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    futures.add(executorService.submit(() -> entries(base + "?include=t_server_user&tablePrefix=t_&moduleName=sys")));
+                }
+                for (Future<Map<String, String>> future : futures) {
+                    Set<String> entries = future.get().keySet();
+                    Assertions.assertFalse(entries.isEmpty());
+                    Assertions.assertTrue(entries.stream().anyMatch(entry -> entry.endsWith("com/baomidou/sys/entity/ServerUser.java")));
+                    Assertions.assertTrue(entries.stream().noneMatch(entry -> entry.contains("ServerRole")));
+                }
+            } finally {
+                executorService.shutdown();
+            }
+            // 元数据在请求间缓存,表结构变化后重新查询
+            try (Connection connection = dataSourceConfig.createConnection(); Statement statement = connection.createStatement()) {
+                statement.execute("ALTER TABLE t_server_user ADD COLUMN nick_name VARCHAR(64)");
+            }
+            Map<String, String> entries = entries(base + "?include=t_server_user&tablePrefix=t_");
+            Assertions.assertTrue(entries.entrySet().stream().anyMatch(entry -> entry.getKey().endsWith("entity/ServerUser.java")
+                && entry.getValue().contains("nickName")));
+            Assertions.assertEquals(400, request(base + "?datasource=other").getResponseCode());
+            HttpURLConnection connection = request(base);
+            connection.setRequestMethod("DELETE");
+            Assertions.assertEquals(405, connection.getResponseCode());
+        }
+    }
+
+    private HttpURLConnection request(String url) throws IOException {
+        return (HttpURLConnection) new URL(url).openConnection();
+    }
+
+    private Map<String, String> entries(String url) throws IOException {
+        HttpURLConnection connection = request(url);
+        Assertions.assertEquals(200, connection.getResponseCode());
+        Assertions.assertEquals("application/zip", connection.getContentType());
+        // 生成过程中分块写入响应
+        Assertions.assertEquals("chunked", connection.getHeaderField("Transfer-Encoding"));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        try (InputStream inputStream = connection.getInputStream()) {
+            int length;
+            while ((length = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, length);
+            }
+        }
+        Map<String, String> entries = new HashMap<>();
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            ZipEntry zipEntry;
+            while ((zipEntry = zipInputStream.getNextEntry()) != null) {
+                ByteArrayOutputStream content = new ByteArrayOutputStream();
+                int length;
+                while ((length = zipInputStream.read(buffer)) != -1) {
+                    content.write(buffer, 0, length);
+                }
+                entries.put(zipEntry.getName(), new String(content.toByteArray(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}